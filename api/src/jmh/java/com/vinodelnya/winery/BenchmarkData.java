@@ -0,0 +1,88 @@
+package com.vinodelnya.winery;
+
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Entry;
+import com.vinodelnya.winery.entity.Event;
+import com.vinodelnya.winery.entity.Person;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic rows shaped like production data, shared by the benchmarks
+public final class BenchmarkData {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    public static List<Entry> entries(int count) {
+        Random random = new Random(42);
+        List<Person> persons = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Person person = new Person();
+            person.setId(id);
+            person.setName("Worker " + id);
+            persons.add(person);
+
+            Category category = new Category();
+            category.setId(id);
+            category.setName("Category " + id);
+            categories.add(category);
+        }
+
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Entry entry = new Entry();
+            entry.setId((long) i + 1);
+            entry.setDate(START.plusDays(i % 365));
+            entry.setDescription("Pruning row " + (i % 40) + " in the lower vineyard");
+            entry.setPerson(persons.get(random.nextInt(persons.size())));
+            entry.setCategory(categories.get(random.nextInt(categories.size())));
+            entry.setWorkHours(amount(random, 1200));
+            entry.setAmountPaid(amount(random, 40000));
+            // Some rows have nothing outstanding, as in the real table
+            entry.setAmountDue(i % 4 == 0 ? null : amount(random, 10000));
+            entry.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusMinutes(i));
+            entry.setUpdatedAt(entry.getCreatedAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    public static List<Event> events(int count) {
+        Random random = new Random(7);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setId((long) i + 1);
+            event.setVisitDate(START.plusDays(i % 365));
+            event.setVisitTime(LocalTime.of(10 + i % 8, 0));
+            event.setCompany("Company " + (i % 25));
+            event.setContactName("Guest " + i);
+            event.setContactPhone("+381 60 " + (1000000 + i));
+            event.setAdultLunchGuests(random.nextInt(30));
+            event.setAdultTastingGuests(random.nextInt(30));
+            event.setChildrenGuests(random.nextInt(5));
+            event.setLunchTotal(amount(random, 200000));
+            event.setTastingTotal(amount(random, 150000));
+            event.setAddedWinesValue(i % 3 == 0 ? null : amount(random, 50000));
+            event.setExtraChargeAmount(i % 5 == 0 ? amount(random, 10000) : BigDecimal.ZERO);
+            event.setGrandTotal(event.getLunchTotal().add(event.getTastingTotal()));
+            event.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusMinutes(i));
+            event.setUpdatedAt(event.getCreatedAt());
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static BigDecimal amount(Random random, int maxCents) {
+        return BigDecimal.valueOf(random.nextInt(maxCents), 2);
+    }
+}
@@ -0,0 +1,65 @@
+package com.vinodelnya.winery.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.vinodelnya.winery.BenchmarkData;
+import com.vinodelnya.winery.mapper.EntryMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The GET /entries response body, written the way Spring Boot configures Jackson
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+
+    @Param({"15", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<EntryDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        EntryMapper entryMapper = Mappers.getMapper(EntryMapper.class);
+        List<EntryDto> content = BenchmarkData.entries(pageSize).stream().map(entryMapper::toDto).toList();
+        page = new PageResponse<>(content, 5000, 5000 / pageSize + 1, 0, pageSize, true, false);
+        Map<String, BigDecimal> totals = Map.of(
+                "amountPaid", new BigDecimal("182340.50"),
+                "amountDue", new BigDecimal("20410.00"),
+                "total", new BigDecimal("202750.50"),
+                "workHours", new BigDecimal("9120.75"));
+        page.setPageTotal(new EntryPageTotals(totals.get("amountPaid"), totals.get("amountDue"),
+                totals.get("total"), totals.get("workHours")));
+        page.setGrandTotal(totals);
+    }
+
+    @Benchmark
+    public byte[] serializeEntryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vinodelnya.winery.mapper;
+
+import com.vinodelnya.winery.BenchmarkData;
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.entity.Entry;
+import com.vinodelnya.winery.entity.Event;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One UI page worth of MapStruct conversions in each direction
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 15;
+
+    private final EntryMapper entryMapper = Mappers.getMapper(EntryMapper.class);
+    private final EventMapper eventMapper = Mappers.getMapper(EventMapper.class);
+
+    private List<Entry> entries;
+    private List<EntryDto> entryDtos;
+    private List<Event> events;
+    private List<EventDto> eventDtos;
+
+    @Setup
+    public void setUp() {
+        entries = BenchmarkData.entries(PAGE_SIZE);
+        entryDtos = entries.stream().map(entryMapper::toDto).toList();
+        events = BenchmarkData.events(PAGE_SIZE);
+        eventDtos = events.stream().map(eventMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<EntryDto> entryToDto() {
+        return entries.stream().map(entryMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<EntryDto> entryToDtoWithoutNames() {
+        return entries.stream().map(entryMapper::toDtoWithoutNames).toList();
+    }
+
+    @Benchmark
+    public List<Entry> entryToEntity() {
+        return entryDtos.stream().map(entryMapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public List<EventDto> eventToDto() {
+        return events.stream().map(eventMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<Event> eventToEntity() {
+        return eventDtos.stream().map(eventMapper::toEntity).toList();
+    }
+}
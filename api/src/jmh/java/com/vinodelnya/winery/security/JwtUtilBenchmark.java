@@ -0,0 +1,52 @@
+package com.vinodelnya.winery.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Every authenticated request verifies a token; the claims cache only helps on repeats
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil("benchmark-secret-key-that-is-long-enough-for-hs256", 3600000, 7200000);
+        token = jwtUtil.generateToken("admin", "ADMIN");
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public Optional<Claims> parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean rejectTamperedToken() {
+        return jwtUtil.isTokenValid(tamperedToken);
+    }
+}
@@ -0,0 +1,50 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.LogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+// Log line parsing behind /logs; the patterns moved from LogController into LogFileReader
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogParseBenchmark {
+
+    // logging.pattern.file from application.yaml
+    private static final String CONFIGURED_LINE = "2025-08-14T09:31:12.457+02:00  INFO http-nio-8081-exec-3 --- "
+            + "[nio-8081-exec-3] [   c.v.winery.service.EntryService] : Created entry 1842 for person 7";
+
+    // Spring Boot default console layout
+    private static final String DEFAULT_LINE = "2025-08-14T09:31:12.457+02:00  WARN 41237 --- [vinodelnya-api] "
+            + "[nio-8081-exec-3] c.v.winery.service.EntryService          : Entry 1842 has no amount due";
+
+    private static final String CONTINUATION_LINE = "\tat com.vinodelnya.winery.service.EntryService.create(EntryService.java:96)";
+
+    @Benchmark
+    public LogRecord parseConfiguredLayout() {
+        return LogFileReader.parse(CONFIGURED_LINE, new ArrayDeque<>());
+    }
+
+    @Benchmark
+    public LogRecord parseDefaultLayout() {
+        return LogFileReader.parse(DEFAULT_LINE, new ArrayDeque<>());
+    }
+
+    @Benchmark
+    public LogRecord skipContinuationLine() {
+        return LogFileReader.parse(CONTINUATION_LINE, new ArrayDeque<>());
+    }
+}
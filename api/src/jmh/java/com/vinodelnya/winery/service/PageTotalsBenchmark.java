@@ -0,0 +1,72 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.BenchmarkData;
+import com.vinodelnya.winery.dto.EntryPageTotals;
+import com.vinodelnya.winery.dto.EventPageTotals;
+import com.vinodelnya.winery.entity.Entry;
+import com.vinodelnya.winery.entity.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Page totals over a list page (15 is the UI default, 100 the largest page size in use)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageTotalsBenchmark {
+
+    @Param({"15", "100"})
+    private int pageSize;
+
+    private List<Entry> entries;
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        entries = BenchmarkData.entries(pageSize);
+        events = BenchmarkData.events(pageSize);
+    }
+
+    // Same columns as EntryService.calculatePageTotals, which stays private to the service
+    @Benchmark
+    public EntryPageTotals entryPageTotals() {
+        TotalsAccumulator totals = new TotalsAccumulator(3);
+        for (Entry entry : entries) {
+            totals.add(0, entry.getAmountPaid());
+            totals.add(1, entry.getAmountDue());
+            totals.add(2, entry.getWorkHours());
+        }
+        BigDecimal amountPaid = totals.total(0);
+        BigDecimal amountDue = totals.total(1);
+        return new EntryPageTotals(amountPaid, amountDue, amountPaid.add(amountDue), totals.total(2));
+    }
+
+    // Same columns as EventService.calculatePageTotals
+    @Benchmark
+    public EventPageTotals eventPageTotals() {
+        TotalsAccumulator totals = new TotalsAccumulator(5);
+        for (Event event : events) {
+            totals.add(0, event.getLunchTotal());
+            totals.add(1, event.getTastingTotal());
+            totals.add(2, event.getAddedWinesValue());
+            totals.add(3, event.getExtraChargeAmount());
+            totals.add(4, event.getGrandTotal());
+        }
+        return new EventPageTotals(totals.total(0), totals.total(1), totals.total(2), totals.total(3), totals.total(4));
+    }
+}
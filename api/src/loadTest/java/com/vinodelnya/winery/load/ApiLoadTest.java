@@ -0,0 +1,148 @@
+package com.vinodelnya.winery.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinodelnya.winery.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs only through ./gradlew loadTest; see build.gradle for the -Pload.* settings
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@DisplayName("REST API load test")
+class ApiLoadTest {
+
+    private static final LoadSettings SETTINGS = LoadSettings.fromSystemProperties();
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!SETTINGS.postgres()) {
+            return;
+        }
+        // The production schema comes from the Flyway migrations, as in the real deployment
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should report throughput and latency percentiles per endpoint")
+    void measureEndpoints() throws Exception {
+        // Arrange
+        SyntheticDataGenerator.Settings generatorSettings = SETTINGS.generatorSettings(LocalDate.now());
+        // The generator also rebuilds the entry rollup and resets the caches the rows bypassed
+        long seedStarted = System.nanoTime();
+        generator.generate(generatorSettings);
+        Map<String, Double> seedSeconds = new LinkedHashMap<>();
+        seedSeconds.put("synthetic data", (System.nanoTime() - seedStarted) / 1_000_000_000.0);
+
+        List<EndpointResult> results = new ArrayList<>();
+        try (LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port + contextPath), objectMapper)) {
+            String token = "Bearer " + driver.login("admin", "admin");
+            LocalDate firstDay = generatorSettings.lastDay().minusYears(generatorSettings.years()).plusDays(1);
+            int months = 12 * generatorSettings.years();
+
+            List<LoadDriver.Scenario> scenarios = List.of(
+                    new LoadDriver.Scenario("GET /entries", random -> {
+                        LocalDate month = randomMonth(random, firstDay, months);
+                        return HttpRequest.newBuilder(driver.uri("/entries?size=15&page=" + random.nextInt(4)
+                                        + "&dateFrom=" + month + "&dateTo=" + month.plusMonths(1).minusDays(1)))
+                                .header("Authorization", token);
+                    }),
+                    new LoadDriver.Scenario("GET /events", random -> {
+                        LocalDate month = randomMonth(random, firstDay, months);
+                        return HttpRequest.newBuilder(driver.uri("/events?size=15&page=" + random.nextInt(4)
+                                        + "&dateFrom=" + month + "&dateTo=" + month.plusMonths(1).minusDays(1)))
+                                .header("Authorization", token);
+                    }),
+                    // Generated companies are "Company 1" to "Company 300", the low numbers most often
+                    new LoadDriver.Scenario("GET /events?company", random ->
+                            HttpRequest.newBuilder(driver.uri("/events?size=15&company=company%20"
+                                            + random.nextInt(1, 301)))
+                                    .header("Authorization", token)),
+                    new LoadDriver.Scenario("GET /events/kitchen-forecast", random -> {
+                        LocalDate month = randomMonth(random, firstDay, months);
+                        return HttpRequest.newBuilder(driver.uri("/events/kitchen-forecast?from=" + month
+                                        + "&to=" + month.plusDays(89)))
+                                .header("Authorization", token);
+                    }),
+                    new LoadDriver.Scenario("GET /reports/summary", random -> {
+                        LocalDate month = randomMonth(random, firstDay, months);
+                        return HttpRequest.newBuilder(driver.uri("/reports/summary?fromDate=" + month
+                                        + "&toDate=" + month.plusMonths(1).minusDays(1)))
+                                .header("Authorization", token);
+                    }),
+                    new LoadDriver.Scenario("POST /auth/login", random -> driver.loginRequest("admin", "admin")));
+
+            // Act
+            for (LoadDriver.Scenario scenario : scenarios) {
+                EndpointResult result = driver.run(scenario, SETTINGS.clients(), SETTINGS.warmup(), SETTINGS.duration());
+                System.out.printf("%s: %.1f req/s, p50 %.2f ms, p99 %.2f ms, %d errors%n",
+                        result.endpoint(), result.throughput(), result.p50(), result.p99(), result.errors());
+                results.add(result);
+            }
+        }
+        Path report = new LoadReport(objectMapper).write(SETTINGS, seedSeconds, results);
+        System.out.println(Files.readString(report));
+
+        // Assert
+        for (EndpointResult result : results) {
+            assertTrue(result.requests() > 0, () -> result.endpoint() + " completed no requests");
+            assertEquals(0, result.errors(), () -> result.endpoint() + " returned errors under load");
+        }
+    }
+
+    // A whole month inside the seeded span
+    private static LocalDate randomMonth(ThreadLocalRandom random, LocalDate firstDay, int months) {
+        return firstDay.withDayOfMonth(1).plusMonths(1 + random.nextInt(months - 1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.vinodelnya.winery.load;
+
+import java.util.Arrays;
+
+// Latencies in milliseconds; only requests started after the warmup are counted
+record EndpointResult(String endpoint,
+                      int clients,
+                      long requests,
+                      long errors,
+                      double seconds,
+                      double throughput,
+                      double mean,
+                      double p50,
+                      double p90,
+                      double p95,
+                      double p99,
+                      double p999,
+                      double max) {
+
+    static EndpointResult of(String endpoint, int clients, long[] latencyNanos, long errors, double seconds) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        double mean = sorted.length == 0 ? 0 : millis(Arrays.stream(sorted).sum() / (double) sorted.length);
+        return new EndpointResult(endpoint, clients, sorted.length, errors, seconds,
+                seconds == 0 ? 0 : sorted.length / seconds, mean,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
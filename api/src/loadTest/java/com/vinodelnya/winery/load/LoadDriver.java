@@ -0,0 +1,148 @@
+package com.vinodelnya.winery.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Closed-loop load: each virtual-thread client sends its next request as soon as the previous one returns
+class LoadDriver implements AutoCloseable {
+
+    // Builds the next request for one client; the random source lets clients spread over the data
+    record Scenario(String endpoint, Function<ThreadLocalRandom, HttpRequest.Builder> request) {
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    LoadDriver(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    URI uri(String pathAndQuery) {
+        return baseUri.resolve(baseUri.getPath() + pathAndQuery);
+    }
+
+    String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username, password).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with " + response.statusCode());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("accessToken").asText();
+    }
+
+    HttpRequest.Builder loginRequest(String username, String password) {
+        return HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    EndpointResult run(Scenario scenario, int clients, Duration warmup, Duration duration) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        List<Future<ClientStats>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> drive(scenario, measureFrom, deadline)));
+        }
+
+        LatencyBuffer latencies = new LatencyBuffer();
+        long errors = 0;
+        for (Future<ClientStats> future : futures) {
+            ClientStats stats = future.get();
+            latencies.addAll(stats.latencies());
+            errors += stats.errors();
+        }
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        return EndpointResult.of(scenario.endpoint(), clients, latencies.toArray(), errors, seconds);
+    }
+
+    private ClientStats drive(Scenario scenario, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LatencyBuffer latencies = new LatencyBuffer();
+        long errors = 0;
+        while (true) {
+            long started = System.nanoTime();
+            if (started >= deadline) {
+                break;
+            }
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(scenario.request().apply(random).timeout(REQUEST_TIMEOUT).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (started >= measureFrom) {
+                latencies.add(System.nanoTime() - started);
+                if (failed) {
+                    errors++;
+                }
+            }
+        }
+        return new ClientStats(latencies, errors);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    private record ClientStats(LatencyBuffer latencies, long errors) {
+    }
+
+    // Growable long[]; boxing every sample would put the allocator into the measurement
+    private static final class LatencyBuffer {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LatencyBuffer other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.vinodelnya.winery.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Writes load-report.md for people and load-report.json for comparing runs
+class LoadReport {
+
+    private final ObjectMapper objectMapper;
+
+    LoadReport(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    Path write(LoadSettings settings, Map<String, Double> seedSeconds, List<EndpointResult> results) throws IOException {
+        Files.createDirectories(settings.reportDir());
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("generatedAt", LocalDateTime.now().toString());
+        json.put("database", settings.database());
+        json.put("volumes", Map.of(
+                "persons", settings.persons(),
+                "categories", settings.categories(),
+                "entries", settings.entries(),
+                "events", settings.events(),
+                "auditRows", settings.auditRows()));
+        json.put("clients", settings.clients());
+        json.put("warmupSeconds", settings.warmup().toSeconds());
+        json.put("durationSeconds", settings.duration().toSeconds());
+        json.put("seedSeconds", seedSeconds);
+        json.put("endpoints", results);
+        objectMapper.writeValue(settings.reportDir().resolve("load-report.json").toFile(), json);
+
+        Path markdown = settings.reportDir().resolve("load-report.md");
+        Files.writeString(markdown, markdown(settings, seedSeconds, results));
+        return markdown;
+    }
+
+    String markdown(LoadSettings settings, Map<String, Double> seedSeconds, List<EndpointResult> results) {
+        StringBuilder report = new StringBuilder("# API load test\n\n");
+        report.append(String.format(Locale.ROOT,
+                "Database: %s, %d entries, %d events, %d audit rows, %d persons, %d categories%n%n",
+                settings.database(), settings.entries(), settings.events(), settings.auditRows(),
+                settings.persons(), settings.categories()));
+        report.append(String.format(Locale.ROOT, "%d concurrent clients per endpoint, %ds warmup, %ds measured%n%n",
+                settings.clients(), settings.warmup().toSeconds(), settings.duration().toSeconds()));
+
+        report.append("| Endpoint | Requests | Errors | Req/s | Mean ms | p50 ms | p90 ms | p95 ms | p99 ms | p99.9 ms | Max ms |\n");
+        report.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (EndpointResult result : results) {
+            report.append(String.format(Locale.ROOT,
+                    "| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f |%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(), result.mean(),
+                    result.p50(), result.p90(), result.p95(), result.p99(), result.p999(), result.max()));
+        }
+
+        report.append("\n## Seeding\n\n| Table | Seconds |\n|---|---:|\n");
+        seedSeconds.forEach((table, seconds) ->
+                report.append(String.format(Locale.ROOT, "| %s | %.1f |%n", table, seconds)));
+        return report.toString();
+    }
+}
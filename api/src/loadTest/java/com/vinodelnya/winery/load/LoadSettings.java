@@ -0,0 +1,46 @@
+package com.vinodelnya.winery.load;
+
+import com.vinodelnya.winery.service.SyntheticDataGenerator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Volumes and load shape, passed by the loadTest Gradle task as -Pload.* properties
+record LoadSettings(String database,
+                    int persons,
+                    int categories,
+                    long entries,
+                    long events,
+                    long auditRows,
+                    long seed,
+                    int clients,
+                    Duration warmup,
+                    Duration duration,
+                    Path reportDir) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                System.getProperty("load.database", "h2"),
+                Integer.getInteger("load.persons", 40),
+                Integer.getInteger("load.categories", 12),
+                Long.getLong("load.entries", 100_000L),
+                Long.getLong("load.events", 10_000L),
+                Long.getLong("load.audit-rows", 200_000L),
+                Long.getLong("load.seed", 20250901L),
+                Integer.getInteger("load.clients", 32),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5L)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 20L)),
+                Path.of(System.getProperty("load.report-dir", "build/reports/load")));
+    }
+
+    boolean postgres() {
+        return "postgres".equalsIgnoreCase(database);
+    }
+
+    // Seeded through the same generator as the generate-data profile, over two years up to lastDay
+    SyntheticDataGenerator.Settings generatorSettings(LocalDate lastDay) {
+        return new SyntheticDataGenerator.Settings(persons, categories, entries, events, auditRows,
+                2, lastDay, 1.1, seed, 10_000);
+    }
+}
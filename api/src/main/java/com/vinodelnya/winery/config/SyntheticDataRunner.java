@@ -0,0 +1,59 @@
+package com.vinodelnya.winery.config;
+
+import com.vinodelnya.winery.service.SyntheticDataGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// java -jar vinodelnya-api.jar --spring.profiles.active=generate-data [--generator.entries=5000000 ...]
+// Settings and their defaults are in application-generate-data.yaml
+@Component
+@Profile("generate-data")
+@Order(100)
+@Slf4j
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final ApplicationContext applicationContext;
+    private final SyntheticDataGenerator.Settings settings;
+    private final boolean exitWhenDone;
+
+    public SyntheticDataRunner(SyntheticDataGenerator generator,
+                               ApplicationContext applicationContext,
+                               @Value("${generator.persons}") int persons,
+                               @Value("${generator.categories}") int categories,
+                               @Value("${generator.entries}") long entries,
+                               @Value("${generator.events}") long events,
+                               @Value("${generator.audit-rows}") long auditRows,
+                               @Value("${generator.years}") int years,
+                               @Value("${generator.zipf-exponent}") double zipfExponent,
+                               @Value("${generator.seed}") long seed,
+                               @Value("${generator.chunk-size}") int chunkSize,
+                               @Value("${generator.exit-when-done}") boolean exitWhenDone) {
+        this.generator = generator;
+        this.applicationContext = applicationContext;
+        this.settings = new SyntheticDataGenerator.Settings(persons, categories, entries, events, auditRows,
+                years, LocalDate.now(), zipfExponent, seed, chunkSize);
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(String... args) {
+        log.info("Generating synthetic data: {}", settings);
+        long started = System.currentTimeMillis();
+        Map<String, Long> written = generator.generate(settings);
+        log.info("Synthetic data generated in {} s: {}", (System.currentTimeMillis() - started) / 1000, written);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -43,7 +43,15 @@ public class AuditController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "15") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "changedAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Opaque cursor from a previous nextCursor; empty for the first page. " +
+                    "Enables keyset paging ordered by changedAt desc without a count query")
+            @RequestParam(required = false) String after) {
+
+        if (after != null) {
+            return ResponseEntity.ok(auditService.getAuditHistoryAfter(
+                tableName, recordId, changedBy, startDate, endDate, after, size));
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : 
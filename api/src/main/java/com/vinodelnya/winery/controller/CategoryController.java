@@ -13,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/categories")
 @RequiredArgsConstructor
@@ -34,6 +36,12 @@ public class CategoryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/options")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<CategoryDto>> getCategoryOptions(@RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok(categoryService.findOptions(active));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
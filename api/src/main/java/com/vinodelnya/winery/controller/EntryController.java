@@ -1,20 +1,32 @@
 package com.vinodelnya.winery.controller;
 
 import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryImportResult;
 import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.service.EntryImportService;
 import com.vinodelnya.winery.service.EntryService;
+import com.vinodelnya.winery.service.ExportFormat;
+import com.vinodelnya.winery.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/entries")
@@ -22,6 +34,8 @@ import java.time.LocalDate;
 public class EntryController {
 
     private final EntryService entryService;
+    private final ExportService exportService;
+    private final EntryImportService entryImportService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -33,13 +47,42 @@ public class EntryController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
             @RequestParam(required = false) Long personId,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) String description) {
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String after) {
+        
+        // Cursor mode: fixed (date, id) descending order, no count query
+        if (after != null) {
+            return ResponseEntity.ok(entryService.findAllAfter(dateFrom, dateTo, personId, categoryId, description,
+                                                               after, size));
+        }
         
         Pageable pageable = createPageable(page, size, sort);
         PageResponse<EntryDto> response = entryService.findAll(dateFrom, dateTo, personId, categoryId, description, pageable);
         return ResponseEntity.ok(response);
     }
 
+    // Streams every matching row (no paging) followed by a totals row
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public void exportEntries(
+            @RequestParam(defaultValue = "xlsx") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) Long personId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String description,
+            HttpServletResponse response) throws IOException {
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportFormat.fileName("entries"))
+                .build()
+                .toString());
+        exportService.exportEntries(exportFormat, dateFrom, dateTo, personId, categoryId, description,
+                response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<EntryDto> getEntryById(@PathVariable Long id) {
@@ -54,6 +97,22 @@ public class EntryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Rows that fail validation are reported back; the rest are inserted
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EntryImportResult> importEntries(@RequestBody List<EntryDto> entries) {
+        return ResponseEntity.ok(entryImportService.importEntries(entries));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EntryImportResult> importEntriesFile(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(entryImportService.importFile(file.getOriginalFilename(), in));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<EntryDto> updateEntry(@PathVariable Long id, @Valid @RequestBody EntryDto entryDto) {
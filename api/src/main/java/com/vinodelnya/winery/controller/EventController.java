@@ -1,20 +1,34 @@
 package com.vinodelnya.winery.controller;
 
+import com.vinodelnya.winery.dto.EventCalendarDay;
+import com.vinodelnya.winery.dto.EventBulkUpdateRequest;
+import com.vinodelnya.winery.dto.EventBulkUpdateResult;
 import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.KitchenForecastDay;
 import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.service.EventBulkUpdateService;
 import com.vinodelnya.winery.service.EventService;
+import com.vinodelnya.winery.service.ExportFormat;
+import com.vinodelnya.winery.service.ExportService;
+import com.vinodelnya.winery.service.KitchenForecastService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/events")
@@ -22,6 +36,9 @@ import java.time.LocalDate;
 public class EventController {
 
     private final EventService eventService;
+    private final ExportService exportService;
+    private final KitchenForecastService kitchenForecastService;
+    private final EventBulkUpdateService eventBulkUpdateService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -35,15 +52,69 @@ public class EventController {
             @RequestParam(required = false) String contactName,
             @RequestParam(required = false) Boolean specialPrice,
             @RequestParam(required = false) Boolean masterclass,
-            @RequestParam(required = false) Boolean invoiceIssued) {
+            @RequestParam(required = false) Boolean invoiceIssued,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String after) {
+        
+        // Cursor mode: fixed (visitDate, id) descending order, no count query
+        if (after != null) {
+            if (fuzzy) {
+                throw new InvalidRequestException("Fuzzy search ranks by similarity and cannot be paged with a cursor");
+            }
+            return ResponseEntity.ok(eventService.findAllAfter(dateFrom, dateTo, company, contactName,
+                                                               specialPrice, masterclass, invoiceIssued,
+                                                               after, size));
+        }
         
         Pageable pageable = createPageable(page, size, sort);
         PageResponse<EventDto> response = eventService.findAll(dateFrom, dateTo, company, 
                                                              contactName, specialPrice, 
-                                                             masterclass, invoiceIssued, pageable);
+                                                             masterclass, invoiceIssued, fuzzy, pageable);
         return ResponseEntity.ok(response);
     }
 
+    // Streams every matching row (no paging) followed by a totals row
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public void exportEvents(
+            @RequestParam(defaultValue = "xlsx") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) String contactName,
+            @RequestParam(required = false) Boolean specialPrice,
+            @RequestParam(required = false) Boolean masterclass,
+            @RequestParam(required = false) Boolean invoiceIssued,
+            HttpServletResponse response) throws IOException {
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportFormat.fileName("events"))
+                .build()
+                .toString());
+        exportService.exportEvents(exportFormat, dateFrom, dateTo, company, contactName, specialPrice,
+                masterclass, invoiceIssued, response.getOutputStream());
+    }
+
+    // Per-day guest counts, masterclasses and revenue; a season fits in one request (up to 366 days)
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<EventCalendarDay>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(eventService.getCalendar(from, to));
+    }
+
+    // Hot dish portions and lunch covers per day and hour; defaults to the next 90 days
+    @GetMapping("/kitchen-forecast")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<KitchenForecastDay>> getKitchenForecast(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(kitchenForecastService.getForecast(from, to));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
@@ -65,6 +136,26 @@ public class EventController {
         return ResponseEntity.ok(updated);
     }
 
+    // One set-based UPDATE per request; ids that do not exist are reported back in notFound
+    @PatchMapping("/bulk/invoice")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EventBulkUpdateResult> setInvoiceIssued(@Valid @RequestBody EventBulkUpdateRequest request) {
+        return ResponseEntity.ok(eventBulkUpdateService.setInvoiceIssued(request.getIds(), request.getInvoiceIssued()));
+    }
+
+    @PatchMapping("/bulk/special-price")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EventBulkUpdateResult> applySpecialPrice(@Valid @RequestBody EventBulkUpdateRequest request) {
+        return ResponseEntity.ok(eventBulkUpdateService.applySpecialPrice(
+                request.getIds(), request.getLunchPrice(), request.getTastingPrice()));
+    }
+
+    @PatchMapping("/bulk/visit-date")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EventBulkUpdateResult> shiftVisitDate(@Valid @RequestBody EventBulkUpdateRequest request) {
+        return ResponseEntity.ok(eventBulkUpdateService.shiftVisitDate(request.getIds(), request.getDays()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long id) {
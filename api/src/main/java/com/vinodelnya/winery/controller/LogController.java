@@ -1,51 +1,58 @@
 package com.vinodelnya.winery.controller;
 
+import com.vinodelnya.winery.dto.LogRecord;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.service.LogFileReader;
+import com.vinodelnya.winery.service.LogRingBuffer;
+import com.vinodelnya.winery.service.LogStatsTailer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/logs")
 @PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
 public class LogController {
 
     private static final Logger logger = LoggerFactory.getLogger(LogController.class);
     
-    // Pattern to parse Spring Boot log format: timestamp level pid --- [app] [thread] logger : message
-    private static final Pattern LOG_PATTERN = Pattern.compile(
-        "^(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{2}:\\d{2})\\s+" +
-        "(TRACE|DEBUG|INFO|WARN|ERROR)\\s+" +
-        "(\\d+)\\s+---\\s+\\[([^\\]]+)\\]\\s+\\[([^\\]]+)\\]\\s+" +
-        "([^\\s]+)\\s*:\\s+(.*)$"
-    );
+    private static final int MAX_LIMIT = 1000;
+    private static final String SOURCE_AUTO = "auto";
+    private static final String SOURCE_MEMORY = "memory";
+    private static final String SOURCE_FILE = "file";
+
+    private final LogFileReader logFileReader;
+    private final LogStatsTailer logStatsTailer;
+    private final LogRingBuffer logRingBuffer;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getLogs(
             @RequestParam(defaultValue = "100") int limit,
             @RequestParam(defaultValue = "INFO") String level,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = SOURCE_AUTO) String source) {
         
+        String resolvedSource = resolveSource(source, from);
         try {
-            List<Map<String, Object>> logs = readApplicationLogs(limit, level, search);
+            List<Map<String, Object>> logs = readApplicationLogs(resolvedSource, limit, level, search, from, to);
             
             Map<String, Object> response = new HashMap<>();
             response.put("logs", logs);
+            response.put("source", resolvedSource);
             response.put("totalCount", logs.size());
             response.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
             
@@ -59,172 +66,53 @@ public class LogController {
         }
     }
     
-    private List<Map<String, Object>> readApplicationLogs(int limit, String level, String search) {
-        List<Map<String, Object>> logs = new ArrayList<>();
-        
-        try {
-            // Try to read from the log file
-            String logContent = readLogFile();
-            logger.info("Log file content read: {} characters", logContent != null ? logContent.length() : 0);
-            
-            if (logContent != null && !logContent.trim().isEmpty()) {
-                logs = parseLogContent(logContent, level, search);
-                logger.info("Parsed {} logs from file content", logs.size());
-                
-                // If we got no logs from parsing, fall back to runtime logs
-                if (logs.isEmpty()) {
-                    logger.warn("No logs parsed from file content, falling back to runtime logs");
-                    logs = createRuntimeLogs(level, search);
+    // The in-memory buffer only holds events since startup; older ranges need the file
+    private String resolveSource(String source, LocalDateTime from) {
+        switch (source.toLowerCase()) {
+            case SOURCE_MEMORY:
+                if (!logRingBuffer.isEnabled()) {
+                    throw new InvalidRequestException("In-memory log buffer is disabled");
                 }
-            } else {
-                logger.warn("Log file content is null or empty, using runtime logs");
-                logs = createRuntimeLogs(level, search);
-            }
-            
-            // Sort by timestamp descending and limit results
-            logs.sort((a, b) -> {
-                String timestampA = (String) a.get("timestamp");
-                String timestampB = (String) b.get("timestamp");
-                return timestampB.compareTo(timestampA);
-            });
-            
-            return logs.stream().limit(limit).collect(Collectors.toList());
-            
-        } catch (Exception e) {
-            logger.error("Error reading application logs", e);
-            return createFallbackLogs(limit, level, search);
-        }
-    }
-    
-    private String readLogFile() {
-        // Try common Spring Boot log file locations
-        String[] logPaths = {
-            "backend.log",
-            "logs/application.log",
-            "logs/spring.log",
-            "application.log",
-            "spring.log"
-        };
-        
-        for (String logPath : logPaths) {
-            try {
-                Path path = Paths.get(logPath);
-                if (Files.exists(path)) {
-                    return Files.readString(path);
+                return SOURCE_MEMORY;
+            case SOURCE_FILE:
+                return SOURCE_FILE;
+            case SOURCE_AUTO:
+                if (!logRingBuffer.isEnabled() || logRingBuffer.isEmpty()) {
+                    return SOURCE_FILE;
                 }
-            } catch (IOException e) {
-                logger.debug("Could not read log file: {}", logPath);
-            }
+                LocalDateTime oldest = logRingBuffer.oldestTime();
+                return from != null && oldest != null && from.isBefore(oldest) ? SOURCE_FILE : SOURCE_MEMORY;
+            default:
+                throw new InvalidRequestException("Unknown log source: " + source);
         }
-        
-        return null;
     }
     
-    private List<Map<String, Object>> parseLogContent(String content, String levelFilter, String search) {
-        List<Map<String, Object>> logs = new ArrayList<>();
-        String[] lines = content.split("\n");
-        int id = 1;
-        
-        logger.info("Parsing log content with {} lines", lines.length);
-        
-        // Parse lines from end (most recent first)
-        for (int i = lines.length - 1; i >= 0 && logs.size() < 1000; i--) {
-            String line = lines[i].trim();
-            
-            // Skip empty lines and gradle output
-            if (line.isEmpty() || line.startsWith(">") || line.startsWith("BUILD")) {
-                continue;
-            }
-            
-            // Try to match the log pattern
-            Matcher matcher = LOG_PATTERN.matcher(line);
-            if (matcher.matches()) {
-                try {
-                    String timestamp = matcher.group(1);
-                    String level = matcher.group(2);
-                    String pid = matcher.group(3);
-                    String appName = matcher.group(4);
-                    String thread = matcher.group(5);
-                    String logger = matcher.group(6);
-                    String message = matcher.group(7);
-                    
-                    // Apply level filter
-                    if (!levelFilter.equals("ALL") && !level.equals(levelFilter)) {
-                        continue;
-                    }
-                    
-                    // Apply search filter
-                    if (search != null && !search.isEmpty()) {
-                        String searchLower = search.toLowerCase();
-                        if (!message.toLowerCase().contains(searchLower) &&
-                            !logger.toLowerCase().contains(searchLower)) {
-                            continue;
-                        }
-                    }
-                    
-                    // Look for stack trace in subsequent lines for ERROR/WARN logs
-                    String stackTrace = null;
-                    if (("ERROR".equals(level) || "WARN".equals(level)) && i > 0) {
-                        stackTrace = extractStackTrace(lines, i);
-                    }
-                    
-                    Map<String, Object> logEntry = new HashMap<>();
-                    logEntry.put("id", id++);
-                    logEntry.put("timestamp", timestamp);
-                    logEntry.put("level", level);
-                    logEntry.put("logger", logger);
-                    logEntry.put("message", message);
-                    logEntry.put("thread", thread);
-                    logEntry.put("trace", appName + "." + thread);
-                    
-                    // Add stack trace if available for detailed view
-                    if (stackTrace != null && !stackTrace.trim().isEmpty()) {
-                        logEntry.put("stackTrace", stackTrace);
-                        logEntry.put("hasStackTrace", true);
-                    } else {
-                        logEntry.put("hasStackTrace", false);
-                    }
-                    
-                    logs.add(logEntry);
-                    
-                } catch (Exception e) {
-                    logger.debug("Failed to parse log line: {}", line, e);
-                }
-            }
-        }
-        
-        logger.info("Parsed {} log entries from file", logs.size());
-        return logs;
-    }
-    
-    private String extractStackTrace(String[] lines, int currentIndex) {
-        StringBuilder stackTrace = new StringBuilder();
-        
-        // Look at the next several lines to find stack trace information
-        for (int i = currentIndex - 1; i >= Math.max(0, currentIndex - 50); i--) {
-            String line = lines[i].trim();
-            
-            // Stop if we hit another log entry (starts with timestamp)
-            if (line.matches("^\\d{4}-\\d{2}-\\d{2}T.*")) {
-                break;
+    private List<Map<String, Object>> readApplicationLogs(String source, int limit, String level, String search,
+                                                          LocalDateTime from, LocalDateTime to) {
+        try {
+            Predicate<LogRecord> filter = record -> record.matches(level, search);
+            List<LogRecord> records = SOURCE_MEMORY.equals(source)
+                    ? logRingBuffer.readLatest(Math.min(limit, MAX_LIMIT), filter, from, to)
+                    : logFileReader.readLatest(Math.min(limit, MAX_LIMIT), filter, from, to);
+
+            // Nothing buffered or parseable from the file: fall back to runtime logs
+            if (records.isEmpty() && from == null && to == null) {
+                logger.warn("No logs read from {}, falling back to runtime logs", source);
+                List<Map<String, Object>> logs = createRuntimeLogs(level, search);
+                return logs.stream().limit(limit).collect(Collectors.toList());
             }
-            
-            // Look for typical stack trace patterns
-            if (line.contains("Exception") || 
-                line.contains("Error") || 
-                line.startsWith("at ") ||
-                line.startsWith("Caused by:") ||
-                line.startsWith("...") ||
-                line.contains(".java:")) {
-                
-                if (stackTrace.length() > 0) {
-                    stackTrace.insert(0, "\n");
-                }
-                stackTrace.insert(0, line);
+
+            List<Map<String, Object>> logs = new ArrayList<>(records.size());
+            int id = 1;
+            for (LogRecord record : records) {
+                logs.add(record.toMap(id++));
             }
+            return logs;
+
+        } catch (Exception e) {
+            logger.error("Error reading application logs", e);
+            return createFallbackLogs(limit, level, search);
         }
-        
-        return stackTrace.toString();
     }
     
     private String findLogLevel(String line) {
@@ -353,52 +241,14 @@ public class LogController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getLogStats() {
         try {
-            List<Map<String, Object>> allLogs = readApplicationLogs(1000, "ALL", null);
+            // Counters are maintained by the tailer as lines are appended
+            LogStatsTailer.LogStats logStats = logStatsTailer.snapshot();
             Map<String, Object> stats = new HashMap<>();
-            
-            // Count logs by level
-            Map<String, Integer> levelCounts = new HashMap<>();
-            levelCounts.put("ERROR", 0);
-            levelCounts.put("WARN", 0);
-            levelCounts.put("INFO", 0);
-            levelCounts.put("DEBUG", 0);
-            levelCounts.put("TRACE", 0);
-            
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-            
-            int lastHourCount = 0;
-            int lastDayCount = 0;
-            
-            for (Map<String, Object> log : allLogs) {
-                String level = (String) log.get("level");
-                String timestampStr = (String) log.get("timestamp");
-                
-                // Count by level
-                levelCounts.merge(level, 1, Integer::sum);
-                
-                // Count recent logs
-                try {
-                    LocalDateTime logTime = LocalDateTime.parse(timestampStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                    if (logTime.isAfter(oneHourAgo)) {
-                        lastHourCount++;
-                    }
-                    if (logTime.isAfter(oneDayAgo)) {
-                        lastDayCount++;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Could not parse timestamp: {}", timestampStr);
-                }
-            }
-            
-            stats.put("levelCounts", levelCounts);
-            stats.put("totalLogs", allLogs.size());
-            stats.put("lastHour", lastHourCount);
-            stats.put("lastDay", lastDayCount);
-            
-            // Calculate system uptime based on earliest log
-            String uptime = calculateUptime();
-            stats.put("systemUptime", uptime);
+            stats.put("levelCounts", logStats.levelCounts());
+            stats.put("totalLogs", logStats.totalLogs());
+            stats.put("lastHour", logStats.lastHour());
+            stats.put("lastDay", logStats.lastDay());
+            stats.put("systemUptime", calculateUptime(logStats.lastStartup()));
             
             return ResponseEntity.ok(stats);
             
@@ -423,31 +273,17 @@ public class LogController {
         }
     }
     
-    private String calculateUptime() {
+    private String calculateUptime(LocalDateTime startup) {
         try {
-            // Try to find the application startup log
-            String logContent = readLogFile();
-            if (logContent != null && logContent.contains("Started VinodelnjaApplication")) {
-                // Find the startup timestamp and calculate uptime
-                String[] lines = logContent.split("\n");
-                for (String line : lines) {
-                    if (line.contains("Started VinodelnjaApplication")) {
-                        Matcher matcher = LOG_PATTERN.matcher(line);
-                        if (matcher.matches()) {
-                            String startupTime = matcher.group(1);
-                            LocalDateTime startup = LocalDateTime.parse(startupTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                            LocalDateTime now = LocalDateTime.now();
-                            
-                            long minutes = java.time.Duration.between(startup, now).toMinutes();
-                            if (minutes < 60) {
-                                return minutes + " minutes";
-                            } else {
-                                long hours = minutes / 60;
-                                long remainingMinutes = minutes % 60;
-                                return hours + " hours " + remainingMinutes + " minutes";
-                            }
-                        }
-                    }
+            if (startup != null) {
+                LocalDateTime now = LocalDateTime.now();
+                long minutes = java.time.Duration.between(startup, now).toMinutes();
+                if (minutes < 60) {
+                    return minutes + " minutes";
+                } else {
+                    long hours = minutes / 60;
+                    long remainingMinutes = minutes % 60;
+                    return hours + " hours " + remainingMinutes + " minutes";
                 }
             }
             
@@ -13,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/persons")
 @RequiredArgsConstructor
@@ -34,6 +36,12 @@ public class PersonController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/options")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<PersonDto>> getPersonOptions(@RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok(personService.findOptions(active));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<PersonDto> getPersonById(@PathVariable Long id) {
@@ -1,6 +1,13 @@
 package com.vinodelnya.winery.controller;
 
+import com.vinodelnya.winery.dto.ReportResultDto;
 import com.vinodelnya.winery.dto.ReportSummaryDto;
+import com.vinodelnya.winery.dto.RollupConsistencyReport;
+import com.vinodelnya.winery.service.EntryRollupService;
+import com.vinodelnya.winery.service.ReportDimension;
+import com.vinodelnya.winery.service.ReportGrouping;
+import com.vinodelnya.winery.service.ReportMetric;
+import com.vinodelnya.winery.service.ReportQueryService;
 import com.vinodelnya.winery.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -9,6 +16,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/reports")
@@ -16,6 +26,8 @@ import java.time.LocalDate;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportQueryService reportQueryService;
+    private final EntryRollupService entryRollupService;
 
     @GetMapping("/summary")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -23,9 +35,44 @@ public class ReportController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(required = false) Long personId,
-            @RequestParam(required = false) Long categoryId) {
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) List<String> groupBy) {
         
-        ReportSummaryDto summary = reportService.generateSummary(fromDate, toDate, personId, categoryId);
+        ReportSummaryDto summary = groupBy == null || groupBy.isEmpty()
+                ? reportService.generateSummary(fromDate, toDate, personId, categoryId)
+                : reportService.generateSummary(fromDate, toDate, personId, categoryId,
+                        groupBy.stream().map(ReportGrouping::from).collect(Collectors.toSet()));
         return ResponseEntity.ok(summary);
     }
+
+    @GetMapping("/query")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<ReportResultDto> query(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) List<String> metrics,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Long personId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "false") boolean rollup) {
+
+        ReportResultDto result = reportQueryService.query(
+                groupBy == null ? List.of() : groupBy.stream().map(ReportDimension::from).toList(),
+                metrics == null ? List.of() : metrics.stream().map(ReportMetric::from).toList(),
+                fromDate, toDate, personId, categoryId, rollup);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildRollup() {
+        int groups = entryRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("groups", groups));
+    }
+
+    @GetMapping("/rollup/consistency")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RollupConsistencyReport> checkRollupConsistency() {
+        return ResponseEntity.ok(entryRollupService.checkConsistency());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.vinodelnya.winery.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class EntryImportResult {
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private List<RowError> errors = new ArrayList<>();
+
+    // Row numbers are 1-based positions in the JSON array, or spreadsheet row numbers for uploads
+    public record RowError(int row, String message) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.vinodelnya.winery.dto;
+
+import java.math.BigDecimal;
+
+public record EntryPageTotals(BigDecimal amountPaid, BigDecimal amountDue, BigDecimal total,
+                              BigDecimal workHours) implements PageTotals {
+}
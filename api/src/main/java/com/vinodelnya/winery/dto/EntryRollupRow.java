@@ -0,0 +1,8 @@
+package com.vinodelnya.winery.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record EntryRollupRow(LocalDate date, Long personId, Long categoryId, Long entryCount,
+                             BigDecimal workHours, BigDecimal amountPaid, BigDecimal amountDue) {
+}
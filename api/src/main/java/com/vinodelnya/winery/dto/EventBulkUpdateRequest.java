@@ -0,0 +1,24 @@
+package com.vinodelnya.winery.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Each bulk endpoint reads the ids and its own fields: invoiceIssued, the special lunch and/or
+// tasting price, or the number of days to shift the visit date by
+@Data
+public class EventBulkUpdateRequest {
+    @NotEmpty
+    private List<@NotNull Long> ids;
+
+    private Boolean invoiceIssued;
+
+    private BigDecimal lunchPrice;
+
+    private BigDecimal tastingPrice;
+
+    private Integer days;
+}
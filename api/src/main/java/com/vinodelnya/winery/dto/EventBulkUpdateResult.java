@@ -0,0 +1,20 @@
+package com.vinodelnya.winery.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class EventBulkUpdateResult {
+    private int requested;
+    private int updated;
+    private List<Long> notFound = new ArrayList<>();
+    private List<Item> results = new ArrayList<>();
+
+    // The state of an updated event after the change, in request order
+    public record Item(Long id, LocalDate visitDate, Boolean invoiceIssued, BigDecimal grandTotal) {
+    }
+}
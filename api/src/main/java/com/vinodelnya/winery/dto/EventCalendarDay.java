@@ -0,0 +1,14 @@
+package com.vinodelnya.winery.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Guest load and revenue of all events on one visit date
+public record EventCalendarDay(LocalDate date, Long events, Long adultLunchGuests, Long adultTastingGuests,
+                               Long childrenGuests, Long extraGuests, Long masterclasses,
+                               BigDecimal revenue, BigDecimal invoiced, BigDecimal uninvoiced) {
+
+    public static EventCalendarDay empty(LocalDate date) {
+        return new EventCalendarDay(date, 0L, 0L, 0L, 0L, 0L, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
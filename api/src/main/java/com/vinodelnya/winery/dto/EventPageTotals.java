@@ -0,0 +1,7 @@
+package com.vinodelnya.winery.dto;
+
+import java.math.BigDecimal;
+
+public record EventPageTotals(BigDecimal lunchTotal, BigDecimal tastingTotal, BigDecimal addedWinesValue,
+                              BigDecimal extraChargeAmount, BigDecimal grandTotal) implements PageTotals {
+}
@@ -0,0 +1,25 @@
+package com.vinodelnya.winery.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Day totals of the kitchen forecast with the hourly slots they are made of, earliest first
+public record KitchenForecastDay(LocalDate date, long events, long lunchCovers, long vegetarianPortions,
+                                 long meatPortions, long unquantifiedDishes, List<KitchenForecastSlot> slots) {
+
+    public static KitchenForecastDay of(LocalDate date, List<KitchenForecastSlot> slots) {
+        long events = 0;
+        long lunchCovers = 0;
+        long vegetarian = 0;
+        long meat = 0;
+        long unquantified = 0;
+        for (KitchenForecastSlot slot : slots) {
+            events += slot.events();
+            lunchCovers += slot.lunchCovers();
+            vegetarian += slot.vegetarianPortions();
+            meat += slot.meatPortions();
+            unquantified += slot.unquantifiedDishes();
+        }
+        return new KitchenForecastDay(date, events, lunchCovers, vegetarian, meat, unquantified, List.copyOf(slots));
+    }
+}
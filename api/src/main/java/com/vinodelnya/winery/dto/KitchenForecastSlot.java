@@ -0,0 +1,21 @@
+package com.vinodelnya.winery.dto;
+
+import java.time.LocalTime;
+
+// Kitchen load of the events starting within one hour of a visit date; unquantified dishes
+// name a dish without a portion count and need to be confirmed with the guest
+public record KitchenForecastSlot(LocalTime time, long events, long lunchCovers, long vegetarianPortions,
+                                  long meatPortions, long unquantifiedDishes) {
+
+    public KitchenForecastSlot plus(KitchenForecastSlot other) {
+        return new KitchenForecastSlot(time, events + other.events, lunchCovers + other.lunchCovers,
+                vegetarianPortions + other.vegetarianPortions, meatPortions + other.meatPortions,
+                unquantifiedDishes + other.unquantifiedDishes);
+    }
+
+    public KitchenForecastSlot minus(KitchenForecastSlot other) {
+        return new KitchenForecastSlot(time, events - other.events, lunchCovers - other.lunchCovers,
+                vegetarianPortions - other.vegetarianPortions, meatPortions - other.meatPortions,
+                unquantifiedDishes - other.unquantifiedDishes);
+    }
+}
@@ -0,0 +1,38 @@
+package com.vinodelnya.winery.dto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+public record LogRecord(String timestamp, LocalDateTime time, String level, String logger,
+                        String thread, String trace, String message, String stackTrace) {
+
+    public boolean matches(String levelFilter, String search) {
+        if (levelFilter != null && !"ALL".equals(levelFilter) && !level.equals(levelFilter)) {
+            return false;
+        }
+        if (search != null && !search.isEmpty()) {
+            String searchLower = search.toLowerCase();
+            return message.toLowerCase().contains(searchLower) || logger.toLowerCase().contains(searchLower);
+        }
+        return true;
+    }
+
+    public Map<String, Object> toMap(int id) {
+        Map<String, Object> logEntry = new HashMap<>();
+        logEntry.put("id", id);
+        logEntry.put("timestamp", timestamp);
+        logEntry.put("level", level);
+        logEntry.put("logger", logger);
+        logEntry.put("message", message);
+        logEntry.put("thread", thread);
+        logEntry.put("trace", trace);
+        if (stackTrace != null && !stackTrace.isBlank()) {
+            logEntry.put("stackTrace", stackTrace);
+            logEntry.put("hasStackTrace", true);
+        } else {
+            logEntry.put("hasStackTrace", false);
+        }
+        return logEntry;
+    }
+}
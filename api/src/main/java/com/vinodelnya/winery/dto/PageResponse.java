@@ -15,8 +15,9 @@ public class PageResponse<T> {
     private int size;
     private boolean first;
     private boolean last;
-    private Map<String, BigDecimal> pageTotal;
+    private PageTotals pageTotal;
     private Map<String, BigDecimal> grandTotal;
+    private String nextCursor;
     
     public PageResponse() {}
     
@@ -30,4 +31,11 @@ public class PageResponse<T> {
         this.first = first;
         this.last = last;
     }
-}
\ No newline at end of file
+    
+    // Keyset pages are not counted, so totalElements and totalPages are reported as -1
+    public static <T> PageResponse<T> ofSlice(List<T> content, int size, boolean first, String nextCursor) {
+        PageResponse<T> response = new PageResponse<>(content, -1, -1, 0, size, first, nextCursor == null);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+}
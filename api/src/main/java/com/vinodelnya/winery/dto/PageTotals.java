@@ -0,0 +1,5 @@
+package com.vinodelnya.winery.dto;
+
+// Sums of the monetary and hour columns over the rows of one page
+public sealed interface PageTotals permits EntryPageTotals, EventPageTotals {
+}
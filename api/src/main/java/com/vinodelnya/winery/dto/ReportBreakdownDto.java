@@ -0,0 +1,16 @@
+package com.vinodelnya.winery.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ReportBreakdownDto {
+    private String key;
+    private String label;
+    private BigDecimal totalAmountPaid = BigDecimal.ZERO;
+    private BigDecimal totalAmountDue = BigDecimal.ZERO;
+    private BigDecimal grandTotal = BigDecimal.ZERO;
+    private BigDecimal totalWorkHours = BigDecimal.ZERO;
+    private long totalEntries;
+}
@@ -0,0 +1,24 @@
+package com.vinodelnya.winery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Columnar result: every list in columns has rowCount values, names are sent once through labels
+@Data
+public class ReportResultDto {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<String> dimensions;
+    private List<String> metrics;
+    private boolean rollup;
+    private int rowCount;
+    private Map<String, List<Object>> columns = new LinkedHashMap<>();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Map<String, String>> labels = new LinkedHashMap<>();
+    private Map<String, Object> totals = new LinkedHashMap<>();
+}
@@ -1,9 +1,11 @@
 package com.vinodelnya.winery.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 public class ReportSummaryDto {
@@ -14,4 +16,12 @@ public class ReportSummaryDto {
     private BigDecimal grandTotal;
     private BigDecimal totalWorkHours;
     private long totalEntries;
-}
\ No newline at end of file
+
+    // Only present when the matching grouping was requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ReportBreakdownDto> byPerson;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ReportBreakdownDto> byCategory;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ReportBreakdownDto> byMonth;
+}
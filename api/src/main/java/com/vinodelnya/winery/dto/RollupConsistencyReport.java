@@ -0,0 +1,17 @@
+package com.vinodelnya.winery.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class RollupConsistencyReport {
+    private LocalDateTime checkedAt;
+    private int rollupGroups;
+    private int scannedGroups;
+    private int mismatchedGroups;
+    private boolean consistent;
+    private List<String> mismatches = new ArrayList<>();
+}
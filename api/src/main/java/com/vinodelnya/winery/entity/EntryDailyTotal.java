@@ -0,0 +1,42 @@
+package com.vinodelnya.winery.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "entry_daily_totals",
+       uniqueConstraints = @UniqueConstraint(name = "uk_entry_daily_totals_key",
+                                             columnNames = {"date", "person_id", "category_id"}))
+@Getter
+@Setter
+public class EntryDailyTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "person_id", nullable = false)
+    private Long personId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "work_hours", nullable = false, precision = 14, scale = 2)
+    private BigDecimal workHours = BigDecimal.ZERO;
+
+    @Column(name = "amount_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(name = "amount_due", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountDue = BigDecimal.ZERO;
+}
@@ -15,15 +15,25 @@ public interface EntryMapper {
     @Mapping(source = "category.name", target = "categoryName")
     EntryDto toDto(Entry entry);
     
+    // Names are filled in from the reference data cache, so the lazy person/category stay uninitialized
+    @Mapping(source = "person.id", target = "personId")
+    @Mapping(source = "category.id", target = "categoryId")
+    @Mapping(target = "personName", ignore = true)
+    @Mapping(target = "categoryName", ignore = true)
+    EntryDto toDtoWithoutNames(Entry entry);
+    
     @Mapping(source = "personId", target = "person.id")
     @Mapping(source = "categoryId", target = "category.id")
     @Mapping(target = "person.name", ignore = true)
     @Mapping(target = "category.name", ignore = true)
     Entry toEntity(EntryDto entryDto);
     
-    @Mapping(source = "personId", target = "person.id")
-    @Mapping(source = "categoryId", target = "category.id")
-    @Mapping(target = "person.name", ignore = true)
-    @Mapping(target = "category.name", ignore = true)
+    // References are resolved by the service; mapping ids onto the managed
+    // Person/Category would rewrite their primary keys
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "person", ignore = true)
+    @Mapping(target = "category", ignore = true)
     void updateEntity(EntryDto entryDto, @MappingTarget Entry entry);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.vinodelnya.winery.repository;
 import com.vinodelnya.winery.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -40,4 +41,22 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
                                   @Param("startDate") LocalDateTime startDate,
                                   @Param("endDate") LocalDateTime endDate,
                                   Pageable pageable);
-}
\ No newline at end of file
+    
+    @Query("SELECT a FROM AuditLog a WHERE " +
+           "(:tableName IS NULL OR a.tableName = :tableName) AND " +
+           "(:recordId IS NULL OR a.recordId = :recordId) AND " +
+           "(:changedBy IS NULL OR :changedBy = '' OR a.changedBy LIKE CONCAT('%', :changedBy, '%')) AND " +
+           "(:startDate IS NULL OR a.changedAt >= :startDate) AND " +
+           "(:endDate IS NULL OR a.changedAt <= :endDate) AND " +
+           "(:afterChangedAt IS NULL OR a.changedAt < :afterChangedAt OR " +
+           "(a.changedAt = :afterChangedAt AND a.id < :afterId)) " +
+           "ORDER BY a.changedAt DESC, a.id DESC")
+    Slice<AuditLog> findSliceWithFilters(@Param("tableName") String tableName,
+                                        @Param("recordId") Long recordId,
+                                        @Param("changedBy") String changedBy,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("afterChangedAt") LocalDateTime afterChangedAt,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+}
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
@@ -20,6 +23,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     boolean existsByNameIgnoreCase(String name);
     
+    @Query("SELECT c.id FROM Category c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(e) > 0 FROM Entry e WHERE e.category.id = :categoryId")
     boolean isCategoryUsedInEntries(@Param("categoryId") Long categoryId);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.vinodelnya.winery.repository;
+
+import com.vinodelnya.winery.dto.EntryRollupRow;
+import com.vinodelnya.winery.entity.EntryDailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public interface EntryDailyTotalRepository extends JpaRepository<EntryDailyTotal, Long> {
+
+    @Query("SELECT new map(" +
+           "COALESCE(SUM(t.amountPaid), 0) as amountPaid, " +
+           "COALESCE(SUM(t.amountDue), 0) as amountDue, " +
+           "COALESCE(SUM(t.amountPaid), 0) + COALESCE(SUM(t.amountDue), 0) as total, " +
+           "COALESCE(SUM(t.workHours), 0) as workHours) " +
+           "FROM EntryDailyTotal t WHERE " +
+           "(:dateFrom IS NULL OR t.date >= :dateFrom) AND " +
+           "(:dateTo IS NULL OR t.date <= :dateTo) AND " +
+           "(:personId IS NULL OR t.personId = :personId) AND " +
+           "(:categoryId IS NULL OR t.categoryId = :categoryId)")
+    Map<String, BigDecimal> calculateTotals(@Param("dateFrom") LocalDate dateFrom,
+                                           @Param("dateTo") LocalDate dateTo,
+                                           @Param("personId") Long personId,
+                                           @Param("categoryId") Long categoryId);
+
+    @Query("SELECT new com.vinodelnya.winery.dto.EntryRollupRow(" +
+           "t.date, t.personId, t.categoryId, t.entryCount, t.workHours, t.amountPaid, t.amountDue) " +
+           "FROM EntryDailyTotal t")
+    List<EntryRollupRow> findAllRows();
+
+    @Query("SELECT new com.vinodelnya.winery.dto.EntryRollupRow(" +
+           "e.date, e.person.id, e.category.id, COUNT(e), " +
+           "COALESCE(SUM(e.workHours), 0), COALESCE(SUM(e.amountPaid), 0), COALESCE(SUM(e.amountDue), 0)) " +
+           "FROM Entry e GROUP BY e.date, e.person.id, e.category.id")
+    List<EntryRollupRow> scanEntries();
+
+    @Modifying
+    @Query(value = "INSERT INTO entry_daily_totals " +
+           "(date, person_id, category_id, entry_count, work_hours, amount_paid, amount_due) " +
+           "SELECT e.date, e.person_id, e.category_id, COUNT(*), " +
+           "COALESCE(SUM(e.work_hours), 0), COALESCE(SUM(e.amount_paid), 0), COALESCE(SUM(e.amount_due), 0) " +
+           "FROM entries e GROUP BY e.date, e.person_id, e.category_id",
+           nativeQuery = true)
+    int backfillFromEntries();
+}
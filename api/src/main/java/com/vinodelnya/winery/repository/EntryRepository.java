@@ -1,8 +1,9 @@
 package com.vinodelnya.winery.repository;
 
 import com.vinodelnya.winery.entity.Entry;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,31 +16,39 @@ import java.util.Map;
 @Repository
 public interface EntryRepository extends JpaRepository<Entry, Long> {
     
-    @Query(value = "SELECT * FROM entries e WHERE " +
-           "(CAST(:dateFrom AS DATE) IS NULL OR e.date >= CAST(:dateFrom AS DATE)) AND " +
-           "(CAST(:dateTo AS DATE) IS NULL OR e.date <= CAST(:dateTo AS DATE)) AND " +
-           "(CAST(:personId AS BIGINT) IS NULL OR e.person_id = CAST(:personId AS BIGINT)) AND " +
-           "(CAST(:categoryId AS BIGINT) IS NULL OR e.category_id = CAST(:categoryId AS BIGINT))",
-           nativeQuery = true)
-    Page<Entry> findWithFilters(@Param("dateFrom") LocalDate dateFrom,
-                               @Param("dateTo") LocalDate dateTo,
-                               @Param("personId") Long personId,
-                               @Param("categoryId") Long categoryId,
-                               Pageable pageable);
-    
-    @Query(value = "SELECT " +
-           "COALESCE(SUM(e.amount_paid), 0) as amountPaid, " +
-           "COALESCE(SUM(e.amount_due), 0) as amountDue, " +
-           "COALESCE(SUM(e.amount_paid), 0) + COALESCE(SUM(e.amount_due), 0) as total, " +
-           "COALESCE(SUM(e.work_hours), 0) as workHours " +
-           "FROM entries e WHERE " +
-           "(CAST(:dateFrom AS DATE) IS NULL OR e.date >= CAST(:dateFrom AS DATE)) AND " +
-           "(CAST(:dateTo AS DATE) IS NULL OR e.date <= CAST(:dateTo AS DATE)) AND " +
-           "(CAST(:personId AS BIGINT) IS NULL OR e.person_id = CAST(:personId AS BIGINT)) AND " +
-           "(CAST(:categoryId AS BIGINT) IS NULL OR e.category_id = CAST(:categoryId AS BIGINT))",
-           nativeQuery = true)
+    // Map keys are exactly these aliases, like EntryDailyTotalRepository.calculateTotals
+    @Query("SELECT new map(" +
+           "COALESCE(SUM(e.amountPaid), 0) as amountPaid, " +
+           "COALESCE(SUM(e.amountDue), 0) as amountDue, " +
+           "COALESCE(SUM(e.amountPaid), 0) + COALESCE(SUM(e.amountDue), 0) as total, " +
+           "COALESCE(SUM(e.workHours), 0) as workHours) " +
+           "FROM Entry e WHERE " +
+           "(:dateFrom IS NULL OR e.date >= :dateFrom) AND " +
+           "(:dateTo IS NULL OR e.date <= :dateTo) AND " +
+           "(:personId IS NULL OR e.person.id = :personId) AND " +
+           "(:categoryId IS NULL OR e.category.id = :categoryId) AND " +
+           "(:description IS NULL OR LOWER(e.description) LIKE :description)")
     Map<String, BigDecimal> calculateTotals(@Param("dateFrom") LocalDate dateFrom,
                                            @Param("dateTo") LocalDate dateTo,
                                            @Param("personId") Long personId,
-                                           @Param("categoryId") Long categoryId);
-}
\ No newline at end of file
+                                           @Param("categoryId") Long categoryId,
+                                           @Param("description") String description);
+    
+    @EntityGraph(attributePaths = {"person", "category"})
+    @Query("SELECT e FROM Entry e WHERE " +
+           "(:dateFrom IS NULL OR e.date >= :dateFrom) AND " +
+           "(:dateTo IS NULL OR e.date <= :dateTo) AND " +
+           "(:personId IS NULL OR e.person.id = :personId) AND " +
+           "(:categoryId IS NULL OR e.category.id = :categoryId) AND " +
+           "(:description IS NULL OR LOWER(e.description) LIKE :description) AND " +
+           "(:afterDate IS NULL OR e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    Slice<Entry> findSliceWithFilters(@Param("dateFrom") LocalDate dateFrom,
+                                      @Param("dateTo") LocalDate dateTo,
+                                      @Param("personId") Long personId,
+                                      @Param("categoryId") Long categoryId,
+                                      @Param("description") String description,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+}
@@ -1,8 +1,9 @@
 package com.vinodelnya.winery.repository;
 
+import com.vinodelnya.winery.dto.EventCalendarDay;
 import com.vinodelnya.winery.entity.Event;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,24 +11,12 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
-    @Query("SELECT e FROM Event e WHERE " +
-           "(:dateFrom IS NULL OR e.visitDate >= :dateFrom) AND " +
-           "(:dateTo IS NULL OR e.visitDate <= :dateTo) AND " +
-           "(:specialPrice IS NULL OR e.specialPriceEnabled = :specialPrice) AND " +
-           "(:masterclass IS NULL OR e.masterclass = :masterclass) AND " +
-           "(:invoiceIssued IS NULL OR e.invoiceIssued = :invoiceIssued)")
-    Page<Event> findWithFilters(@Param("dateFrom") LocalDate dateFrom,
-                               @Param("dateTo") LocalDate dateTo,
-                               @Param("specialPrice") Boolean specialPrice,
-                               @Param("masterclass") Boolean masterclass,
-                               @Param("invoiceIssued") Boolean invoiceIssued,
-                               Pageable pageable);
-    
     @Query("SELECT new map(" +
            "COALESCE(SUM(e.lunchTotal), 0) as lunchTotal, " +
            "COALESCE(SUM(e.tastingTotal), 0) as tastingTotal, " +
@@ -36,7 +25,44 @@ public interface EventRepository extends JpaRepository<Event, Long> {
            "COALESCE(SUM(e.grandTotal), 0) as grandTotal) " +
            "FROM Event e WHERE " +
            "(:dateFrom IS NULL OR e.visitDate >= :dateFrom) AND " +
-           "(:dateTo IS NULL OR e.visitDate <= :dateTo)")
+           "(:dateTo IS NULL OR e.visitDate <= :dateTo) AND " +
+           "(:specialPrice IS NULL OR e.specialPriceEnabled = :specialPrice) AND " +
+           "(:masterclass IS NULL OR e.masterclass = :masterclass) AND " +
+           "(:invoiceIssued IS NULL OR e.invoiceIssued = :invoiceIssued)")
     Map<String, BigDecimal> calculateEventTotals(@Param("dateFrom") LocalDate dateFrom,
-                                                @Param("dateTo") LocalDate dateTo);
-}
\ No newline at end of file
+                                                @Param("dateTo") LocalDate dateTo,
+                                                @Param("specialPrice") Boolean specialPrice,
+                                                @Param("masterclass") Boolean masterclass,
+                                                @Param("invoiceIssued") Boolean invoiceIssued);
+    
+    // Events without an invoice flag count as uninvoiced
+    @Query("SELECT new com.vinodelnya.winery.dto.EventCalendarDay(" +
+           "e.visitDate, COUNT(e), " +
+           "COALESCE(SUM(e.adultLunchGuests), 0), COALESCE(SUM(e.adultTastingGuests), 0), " +
+           "COALESCE(SUM(e.childrenGuests), 0), COALESCE(SUM(e.extraGuests), 0), " +
+           "SUM(CASE WHEN e.masterclass = true THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(e.grandTotal), 0), " +
+           "COALESCE(SUM(CASE WHEN e.invoiceIssued = true THEN e.grandTotal END), 0), " +
+           "COALESCE(SUM(CASE WHEN e.invoiceIssued = true THEN NULL ELSE e.grandTotal END), 0)) " +
+           "FROM Event e WHERE e.visitDate BETWEEN :dateFrom AND :dateTo " +
+           "GROUP BY e.visitDate ORDER BY e.visitDate")
+    List<EventCalendarDay> calculateCalendar(@Param("dateFrom") LocalDate dateFrom,
+                                             @Param("dateTo") LocalDate dateTo);
+    
+    @Query("SELECT e FROM Event e WHERE " +
+           "(:dateFrom IS NULL OR e.visitDate >= :dateFrom) AND " +
+           "(:dateTo IS NULL OR e.visitDate <= :dateTo) AND " +
+           "(:specialPrice IS NULL OR e.specialPriceEnabled = :specialPrice) AND " +
+           "(:masterclass IS NULL OR e.masterclass = :masterclass) AND " +
+           "(:invoiceIssued IS NULL OR e.invoiceIssued = :invoiceIssued) AND " +
+           "(:afterDate IS NULL OR e.visitDate < :afterDate OR (e.visitDate = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.visitDate DESC, e.id DESC")
+    Slice<Event> findSliceWithFilters(@Param("dateFrom") LocalDate dateFrom,
+                                      @Param("dateTo") LocalDate dateTo,
+                                      @Param("specialPrice") Boolean specialPrice,
+                                      @Param("masterclass") Boolean masterclass,
+                                      @Param("invoiceIssued") Boolean invoiceIssued,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+}
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
     
@@ -22,6 +25,9 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     
     boolean existsByNameIgnoreCase(String name);
     
+    @Query("SELECT p.id FROM Person p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(e) > 0 FROM Entry e WHERE e.person.id = :personId")
     boolean isPersonUsedInEntries(@Param("personId") Long personId);
 }
\ No newline at end of file
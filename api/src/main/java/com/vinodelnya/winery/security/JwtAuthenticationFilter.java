@@ -15,13 +15,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final JwtClaimsCache jwtClaimsCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -40,9 +41,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = authHeader.substring(7);
         
         try {
-            if (jwtUtil.isTokenValid(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                String role = jwtUtil.extractRole(jwt);
+            Optional<JwtClaimsCache.VerifiedToken> verified = jwtClaimsCache.verify(jwt);
+            if (verified.isPresent()) {
+                String username = verified.get().username();
+                String role = verified.get().role();
                 log.debug("Valid JWT token for user: {} with role: {}", username, role);
                 
                 var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
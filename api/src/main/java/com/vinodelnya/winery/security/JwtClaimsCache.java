@@ -0,0 +1,106 @@
+package com.vinodelnya.winery.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Verified access tokens by SHA-256 hash, so a token's signature is checked once until it expires
+@Component
+public class JwtClaimsCache {
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public JwtClaimsCache(JwtUtil jwtUtil,
+                          MeterRegistry meterRegistry,
+                          @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+        // Access order makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > JwtClaimsCache.this.maxSize;
+            }
+        };
+
+        this.hitCounter = meterRegistry.counter("jwt.cache.hits");
+        this.missCounter = meterRegistry.counter("jwt.cache.misses");
+        Gauge.builder("jwt.cache.size", this, JwtClaimsCache::size)
+                .description("Verified tokens held in the JWT claims cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (maxSize <= 0) {
+            return jwtUtil.parseClaims(token).map(VerifiedToken::of);
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            VerifiedToken cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    hitCounter.increment();
+                    return Optional.of(cached);
+                }
+                entries.remove(key);
+            }
+        }
+
+        missCounter.increment();
+        Optional<VerifiedToken> verified = jwtUtil.parseClaims(token).map(VerifiedToken::of);
+        // Tokens without an expiry are never cached
+        verified.filter(result -> result.expiresAt() > now).ifPresent(result -> {
+            synchronized (entries) {
+                if (entries.size() >= maxSize) {
+                    // Drop expired tokens before falling back to least-recently-used eviction
+                    entries.values().removeIf(entry -> entry.expiresAt() <= now);
+                }
+                entries.put(key, result);
+            }
+        });
+        return verified;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record VerifiedToken(String username, String role, long expiresAt) {
+
+        static VerifiedToken of(Claims claims) {
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                    expiration == null ? 0 : expiration.getTime());
+        }
+    }
+}
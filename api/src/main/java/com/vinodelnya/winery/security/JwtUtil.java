@@ -7,11 +7,14 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey key;
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
     private final long jwtExpiration;
     private final long refreshExpiration;
 
@@ -19,6 +22,7 @@ public class JwtUtil {
                    @Value("${jwt.expiration}") long jwtExpiration,
                    @Value("${jwt.refresh-expiration}") long refreshExpiration) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
     }
@@ -51,19 +55,19 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    // Verifies the signature and expiry once; empty when the token is not valid
+    public Optional<Claims> parseClaims(String token) {
         try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            return Optional.of(extractClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
\ No newline at end of file
@@ -0,0 +1,327 @@
+package com.vinodelnya.winery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vinodelnya.winery.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hands audit records from request threads to a background thread that batch-inserts them
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    public enum BackpressurePolicy {
+        // Wait up to audit.writer.offer-timeout-ms for space, then drop
+        BLOCK,
+        // Drop the record immediately when the queue is full
+        DROP,
+        // Insert the record synchronously on the calling thread
+        CALLER_RUNS
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log " +
+            "(table_name, record_id, action, old_values, new_values, changed_by, changed_at, ip_address, user_agent) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<PendingAudit> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final BackpressurePolicy backpressurePolicy;
+    // Held while a batch is written; the worker may take records off the queue before it gets the
+    // lock, so flush() waits for the unwritten count rather than for an empty queue
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private final Condition batchWritten = batchLock.newCondition();
+    // Queued records plus records the worker has taken off the queue and not written yet
+    private final AtomicInteger unwritten = new AtomicInteger();
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer writeDelayTimer;
+
+    private volatile boolean running;
+    private volatile Boolean jsonAsOther;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.writer.batch-size:100}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMs,
+                          @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                          @Value("${audit.writer.backpressure:CALLER_RUNS}") BackpressurePolicy backpressurePolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.backpressurePolicy = backpressurePolicy;
+
+        Gauge.builder("audit.writer.queue.depth", queue, BlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.lag", this, AuditLogWriter::currentLagMillis)
+                .description("Age in milliseconds of the oldest queued audit record")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("audit.writer.written");
+        this.droppedCounter = meterRegistry.counter("audit.writer.dropped");
+        this.failedCounter = meterRegistry.counter("audit.writer.failed");
+        this.writeDelayTimer = Timer.builder("audit.writer.delay")
+                .description("Time from capture to insert of an audit record")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the worker did not get to is written here before the DataSource goes away
+        flush();
+    }
+
+    public void submit(AuditLog auditLog) {
+        if (auditLog.getChangedAt() == null) {
+            auditLog.setChangedAt(LocalDateTime.now());
+        }
+        PendingAudit pending = new PendingAudit(auditLog, System.nanoTime());
+
+        // Only publish changes whose transaction actually committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(pending);
+                }
+            });
+        } else {
+            enqueue(pending);
+        }
+    }
+
+    // Returns once every record enqueued so far is written, or after the shutdown timeout
+    public void flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        batchLock.lock();
+        try {
+            List<PendingAudit> batch = new ArrayList<>(batchSize);
+            while (true) {
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    writeQueued(batch);
+                    batch.clear();
+                }
+                if (unwritten.get() == 0) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                // The worker holds records it has not locked in yet; awaiting lets it write them
+                if (remaining <= 0 || !batchWritten.await(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("Audit flush timed out with {} records unwritten", unwritten.get());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private void enqueue(PendingAudit pending) {
+        if (!running) {
+            write(List.of(pending));
+            return;
+        }
+        // Counted before it becomes visible in the queue, so flush() cannot miss it
+        unwritten.incrementAndGet();
+        if (offer(pending)) {
+            if (!running) {
+                // stop() may have flushed between the running check and the offer
+                flush();
+            }
+            return;
+        }
+        unwritten.decrementAndGet();
+        if (backpressurePolicy == BackpressurePolicy.CALLER_RUNS) {
+            write(List.of(pending));
+        } else {
+            drop(pending);
+        }
+    }
+
+    // Only the BLOCK policy waits for room in a full queue
+    private boolean offer(PendingAudit pending) {
+        if (queue.offer(pending)) {
+            return true;
+        }
+        if (backpressurePolicy != BackpressurePolicy.BLOCK) {
+            return false;
+        }
+        try {
+            return queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drop(PendingAudit pending) {
+        droppedCounter.increment();
+        log.warn("Audit queue full, dropped {} audit for {} with id {}",
+                pending.auditLog().getAction(), pending.auditLog().getTableName(), pending.auditLog().getRecordId());
+    }
+
+    private void drainLoop() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingAudit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batchLock.lock();
+                try {
+                    batch.add(first);
+                    try {
+                        fillBatch(batch);
+                    } finally {
+                        // Also when interrupted, so nothing taken off the queue is lost
+                        writeQueued(batch);
+                    }
+                } finally {
+                    batchLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in audit writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Waits at most one flush interval for the batch to fill up
+    private void fillBatch(List<PendingAudit> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // For records taken off the queue; called with batchLock held
+    private void writeQueued(List<PendingAudit> batch) {
+        try {
+            write(batch);
+        } finally {
+            unwritten.addAndGet(-batch.size());
+            batchWritten.signalAll();
+        }
+    }
+
+    private void write(List<PendingAudit> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+            writtenCounter.increment(batch.size());
+            long now = System.nanoTime();
+            for (PendingAudit pending : batch) {
+                writeDelayTimer.record(now - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+            log.debug("Wrote {} audit records", batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit records", batch.size(), e);
+        }
+    }
+
+    private void bind(PreparedStatement ps, PendingAudit pending) throws SQLException {
+        AuditLog auditLog = pending.auditLog();
+        ps.setString(1, auditLog.getTableName());
+        ps.setLong(2, auditLog.getRecordId());
+        ps.setString(3, auditLog.getAction().name());
+        setJson(ps, 4, auditLog.getOldValues());
+        setJson(ps, 5, auditLog.getNewValues());
+        ps.setString(6, auditLog.getChangedBy());
+        ps.setTimestamp(7, Timestamp.valueOf(auditLog.getChangedAt()));
+        ps.setString(8, auditLog.getIpAddress());
+        ps.setString(9, auditLog.getUserAgent());
+    }
+
+    private void setJson(PreparedStatement ps, int index, JsonNode value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+            return;
+        }
+        // PostgreSQL keeps these columns as JSONB; an untyped parameter lets the server cast the text
+        if (jsonAsOther == null) {
+            jsonAsOther = "PostgreSQL".equalsIgnoreCase(ps.getConnection().getMetaData().getDatabaseProductName());
+        }
+        if (jsonAsOther) {
+            ps.setObject(index, value.toString(), Types.OTHER);
+        } else {
+            ps.setString(index, value.toString());
+        }
+    }
+
+    private double currentLagMillis() {
+        PendingAudit oldest = queue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAtNanos());
+    }
+
+    private record PendingAudit(AuditLog auditLog, long enqueuedAtNanos) {
+    }
+}
@@ -9,7 +9,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +29,7 @@ public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final AuditLogWriter auditLogWriter;
 
     public void logCreate(String tableName, Long recordId, Object newEntity) {
         try {
@@ -41,8 +44,8 @@ public class AuditService {
             auditLog.setIpAddress(getClientIpAddress());
             auditLog.setUserAgent(getUserAgent());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Logged CREATE audit for {} with id {}", tableName, recordId);
+            auditLogWriter.submit(auditLog);
+            log.debug("Queued CREATE audit for {} with id {}", tableName, recordId);
         } catch (Exception e) {
             log.error("Failed to log audit for CREATE operation", e);
         }
@@ -63,8 +66,8 @@ public class AuditService {
             auditLog.setIpAddress(getClientIpAddress());
             auditLog.setUserAgent(getUserAgent());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Logged UPDATE audit for {} with id {}", tableName, recordId);
+            auditLogWriter.submit(auditLog);
+            log.debug("Queued UPDATE audit for {} with id {}", tableName, recordId);
         } catch (Exception e) {
             log.error("Failed to log audit for UPDATE operation", e);
         }
@@ -83,8 +86,8 @@ public class AuditService {
             auditLog.setIpAddress(getClientIpAddress());
             auditLog.setUserAgent(getUserAgent());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Logged DELETE audit for {} with id {}", tableName, recordId);
+            auditLogWriter.submit(auditLog);
+            log.debug("Queued DELETE audit for {} with id {}", tableName, recordId);
         } catch (Exception e) {
             log.error("Failed to log audit for DELETE operation", e);
         }
@@ -121,6 +124,30 @@ public class AuditService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<AuditLog> getAuditHistoryAfter(String tableName, Long recordId,
+                                                      String changedBy, LocalDateTime startDate,
+                                                      LocalDateTime endDate, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        if (tableName != null && tableName.trim().isEmpty()) {
+            tableName = null;
+        }
+        Slice<AuditLog> slice = auditLogRepository.findSliceWithFilters(
+            tableName, recordId, changedBy, startDate, endDate,
+            cursor != null ? cursor.dateTimeKey() : null,
+            cursor != null ? cursor.id() : null,
+            PageRequest.ofSize(size));
+        
+        List<AuditLog> logs = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            AuditLog last = logs.get(logs.size() - 1);
+            nextCursor = KeysetCursor.of(last.getChangedAt(), last.getId()).encode();
+        }
+        
+        return PageResponse.ofSlice(logs, size, cursor == null, nextCursor);
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<AuditLog> getEntityHistory(String tableName, Long recordId, Pageable pageable) {
         Page<AuditLog> auditPage = auditLogRepository.findByTableNameAndRecordId(tableName, recordId, pageable);
@@ -5,6 +5,7 @@ import com.vinodelnya.winery.dto.LoginRequest;
 import com.vinodelnya.winery.entity.User;
 import com.vinodelnya.winery.repository.UserRepository;
 import com.vinodelnya.winery.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,11 +34,9 @@ public class AuthService {
     }
 
     public AuthResponse refresh(String refreshToken) {
-        if (!jwtUtil.isTokenValid(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
-        }
-
-        String username = jwtUtil.extractUsername(refreshToken);
+        String username = jwtUtil.parseClaims(refreshToken)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -0,0 +1,142 @@
+package com.vinodelnya.winery.service;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends rows to one table in chunks: PostgreSQL COPY where available, JDBC batches elsewhere
+abstract class BulkRowWriter implements AutoCloseable {
+
+    protected final JdbcTemplate jdbcTemplate;
+    protected final String table;
+    protected final List<String> columns;
+    protected final int chunkSize;
+    private long written;
+
+    private BulkRowWriter(JdbcTemplate jdbcTemplate, String table, List<String> columns, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.columns = columns;
+        this.chunkSize = chunkSize;
+    }
+
+    static BulkRowWriter open(JdbcTemplate jdbcTemplate, boolean postgres, String table,
+                              List<String> columns, int chunkSize) {
+        return postgres ? new Copy(jdbcTemplate, table, columns, chunkSize)
+                : new Batch(jdbcTemplate, table, columns, chunkSize);
+    }
+
+    void row(Object... values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException(table + " expects " + columns.size() + " values, got " + values.length);
+        }
+        append(values);
+        written++;
+        if (pending() >= chunkSize) {
+            flush();
+        }
+    }
+
+    long written() {
+        return written;
+    }
+
+    @Override
+    public void close() {
+        if (pending() > 0) {
+            flush();
+        }
+    }
+
+    protected abstract void append(Object[] values);
+
+    protected abstract int pending();
+
+    protected abstract void flush();
+
+    private static final class Copy extends BulkRowWriter {
+
+        private final String sql;
+        private final StringBuilder buffer = new StringBuilder();
+        private int rows;
+
+        Copy(JdbcTemplate jdbcTemplate, String table, List<String> columns, int chunkSize) {
+            super(jdbcTemplate, table, columns, chunkSize);
+            this.sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        @Override
+        protected void append(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                // An unquoted empty field is NULL in CSV COPY
+                if (values[i] != null) {
+                    String value = values[i] instanceof BigDecimal decimal ? decimal.toPlainString() : values[i].toString();
+                    if (values[i] instanceof String) {
+                        buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+                    } else {
+                        buffer.append(value);
+                    }
+                }
+            }
+            buffer.append('\n');
+            rows++;
+        }
+
+        @Override
+        protected int pending() {
+            return rows;
+        }
+
+        @Override
+        protected void flush() {
+            String chunk = buffer.toString();
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(chunk));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("COPY into " + table + " failed", e);
+                }
+            });
+            buffer.setLength(0);
+            rows = 0;
+        }
+    }
+
+    private static final class Batch extends BulkRowWriter {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        Batch(JdbcTemplate jdbcTemplate, String table, List<String> columns, int chunkSize) {
+            super(jdbcTemplate, table, columns, chunkSize);
+            this.sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        }
+
+        @Override
+        protected void append(Object[] values) {
+            rows.add(values);
+        }
+
+        @Override
+        protected int pending() {
+            return rows.size();
+        }
+
+        @Override
+        protected void flush() {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -20,12 +22,18 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ReferenceDataCache referenceDataCache;
 
     public PageResponse<CategoryDto> findAll(String name, Boolean active, Pageable pageable) {
         Page<Category> page = categoryRepository.findWithFilters(name, active, pageable);
         return createPageResponse(page);
     }
 
+    // Served from the reference data cache for dropdowns, sorted by name
+    public List<CategoryDto> findOptions(Boolean active) {
+        return referenceDataCache.categories(active);
+    }
+
     public CategoryDto findById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
@@ -33,12 +41,13 @@ public class CategoryService {
     }
 
     public CategoryDto create(CategoryDto categoryDto) {
-        if (categoryRepository.existsByNameIgnoreCase(categoryDto.getName())) {
+        if (nameTaken(categoryDto.getName())) {
             throw new RuntimeException("Category with name '" + categoryDto.getName() + "' already exists");
         }
         
         Category category = categoryMapper.toEntity(categoryDto);
         category = categoryRepository.save(category);
+        referenceDataCache.invalidateCategories();
         return categoryMapper.toDto(category);
     }
 
@@ -47,12 +56,13 @@ public class CategoryService {
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
         
         if (!existingCategory.getName().equalsIgnoreCase(categoryDto.getName()) && 
-            categoryRepository.existsByNameIgnoreCase(categoryDto.getName())) {
+            nameTaken(categoryDto.getName())) {
             throw new RuntimeException("Category with name '" + categoryDto.getName() + "' already exists");
         }
         
         categoryMapper.updateEntity(categoryDto, existingCategory);
         existingCategory = categoryRepository.save(existingCategory);
+        referenceDataCache.invalidateCategories();
         return categoryMapper.toDto(existingCategory);
     }
 
@@ -66,6 +76,7 @@ public class CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        referenceDataCache.invalidateCategories();
     }
 
     public CategoryDto archive(Long id) {
@@ -74,9 +85,14 @@ public class CategoryService {
         
         category.setActive(false);
         category = categoryRepository.save(category);
+        referenceDataCache.invalidateCategories();
         return categoryMapper.toDto(category);
     }
 
+    private boolean nameTaken(String name) {
+        return referenceDataCache.findCategoryId(name).isPresent() || categoryRepository.existsByNameIgnoreCase(name);
+    }
+
     private PageResponse<CategoryDto> createPageResponse(Page<Category> page) {
         return new PageResponse<>(
                 page.getContent().stream().map(categoryMapper::toDto).toList(),
@@ -0,0 +1,67 @@
+package com.vinodelnya.winery.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+class CsvTabularWriter implements TabularWriter {
+
+    // Lets Excel detect UTF-8 when the file is opened directly
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    // Spreadsheets evaluate a text cell starting with one of these as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    CsvTabularWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void header(String... columns) throws IOException {
+        writer.write(BYTE_ORDER_MARK);
+        row((Object[]) columns);
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        // The response owns the underlying stream
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
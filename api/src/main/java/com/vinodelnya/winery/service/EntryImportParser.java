@@ -0,0 +1,227 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Turns uploaded CSV/XLSX sheets into entry rows; columns are matched by header name
+class EntryImportParser {
+
+    private static final String[] COLUMNS = {
+            "date", "description", "personid", "categoryid", "workhours", "amountpaid", "amountdue"
+    };
+
+    record ParsedRow(int row, EntryDto entry, String error) {
+    }
+
+    List<ParsedRow> parse(ExportFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case CSV -> parseCsv(in);
+            case XLSX -> parseXlsx(in);
+        };
+    }
+
+    private List<ParsedRow> parseCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return List.of();
+        }
+        if (!headerLine.isEmpty() && headerLine.charAt(0) == '\uFEFF') {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> columns = columnIndex(splitCsv(headerLine));
+
+        List<ParsedRow> rows = new ArrayList<>();
+        int rowNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            // A quoted value may span lines
+            while (countQuotes(line) % 2 != 0) {
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                line = line + "\n" + next;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsv(line);
+            rows.add(toRow(rowNumber, column -> {
+                Integer index = columns.get(column);
+                return index == null || index >= values.size() ? null : values.get(index);
+            }));
+        }
+        return rows;
+    }
+
+    private List<ParsedRow> parseXlsx(InputStream in) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            DataFormatter formatter = new DataFormatter(Locale.ROOT);
+            Row header = sheet.getRow(sheet.getFirstRowNum());
+            if (header == null) {
+                return List.of();
+            }
+            List<String> headerValues = new ArrayList<>();
+            for (Cell cell : header) {
+                while (headerValues.size() < cell.getColumnIndex()) {
+                    headerValues.add("");
+                }
+                headerValues.add(formatter.formatCellValue(cell));
+            }
+            Map<String, Integer> columns = columnIndex(headerValues);
+
+            List<ParsedRow> rows = new ArrayList<>();
+            for (int i = header.getRowNum() + 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null || isBlank(row, formatter)) {
+                    continue;
+                }
+                rows.add(toRow(i + 1, column -> {
+                    Integer index = columns.get(column);
+                    return index == null ? null : cellText(row.getCell(index), formatter);
+                }));
+            }
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof InvalidRequestException invalid) {
+                throw invalid;
+            }
+            throw new InvalidRequestException("Could not read spreadsheet: " + e.getMessage());
+        }
+    }
+
+    private ParsedRow toRow(int rowNumber, Function<String, String> value) {
+        try {
+            EntryDto entry = new EntryDto();
+            entry.setDate(parseDate(value.apply("date")));
+            entry.setDescription(trimToNull(value.apply("description")));
+            entry.setPersonId(parseLong(value.apply("personid")));
+            entry.setCategoryId(parseLong(value.apply("categoryid")));
+            entry.setWorkHours(parseDecimal(value.apply("workhours")));
+            entry.setAmountPaid(parseDecimal(value.apply("amountpaid")));
+            entry.setAmountDue(parseDecimal(value.apply("amountdue")));
+            return new ParsedRow(rowNumber, entry, null);
+        } catch (DateTimeParseException | ArithmeticException | NumberFormatException e) {
+            return new ParsedRow(rowNumber, null, "Could not parse value: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> columnIndex(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        for (String column : COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidRequestException("Missing column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private String cellText(Cell cell, DataFormatter formatter) {
+        if (cell == null) {
+            return null;
+        }
+        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+            return cell.getLocalDateTimeCellValue().toLocalDate().toString();
+        }
+        if (cell.getCellType() == CellType.NUMERIC) {
+            return BigDecimal.valueOf(cell.getNumericCellValue()).toPlainString();
+        }
+        return formatter.formatCellValue(cell);
+    }
+
+    private boolean isBlank(Row row, DataFormatter formatter) {
+        for (Cell cell : row) {
+            if (!formatter.formatCellValue(cell).isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static LocalDate parseDate(String value) {
+        String text = trimToNull(value);
+        return text == null ? null : LocalDate.parse(text);
+    }
+
+    private static Long parseLong(String value) {
+        String text = trimToNull(value);
+        return text == null ? null : new BigDecimal(text).longValueExact();
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        String text = trimToNull(value);
+        return text == null ? null : new BigDecimal(text);
+    }
+}
@@ -0,0 +1,180 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryImportResult;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Transactional
+public class EntryImportService {
+
+    // id is left to the entries_id_seq default so rows can go out as multi-row batches
+    private static final String INSERT_SQL = "INSERT INTO entries " +
+            "(date, description, person_id, category_id, work_hours, amount_paid, amount_due, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Integer digits allowed by DECIMAL(5,2) and DECIMAL(10,2)
+    private static final int WORK_HOURS_DIGITS = 3;
+    private static final int AMOUNT_DIGITS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCache referenceDataCache;
+    private final EntryRollupService entryRollupService;
+    private final Validator validator;
+    private final EntryImportParser parser = new EntryImportParser();
+    private final int batchSize;
+    private final int maxRows;
+
+    public EntryImportService(JdbcTemplate jdbcTemplate,
+                              ReferenceDataCache referenceDataCache,
+                              EntryRollupService entryRollupService,
+                              Validator validator,
+                              @Value("${import.batch-size:500}") int batchSize,
+                              @Value("${import.max-rows:10000}") int maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.referenceDataCache = referenceDataCache;
+        this.entryRollupService = entryRollupService;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    public EntryImportResult importEntries(List<EntryDto> entries) {
+        List<EntryImportParser.ParsedRow> rows = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            rows.add(new EntryImportParser.ParsedRow(i + 1, entries.get(i), null));
+        }
+        return importRows(rows);
+    }
+
+    public EntryImportResult importFile(String filename, InputStream in) throws IOException {
+        String extension = filename == null || filename.lastIndexOf('.') < 0
+                ? "" : filename.substring(filename.lastIndexOf('.') + 1);
+        ExportFormat format = ExportFormat.fromExtension(extension)
+                .orElseThrow(() -> new InvalidRequestException("Unsupported import format (expected csv or xlsx)"));
+        return importRows(parser.parse(format, in));
+    }
+
+    private EntryImportResult importRows(List<EntryImportParser.ParsedRow> rows) {
+        if (rows.size() > maxRows) {
+            throw new InvalidRequestException("Import is limited to " + maxRows + " rows, got " + rows.size());
+        }
+        EntryImportResult result = new EntryImportResult();
+        result.setTotalRows(rows.size());
+
+        List<EntryImportParser.ParsedRow> candidates = new ArrayList<>(rows.size());
+        for (EntryImportParser.ParsedRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.entry());
+            if (error != null) {
+                result.getErrors().add(new EntryImportResult.RowError(row.row(), error));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        // Ids missing from the reference data cache are checked with one set-based query per table
+        Set<Long> personIds = existing(candidates, EntryDto::getPersonId, referenceDataCache::existingPersonIds);
+        Set<Long> categoryIds = existing(candidates, EntryDto::getCategoryId, referenceDataCache::existingCategoryIds);
+
+        List<EntryDto> valid = new ArrayList<>(candidates.size());
+        for (EntryImportParser.ParsedRow row : candidates) {
+            EntryDto entry = row.entry();
+            if (!personIds.contains(entry.getPersonId())) {
+                result.getErrors().add(new EntryImportResult.RowError(row.row(),
+                        "Person not found with id: " + entry.getPersonId()));
+            } else if (!categoryIds.contains(entry.getCategoryId())) {
+                result.getErrors().add(new EntryImportResult.RowError(row.row(),
+                        "Category not found with id: " + entry.getCategoryId()));
+            } else {
+                valid.add(entry);
+            }
+        }
+
+        insert(valid);
+        entryRollupService.addAll(valid.stream()
+                .map(entry -> new EntryRollupService.Contribution(entry.getDate(), entry.getPersonId(),
+                        entry.getCategoryId(), entry.getWorkHours(), entry.getAmountPaid(), entry.getAmountDue()))
+                .toList());
+
+        result.getErrors().sort(Comparator.comparingInt(EntryImportResult.RowError::row));
+        result.setImportedRows(valid.size());
+        result.setFailedRows(result.getErrors().size());
+        log.info("Imported {} of {} entries ({} rejected)", valid.size(), rows.size(), result.getFailedRows());
+        return result;
+    }
+
+    private void insert(List<EntryDto> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ps.setDate(1, Date.valueOf(entry.getDate()));
+            ps.setString(2, entry.getDescription());
+            ps.setLong(3, entry.getPersonId());
+            ps.setLong(4, entry.getCategoryId());
+            ps.setBigDecimal(5, entry.getWorkHours());
+            ps.setBigDecimal(6, entry.getAmountPaid());
+            ps.setBigDecimal(7, entry.getAmountDue());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    private String validate(EntryDto entry) {
+        if (entry == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<EntryDto>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // Values the columns cannot hold would fail the whole batch, so reject them per row
+        if (!fits(entry.getWorkHours(), WORK_HOURS_DIGITS)) {
+            return "workHours: must be less than 1000";
+        }
+        if (!fits(entry.getAmountPaid(), AMOUNT_DIGITS) || !fits(entry.getAmountDue(), AMOUNT_DIGITS)) {
+            return "amount: must be less than 100000000";
+        }
+        return null;
+    }
+
+    private static boolean fits(BigDecimal value, int integerDigits) {
+        return value == null || value.precision() - value.scale() <= integerDigits;
+    }
+
+    private static Set<Long> existing(List<EntryImportParser.ParsedRow> rows,
+                                      Function<EntryDto, Long> id,
+                                      Function<Set<Long>, Set<Long>> lookup) {
+        Set<Long> ids = new HashSet<>();
+        for (EntryImportParser.ParsedRow row : rows) {
+            ids.add(id.apply(row.entry()));
+        }
+        return ids.isEmpty() ? ids : lookup.apply(ids);
+    }
+}
@@ -0,0 +1,255 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryRollupRow;
+import com.vinodelnya.winery.dto.RollupConsistencyReport;
+import com.vinodelnya.winery.entity.Entry;
+import com.vinodelnya.winery.repository.EntryDailyTotalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@Slf4j
+@Transactional
+public class EntryRollupService {
+
+    private static final int MAX_REPORTED_MISMATCHES = 20;
+
+    // Concurrent first writes to a group must not both insert, so deltas go through an upsert
+    private static final String POSTGRES_UPSERT = "INSERT INTO entry_daily_totals " +
+            "(date, person_id, category_id, entry_count, work_hours, amount_paid, amount_due) " +
+            "VALUES (:date, :personId, :categoryId, :entryCount, :workHours, :amountPaid, :amountDue) " +
+            "ON CONFLICT (date, person_id, category_id) DO UPDATE SET " +
+            "entry_count = entry_daily_totals.entry_count + EXCLUDED.entry_count, " +
+            "work_hours = entry_daily_totals.work_hours + EXCLUDED.work_hours, " +
+            "amount_paid = entry_daily_totals.amount_paid + EXCLUDED.amount_paid, " +
+            "amount_due = entry_daily_totals.amount_due + EXCLUDED.amount_due";
+
+    private static final String MERGE_UPSERT = "MERGE INTO entry_daily_totals t USING (VALUES (" +
+            "CAST(:date AS DATE), CAST(:personId AS BIGINT), CAST(:categoryId AS BIGINT), " +
+            "CAST(:entryCount AS BIGINT), CAST(:workHours AS DECIMAL(14,2)), " +
+            "CAST(:amountPaid AS DECIMAL(14,2)), CAST(:amountDue AS DECIMAL(14,2)))) " +
+            "AS d(d_date, d_person_id, d_category_id, d_entry_count, d_work_hours, d_amount_paid, d_amount_due) " +
+            "ON t.date = d.d_date AND t.person_id = d.d_person_id AND t.category_id = d.d_category_id " +
+            "WHEN MATCHED THEN UPDATE SET entry_count = t.entry_count + d.d_entry_count, " +
+            "work_hours = t.work_hours + d.d_work_hours, amount_paid = t.amount_paid + d.d_amount_paid, " +
+            "amount_due = t.amount_due + d.d_amount_due " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(date, person_id, category_id, entry_count, work_hours, amount_paid, amount_due) " +
+            "VALUES (d.d_date, d.d_person_id, d.d_category_id, d.d_entry_count, d.d_work_hours, " +
+            "d.d_amount_paid, d.d_amount_due)";
+
+    private static final String DELETE_EMPTY = "DELETE FROM entry_daily_totals " +
+            "WHERE date = :date AND person_id = :personId AND category_id = :categoryId AND entry_count <= 0";
+
+    private final EntryDailyTotalRepository rollupRepository;
+    private final ReportCache reportCache;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public EntryRollupService(EntryDailyTotalRepository rollupRepository,
+                              ReportCache reportCache,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              DataSource dataSource) {
+        this.rollupRepository = rollupRepository;
+        this.reportCache = reportCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsert = "PostgreSQL".equals(productName(dataSource)) ? POSTGRES_UPSERT : MERGE_UPSERT;
+    }
+
+    public void add(Contribution contribution) {
+        apply(contribution, 1);
+    }
+
+    // One rollup update per (date, person, category) group instead of one per entry
+    public void addAll(Collection<Contribution> contributions) {
+        Map<RollupKey, EntryRollupRow> grouped = new HashMap<>();
+        for (Contribution contribution : contributions) {
+            grouped.merge(new RollupKey(contribution.date(), contribution.personId(), contribution.categoryId()),
+                    new EntryRollupRow(contribution.date(), contribution.personId(), contribution.categoryId(), 1L,
+                            signed(contribution.workHours(), 1),
+                            signed(contribution.amountPaid(), 1),
+                            signed(contribution.amountDue(), 1)),
+                    (a, b) -> new EntryRollupRow(a.date(), a.personId(), a.categoryId(),
+                            a.entryCount() + b.entryCount(),
+                            a.workHours().add(b.workHours()),
+                            a.amountPaid().add(b.amountPaid()),
+                            a.amountDue().add(b.amountDue())));
+        }
+        // Every group only grows here, so nothing can drop to zero and need deleting
+        List<MapSqlParameterSource> batch = new ArrayList<>(grouped.size());
+        for (EntryRollupRow row : grouped.values()) {
+            reportCache.invalidate(ReportCache.Region.ENTRIES, row.date(), row.personId(), row.categoryId());
+            batch.add(delta(row.date(), row.personId(), row.categoryId(), row.entryCount(),
+                    row.workHours(), row.amountPaid(), row.amountDue()));
+        }
+        jdbcTemplate.batchUpdate(upsert, batch.toArray(MapSqlParameterSource[]::new));
+    }
+
+    public void remove(Contribution contribution) {
+        apply(contribution, -1);
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        if (before.sameGroup(after)) {
+            applyDelta(after.date(), after.personId(), after.categoryId(), 0,
+                    difference(after.workHours(), before.workHours()),
+                    difference(after.amountPaid(), before.amountPaid()),
+                    difference(after.amountDue(), before.amountDue()));
+        } else {
+            remove(before);
+            add(after);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> calculateTotals(LocalDate dateFrom, LocalDate dateTo,
+                                                  Long personId, Long categoryId) {
+        return reportCache.get(
+                new ReportCache.Key(ReportCache.Region.ENTRIES, "totals", dateFrom, dateTo, personId, categoryId),
+                () -> Map.copyOf(rollupRepository.calculateTotals(dateFrom, dateTo, personId, categoryId)));
+    }
+
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+        int groups = rollupRepository.backfillFromEntries();
+        reportCache.invalidateAll(ReportCache.Region.ENTRIES);
+        log.info("Rebuilt entry rollup with {} groups", groups);
+        return groups;
+    }
+
+    @Transactional(readOnly = true)
+    public RollupConsistencyReport checkConsistency() {
+        Map<RollupKey, EntryRollupRow> rollup = index(rollupRepository.findAllRows());
+        Map<RollupKey, EntryRollupRow> scanned = index(rollupRepository.scanEntries());
+
+        RollupConsistencyReport report = new RollupConsistencyReport();
+        report.setCheckedAt(LocalDateTime.now());
+        report.setRollupGroups(rollup.size());
+        report.setScannedGroups(scanned.size());
+
+        Set<RollupKey> keys = new HashSet<>(rollup.keySet());
+        keys.addAll(scanned.keySet());
+        int mismatched = 0;
+        for (RollupKey key : keys) {
+            EntryRollupRow expected = scanned.get(key);
+            EntryRollupRow actual = rollup.get(key);
+            if (!sameTotals(expected, actual)) {
+                mismatched++;
+                if (report.getMismatches().size() < MAX_REPORTED_MISMATCHES) {
+                    report.getMismatches().add(key + ": expected " + expected + " but rollup has " + actual);
+                }
+            }
+        }
+        report.setMismatchedGroups(mismatched);
+        report.setConsistent(mismatched == 0);
+
+        if (mismatched > 0) {
+            log.warn("Entry rollup is inconsistent: {} mismatched groups", mismatched);
+        }
+        return report;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        applyDelta(contribution.date(), contribution.personId(), contribution.categoryId(), sign,
+                signed(contribution.workHours(), sign),
+                signed(contribution.amountPaid(), sign),
+                signed(contribution.amountDue(), sign));
+    }
+
+    private void applyDelta(LocalDate date, Long personId, Long categoryId, long countDelta,
+                            BigDecimal workHours, BigDecimal amountPaid, BigDecimal amountDue) {
+        reportCache.invalidate(ReportCache.Region.ENTRIES, date, personId, categoryId);
+        MapSqlParameterSource params = delta(date, personId, categoryId, countDelta, workHours, amountPaid, amountDue);
+        jdbcTemplate.update(upsert, params);
+        if (countDelta <= 0) {
+            jdbcTemplate.update(DELETE_EMPTY, params);
+        }
+    }
+
+    private static MapSqlParameterSource delta(LocalDate date, Long personId, Long categoryId, long countDelta,
+                                               BigDecimal workHours, BigDecimal amountPaid, BigDecimal amountDue) {
+        return new MapSqlParameterSource()
+                .addValue("date", date)
+                .addValue("personId", personId)
+                .addValue("categoryId", categoryId)
+                .addValue("entryCount", countDelta)
+                .addValue("workHours", workHours)
+                .addValue("amountPaid", amountPaid)
+                .addValue("amountDue", amountDue);
+    }
+
+    private BigDecimal signed(BigDecimal value, int sign) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return sign < 0 ? value.negate() : value;
+    }
+
+    private BigDecimal difference(BigDecimal after, BigDecimal before) {
+        return signed(after, 1).subtract(signed(before, 1));
+    }
+
+    private Map<RollupKey, EntryRollupRow> index(List<EntryRollupRow> rows) {
+        Map<RollupKey, EntryRollupRow> indexed = new HashMap<>(rows.size() * 2);
+        for (EntryRollupRow row : rows) {
+            indexed.put(new RollupKey(row.date(), row.personId(), row.categoryId()), row);
+        }
+        return indexed;
+    }
+
+    private boolean sameTotals(EntryRollupRow expected, EntryRollupRow actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        return Objects.equals(expected.entryCount(), actual.entryCount())
+                && expected.workHours().compareTo(actual.workHours()) == 0
+                && expected.amountPaid().compareTo(actual.amountPaid()) == 0
+                && expected.amountDue().compareTo(actual.amountDue()) == 0;
+    }
+
+    private static String productName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, the entry rollup will use MERGE", e);
+            return null;
+        }
+    }
+
+    private record RollupKey(LocalDate date, Long personId, Long categoryId) {
+    }
+
+    public record Contribution(LocalDate date, Long personId, Long categoryId,
+                               BigDecimal workHours, BigDecimal amountPaid, BigDecimal amountDue) {
+
+        public static Contribution of(Entry entry) {
+            return new Contribution(entry.getDate(), entry.getPerson().getId(), entry.getCategory().getId(),
+                    entry.getWorkHours(), entry.getAmountPaid(), entry.getAmountDue());
+        }
+
+        boolean sameGroup(Contribution other) {
+            return Objects.equals(date, other.date)
+                    && Objects.equals(personId, other.personId)
+                    && Objects.equals(categoryId, other.categoryId);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.vinodelnya.winery.service;
 
 import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryPageTotals;
 import com.vinodelnya.winery.dto.PageResponse;
 import com.vinodelnya.winery.entity.Category;
 import com.vinodelnya.winery.entity.Entry;
@@ -10,14 +11,23 @@ import com.vinodelnya.winery.mapper.EntryMapper;
 import com.vinodelnya.winery.repository.CategoryRepository;
 import com.vinodelnya.winery.repository.EntryRepository;
 import com.vinodelnya.winery.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Service
@@ -25,46 +35,107 @@ import java.util.Map;
 @Transactional
 public class EntryService {
 
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "e.id",
+            "date", "e.date",
+            "description", "e.description",
+            "personName", "p.name",
+            "categoryName", "c.name",
+            "workHours", "e.work_hours",
+            "amountPaid", "e.amount_paid",
+            "amountDue", "e.amount_due",
+            "createdAt", "e.created_at");
+
+    private static final Map<String, String> TOTAL_COLUMNS = Map.of(
+            "amountPaid", "amount_paid",
+            "amountDue", "amount_due",
+            "workHours", "work_hours");
+
     private final EntryRepository entryRepository;
     private final PersonRepository personRepository;
     private final CategoryRepository categoryRepository;
     private final EntryMapper entryMapper;
+    private final EntryRollupService entryRollupService;
+    private final ReferenceDataCache referenceDataCache;
+    private final EntityManager entityManager;
 
     public PageResponse<EntryDto> findAll(LocalDate dateFrom, LocalDate dateTo, 
                                          Long personId, Long categoryId, String description, 
                                          Pageable pageable) {
-        // Use simple findAll for now to avoid PostgreSQL parameter issues
-        Page<Entry> page;
-        if (dateFrom == null && dateTo == null && personId == null && categoryId == null) {
-            page = entryRepository.findAll(pageable);
+        // Rows and count in one statement; the names come from the join, so the lazy person/category
+        // stay uninitialized. Grand totals come from the cached rollup unless the description filter
+        // is set, which the rollup cannot apply; only then are they summed over every matching row.
+        String descriptionPattern = descriptionPattern(description);
+        WindowedListQuery.Result result = new WindowedListQuery(
+                "e.*, p.name AS person_name, c.name AS category_name",
+                "entries e JOIN persons p ON p.id = e.person_id JOIN categories c ON c.id = e.category_id",
+                descriptionPattern != null ? TOTAL_COLUMNS : Map.of())
+                .filter("e.date >= :dateFrom", "dateFrom", dateFrom)
+                .filter("e.date <= :dateTo", "dateTo", dateTo)
+                .filter("e.person_id = :personId", "personId", personId)
+                .filter("e.category_id = :categoryId", "categoryId", categoryId)
+                .filter("LOWER(e.description) LIKE :description", "description", descriptionPattern)
+                .fetch(entityManager, Entry.class, List.of("person_name", "category_name"),
+                        WindowedListQuery.orderBy(pageable.getSort(), SORT_COLUMNS, "Entries"),
+                        pageable.getOffset(), pageable.getPageSize());
+
+        List<Entry> entries = new ArrayList<>(result.rows().size());
+        List<EntryDto> content = new ArrayList<>(result.rows().size());
+        for (Object[] row : result.rows()) {
+            Entry entry = (Entry) row[0];
+            EntryDto dto = entryMapper.toDtoWithoutNames(entry);
+            dto.setPersonName((String) row[1]);
+            dto.setCategoryName((String) row[2]);
+            entries.add(entry);
+            content.add(dto);
+        }
+        Page<EntryDto> page = new PageImpl<>(content, pageable, result.total());
+        PageResponse<EntryDto> response = new PageResponse<>(page.getContent(), page.getTotalElements(),
+                page.getTotalPages(), page.getNumber(), page.getSize(), page.isFirst(), page.isLast());
+        response.setPageTotal(calculatePageTotals(entries));
+
+        if (descriptionPattern == null) {
+            response.setGrandTotal(entryRollupService.calculateTotals(dateFrom, dateTo, personId, categoryId));
         } else {
-            page = entryRepository.findWithFilters(dateFrom, dateTo, personId, categoryId, pageable);
+            Map<String, BigDecimal> grandTotal = new HashMap<>(result.totals());
+            grandTotal.put("total", grandTotal.get("amountPaid").add(grandTotal.get("amountDue")));
+            response.setGrandTotal(grandTotal);
         }
+        return response;
+    }
+
+    public PageResponse<EntryDto> findAllAfter(LocalDate dateFrom, LocalDate dateTo,
+                                              Long personId, Long categoryId, String description,
+                                              String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        String descriptionPattern = descriptionPattern(description);
+        Slice<Entry> slice = entryRepository.findSliceWithFilters(dateFrom, dateTo, personId, categoryId,
+                descriptionPattern,
+                cursor != null ? cursor.dateKey() : null,
+                cursor != null ? cursor.id() : null,
+                PageRequest.ofSize(size));
         
-        PageResponse<EntryDto> response = createPageResponse(page);
-        
-        // Calculate page totals
-        Map<String, BigDecimal> pageTotal = calculatePageTotals(page.getContent());
-        response.setPageTotal(pageTotal);
-        
-        // Calculate grand totals
-        Map<String, BigDecimal> grandTotal;
-        if (dateFrom == null && dateTo == null && personId == null && categoryId == null) {
-            grandTotal = calculateAllTotals();
-        } else {
-            Map<String, BigDecimal> rawTotals = entryRepository.calculateTotals(dateFrom, dateTo, personId, categoryId);
-            // Normalize keys to camelCase for frontend compatibility
-            grandTotal = normalizeMapKeys(rawTotals);
+        List<Entry> entries = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Entry last = entries.get(entries.size() - 1);
+            nextCursor = KeysetCursor.of(last.getDate(), last.getId()).encode();
         }
-        response.setGrandTotal(grandTotal);
         
+        PageResponse<EntryDto> response = PageResponse.ofSlice(
+                entries.stream().map(this::toDto).toList(), size, cursor == null, nextCursor);
+        response.setPageTotal(calculatePageTotals(entries));
+        // The rollup has no descriptions, so that filter is summed over the entries themselves
+        response.setGrandTotal(descriptionPattern == null
+                ? entryRollupService.calculateTotals(dateFrom, dateTo, personId, categoryId)
+                : entryRepository.calculateTotals(dateFrom, dateTo, personId, categoryId, descriptionPattern));
         return response;
     }
 
     public EntryDto findById(Long id) {
         Entry entry = entryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Entry not found with id: " + id));
-        return entryMapper.toDto(entry);
+        return toDto(entry);
     }
 
     public EntryDto create(EntryDto entryDto) {
@@ -75,7 +146,8 @@ public class EntryService {
         entry.setCategory(categoryRepository.getReferenceById(entryDto.getCategoryId()));
         
         entry = entryRepository.save(entry);
-        return entryMapper.toDto(entry);
+        entryRollupService.add(EntryRollupService.Contribution.of(entry));
+        return toDto(entry);
     }
 
     public EntryDto update(Long id, EntryDto entryDto) {
@@ -84,97 +156,54 @@ public class EntryService {
         
         validateReferences(entryDto.getPersonId(), entryDto.getCategoryId());
         
+        // Capture the old values for the rollup before they are overwritten
+        EntryRollupService.Contribution before = EntryRollupService.Contribution.of(existingEntry);
+        
         entryMapper.updateEntity(entryDto, existingEntry);
         existingEntry.setPerson(personRepository.getReferenceById(entryDto.getPersonId()));
         existingEntry.setCategory(categoryRepository.getReferenceById(entryDto.getCategoryId()));
         
         existingEntry = entryRepository.save(existingEntry);
-        return entryMapper.toDto(existingEntry);
+        entryRollupService.replace(before, EntryRollupService.Contribution.of(existingEntry));
+        return toDto(existingEntry);
     }
 
     public void delete(Long id) {
-        if (!entryRepository.existsById(id)) {
-            throw new EntityNotFoundException("Entry not found with id: " + id);
-        }
-        entryRepository.deleteById(id);
+        Entry entry = entryRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Entry not found with id: " + id));
+        entryRollupService.remove(EntryRollupService.Contribution.of(entry));
+        entryRepository.delete(entry);
+    }
+
+    static String descriptionPattern(String description) {
+        return StringUtils.hasText(description)
+                ? WindowedListQuery.containsPattern(description.trim().toLowerCase(Locale.ROOT)) : null;
     }
 
     private void validateReferences(Long personId, Long categoryId) {
-        if (!personRepository.existsById(personId)) {
+        if (!referenceDataCache.personExists(personId)) {
             throw new EntityNotFoundException("Person not found with id: " + personId);
         }
-        if (!categoryRepository.existsById(categoryId)) {
+        if (!referenceDataCache.categoryExists(categoryId)) {
             throw new EntityNotFoundException("Category not found with id: " + categoryId);
         }
     }
 
-    private PageResponse<EntryDto> createPageResponse(Page<Entry> page) {
-        return new PageResponse<>(
-                page.getContent().stream().map(entryMapper::toDto).toList(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.getNumber(),
-                page.getSize(),
-                page.isFirst(),
-                page.isLast()
-        );
+    private EntryDto toDto(Entry entry) {
+        EntryDto dto = entryMapper.toDtoWithoutNames(entry);
+        // Not cached yet (e.g. created in this transaction): read the names from the entities
+        return referenceDataCache.enrich(dto) ? dto : entryMapper.toDto(entry);
     }
 
-    private Map<String, BigDecimal> calculatePageTotals(java.util.List<Entry> entries) {
-        BigDecimal amountPaid = entries.stream()
-                .map(Entry::getAmountPaid)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal amountDue = entries.stream()
-                .map(Entry::getAmountDue)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal workHours = entries.stream()
-                .map(Entry::getWorkHours)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return Map.of(
-                "amountPaid", amountPaid,
-                "amountDue", amountDue,
-                "total", amountPaid.add(amountDue),
-                "workHours", workHours
-        );
-    }
-    
-    private Map<String, BigDecimal> calculateAllTotals() {
-        java.util.List<Entry> allEntries = entryRepository.findAll();
-        return calculatePageTotals(allEntries);
-    }
-    
-    private Map<String, BigDecimal> normalizeMapKeys(Map<String, BigDecimal> map) {
-        if (map == null) return null;
-        
-        Map<String, BigDecimal> normalized = new java.util.HashMap<>();
-        for (Map.Entry<String, BigDecimal> entry : map.entrySet()) {
-            String key = entry.getKey().toLowerCase();
-            BigDecimal value = entry.getValue();
-            
-            // Convert database column names to camelCase
-            switch (key) {
-                case "amountpaid":
-                    normalized.put("amountPaid", value);
-                    break;
-                case "amountdue":
-                    normalized.put("amountDue", value);
-                    break;
-                case "workhours":
-                    normalized.put("workHours", value);
-                    break;
-                case "total":
-                    normalized.put("total", value);
-                    break;
-                default:
-                    normalized.put(key, value);
-            }
+    private static EntryPageTotals calculatePageTotals(List<Entry> entries) {
+        TotalsAccumulator totals = new TotalsAccumulator(3);
+        for (Entry entry : entries) {
+            totals.add(0, entry.getAmountPaid());
+            totals.add(1, entry.getAmountDue());
+            totals.add(2, entry.getWorkHours());
         }
-        return normalized;
+        BigDecimal amountPaid = totals.total(0);
+        BigDecimal amountDue = totals.total(1);
+        return new EntryPageTotals(amountPaid, amountDue, amountPaid.add(amountDue), totals.total(2));
     }
-}
\ No newline at end of file
+}
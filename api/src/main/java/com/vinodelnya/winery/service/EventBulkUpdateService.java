@@ -0,0 +1,152 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EventBulkUpdateResult;
+import com.vinodelnya.winery.entity.Event;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Month-end style changes to many events as one set-based UPDATE each. Bulk updates skip the
+// entity callbacks, so every statement recomputes lunchAndTastingTotal and grandTotal the same
+// way Event.calculateTotals does.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EventBulkUpdateService {
+
+    static final int MAX_IDS = 1000;
+
+    private static final int MAX_SHIFT_DAYS = 366;
+
+    private static final String STORED_LUNCH_TOTAL = "COALESCE(e.lunchTotal, 0)";
+    private static final String STORED_TASTING_TOTAL = "COALESCE(e.tastingTotal, 0)";
+    private static final String PRICED_LUNCH_TOTAL = "COALESCE(e.lunchGroupSize, 0) * :lunchPrice";
+    private static final String PRICED_TASTING_TOTAL = "COALESCE(e.tastingGroupSize, 0) * :tastingPrice";
+
+    private final EntityManager entityManager;
+    private final EventRepository eventRepository;
+    private final ReportCache reportCache;
+    private final KitchenForecastService kitchenForecastService;
+
+    public EventBulkUpdateResult setInvoiceIssued(List<Long> ids, Boolean invoiceIssued) {
+        if (invoiceIssued == null) {
+            throw new InvalidRequestException("invoiceIssued is required");
+        }
+        return update(ids, List.of("e.invoiceIssued = :invoiceIssued"), Map.of("invoiceIssued", invoiceIssued),
+                STORED_LUNCH_TOTAL, STORED_TASTING_TOTAL, 0);
+    }
+
+    // Prices the lunch and/or tasting at a per-person special rate for their group sizes
+    public EventBulkUpdateResult applySpecialPrice(List<Long> ids, BigDecimal lunchPrice, BigDecimal tastingPrice) {
+        if (lunchPrice == null && tastingPrice == null) {
+            throw new InvalidRequestException("A special lunch or tasting price is required");
+        }
+        if ((lunchPrice != null && lunchPrice.signum() < 0) || (tastingPrice != null && tastingPrice.signum() < 0)) {
+            throw new InvalidRequestException("Special prices must not be negative");
+        }
+        List<String> assignments = new ArrayList<>(List.of("e.specialPriceEnabled = true"));
+        Map<String, Object> params = new HashMap<>();
+        if (lunchPrice != null) {
+            assignments.add("e.specialLunchPrice = :lunchPrice");
+            assignments.add("e.lunchRate = :lunchPrice");
+            assignments.add("e.lunchTotal = " + PRICED_LUNCH_TOTAL);
+            params.put("lunchPrice", lunchPrice);
+        }
+        if (tastingPrice != null) {
+            assignments.add("e.specialTastingPrice = :tastingPrice");
+            assignments.add("e.tastingRate = :tastingPrice");
+            assignments.add("e.tastingTotal = " + PRICED_TASTING_TOTAL);
+            params.put("tastingPrice", tastingPrice);
+        }
+        return update(ids, assignments, params,
+                lunchPrice != null ? PRICED_LUNCH_TOTAL : STORED_LUNCH_TOTAL,
+                tastingPrice != null ? PRICED_TASTING_TOTAL : STORED_TASTING_TOTAL, 0);
+    }
+
+    public EventBulkUpdateResult shiftVisitDate(List<Long> ids, Integer days) {
+        if (days == null || days == 0 || Math.abs(days) > MAX_SHIFT_DAYS) {
+            throw new InvalidRequestException("days must be between -" + MAX_SHIFT_DAYS + " and " + MAX_SHIFT_DAYS
+                    + " and not 0");
+        }
+        return update(ids, List.of("e.visitDate = e.visitDate + :days day"), Map.of("days", days),
+                STORED_LUNCH_TOTAL, STORED_TASTING_TOTAL, days);
+    }
+
+    private EventBulkUpdateResult update(List<Long> ids, List<String> assignments, Map<String, Object> params,
+                                         String lunchTotal, String tastingTotal, int shiftedDays) {
+        Set<Long> distinct = validate(ids);
+        String lunchAndTasting = lunchTotal + " + " + tastingTotal;
+        // SET expressions see the old row, so the new line totals are spelled out again here
+        Query update = entityManager.createQuery("UPDATE Event e SET " + String.join(", ", assignments)
+                + ", e.lunchAndTastingTotal = " + lunchAndTasting
+                + ", e.grandTotal = " + lunchAndTasting + " + COALESCE(e.addedWinesValue, 0) + COALESCE(e.extraChargeAmount, 0)"
+                + ", e.updatedAt = :now WHERE e.id IN :ids");
+        params.forEach(update::setParameter);
+        update.setParameter("now", LocalDateTime.now());
+        update.setParameter("ids", distinct);
+
+        // Pending changes go out first; managed copies are stale afterwards
+        entityManager.flush();
+        int updated = update.executeUpdate();
+        entityManager.clear();
+
+        Map<Long, Event> events = eventRepository.findAllById(distinct).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        EventBulkUpdateResult result = new EventBulkUpdateResult();
+        result.setRequested(distinct.size());
+        result.setUpdated(updated);
+        Set<LocalDate> dates = new HashSet<>();
+        for (Long id : distinct) {
+            Event event = events.get(id);
+            if (event == null) {
+                result.getNotFound().add(id);
+                continue;
+            }
+            result.getResults().add(new EventBulkUpdateResult.Item(id, event.getVisitDate(),
+                    event.getInvoiceIssued(), event.getGrandTotal()));
+            dates.add(event.getVisitDate());
+            if (shiftedDays != 0) {
+                LocalDate previousDate = event.getVisitDate().minusDays(shiftedDays);
+                dates.add(previousDate);
+                KitchenForecastService.Contribution after = KitchenForecastService.Contribution.of(event);
+                kitchenForecastService.replace(new KitchenForecastService.Contribution(previousDate, after.slot()), after);
+            }
+        }
+        dates.forEach(date -> reportCache.invalidate(ReportCache.Region.EVENTS, date, null, null));
+        log.info("Bulk updated {} of {} events", updated, distinct.size());
+        return result;
+    }
+
+    private static Set<Long> validate(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("At least one event id is required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new InvalidRequestException("Event ids must not be null");
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new InvalidRequestException("Bulk updates are limited to " + MAX_IDS + " events, got " + distinct.size());
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,348 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.entity.Event;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// The events list: every filter, the page, its count and the grand totals in one statement.
+// Company and contact name search on PostgreSQL matches with pg_trgm (ILIKE and the <% word similarity
+// operator, both served by the GIN indexes from V9); other databases use an in-memory trigram index
+// that is built on first use and kept current by EventService.
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class EventSearchService {
+
+    // Same as the pg_trgm.word_similarity_threshold default
+    static final double FUZZY_THRESHOLD = 0.6;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "e.id",
+            "visitDate", "e.visit_date",
+            "visitTime", "e.visit_time",
+            "company", "e.company",
+            "contactName", "e.contact_name",
+            "grandTotal", "e.grand_total",
+            "invoiceIssued", "e.invoice_issued",
+            "createdAt", "e.created_at");
+
+    private static final Map<String, String> TOTAL_COLUMNS = Map.of(
+            "lunchTotal", "lunch_total",
+            "tastingTotal", "tasting_total",
+            "addedWinesValue", "added_wines_value",
+            "extraChargeAmount", "extra_charge_amount",
+            "grandTotal", "grand_total");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final boolean postgres;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile MemoryIndex memoryIndex;
+    // Transactions that changed the index and have not completed yet
+    private int openWriters;
+
+    public EventSearchService(NamedParameterJdbcTemplate jdbcTemplate,
+                              EntityManager entityManager,
+                              DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.postgres = "PostgreSQL".equals(productName(dataSource));
+    }
+
+    // Fuzzy adds rows similar to the terms and ranks by similarity before the requested sort.
+    // The page comes back with the count and grand totals of every row the filters match.
+    public EventPage search(LocalDate dateFrom, LocalDate dateTo, String company, String contactName,
+                            Boolean specialPrice, Boolean masterclass, Boolean invoiceIssued,
+                            boolean fuzzy, Pageable pageable) {
+        WindowedListQuery query = filtered(dateFrom, dateTo, specialPrice, masterclass, invoiceIssued);
+        String orderBy = WindowedListQuery.orderBy(pageable.getSort(), SORT_COLUMNS, "Events");
+        boolean searching = StringUtils.hasText(company) || StringUtils.hasText(contactName);
+        if (postgres || !searching) {
+            List<String> scores = new ArrayList<>();
+            appendTrigramMatch(query, scores, "company", company, fuzzy);
+            appendTrigramMatch(query, scores, "contact_name", contactName, fuzzy);
+            if (fuzzy && !scores.isEmpty()) {
+                orderBy = String.join(" + ", scores) + " DESC, " + orderBy;
+            }
+            return page(query.fetch(entityManager, Event.class, List.of(), orderBy,
+                    pageable.getOffset(), pageable.getPageSize()), pageable);
+        }
+
+        Map<Long, Double> scores = memoryMatches(company, contactName, fuzzy);
+        if (scores.isEmpty()) {
+            return page(query.empty(), pageable);
+        }
+        query.where("e.id IN (:ids)").param("ids", scores.keySet());
+        if (!fuzzy) {
+            return page(query.fetch(entityManager, Event.class, List.of(), orderBy,
+                    pageable.getOffset(), pageable.getPageSize()), pageable);
+        }
+        // Ranked in memory: the stable sort keeps the requested order among equal scores
+        WindowedListQuery.Result all = query.fetch(entityManager, Event.class, List.of(), orderBy, 0, -1);
+        List<Object[]> rows = new ArrayList<>(all.rows());
+        rows.sort(Comparator.comparing(row -> scores.get(((Event) row[0]).getId()), Comparator.reverseOrder()));
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return page(new WindowedListQuery.Result(rows.subList(from, to), all.total(), all.totals()), pageable);
+    }
+
+    // Cursor pages in (visitDate, id) descending order. Fuzzy ranking would break that order, so terms
+    // match as substrings only; the grand totals cover every row the filters match.
+    public EventSlice searchAfter(LocalDate dateFrom, LocalDate dateTo, String company, String contactName,
+                                  Boolean specialPrice, Boolean masterclass, Boolean invoiceIssued,
+                                  LocalDate afterDate, Long afterId, int size) {
+        WindowedListQuery query = filtered(dateFrom, dateTo, specialPrice, masterclass, invoiceIssued);
+        SearchCondition search = condition(company, contactName);
+        if (search == null) {
+            throw new InvalidRequestException("A company or contact name search term is required");
+        }
+        query.where(search.sql());
+        search.params().forEach(query::param);
+
+        Map<String, BigDecimal> grandTotal = query.aggregate(entityManager).totals();
+        if (afterDate != null) {
+            query.where("(e.visit_date < :afterDate OR (e.visit_date = :afterDate AND e.id < :afterId))")
+                    .param("afterDate", afterDate)
+                    .param("afterId", afterId);
+        }
+        List<Event> events = new ArrayList<>(query.list(entityManager, Event.class,
+                "e.visit_date DESC, e.id DESC", size + 1));
+        boolean hasNext = events.size() > size;
+        if (hasNext) {
+            events.remove(size);
+        }
+        return new EventSlice(new SliceImpl<>(events, PageRequest.ofSize(size), hasNext), grandTotal);
+    }
+
+    // The company and contact name terms as a substring condition on events aliased "e", for statements
+    // built elsewhere such as the export; null when neither term is set
+    public SearchCondition condition(String company, String contactName) {
+        if (!StringUtils.hasText(company) && !StringUtils.hasText(contactName)) {
+            return null;
+        }
+        Map<String, Object> params = new HashMap<>();
+        if (postgres) {
+            List<String> conditions = new ArrayList<>();
+            appendSubstringMatch(conditions, params, "company", company);
+            appendSubstringMatch(conditions, params, "contact_name", contactName);
+            return new SearchCondition(String.join(" AND ", conditions), params);
+        }
+        Map<Long, Double> matches = memoryMatches(company, contactName, false);
+        if (matches.isEmpty()) {
+            return new SearchCondition("1 = 0", params);
+        }
+        params.put("searchIds", matches.keySet());
+        return new SearchCondition("e.id IN (:searchIds)", params);
+    }
+
+    // Keeps the in-memory index current; an aborted transaction discards it instead
+    public void indexed(Event event) {
+        if (!postgres) {
+            update(index -> index.put(event));
+        }
+    }
+
+    public void removed(Long id) {
+        if (!postgres) {
+            update(index -> index.remove(id));
+        }
+    }
+
+    // For writes that bypass EventService
+    public void invalidate() {
+        if (!postgres) {
+            synchronized (this) {
+                generation.incrementAndGet();
+                memoryIndex = null;
+            }
+        }
+    }
+
+    private static WindowedListQuery filtered(LocalDate dateFrom, LocalDate dateTo, Boolean specialPrice,
+                                              Boolean masterclass, Boolean invoiceIssued) {
+        return new WindowedListQuery("e.*", "events e", TOTAL_COLUMNS)
+                .filter("e.visit_date >= :dateFrom", "dateFrom", dateFrom)
+                .filter("e.visit_date <= :dateTo", "dateTo", dateTo)
+                .filter("e.special_price_enabled = :specialPrice", "specialPrice", specialPrice)
+                .filter("e.masterclass = :masterclass", "masterclass", masterclass)
+                .filter("e.invoice_issued = :invoiceIssued", "invoiceIssued", invoiceIssued);
+    }
+
+    private static EventPage page(WindowedListQuery.Result result, Pageable pageable) {
+        List<Event> events = result.rows().stream().map(row -> (Event) row[0]).toList();
+        return new EventPage(new PageImpl<>(events, pageable, result.total()), result.totals());
+    }
+
+    private Map<Long, Double> memoryMatches(String company, String contactName, boolean fuzzy) {
+        MemoryIndex index = memoryIndex();
+        Map<Long, Double> matches = null;
+        if (company != null && !company.isBlank()) {
+            matches = index.company().search(company, fuzzy, FUZZY_THRESHOLD);
+        }
+        if (contactName != null && !contactName.isBlank()) {
+            Map<Long, Double> contacts = index.contactName().search(contactName, fuzzy, FUZZY_THRESHOLD);
+            if (matches == null) {
+                matches = contacts;
+            } else {
+                // Both terms must match; scores add up like the SQL ranking
+                Map<Long, Double> both = new HashMap<>();
+                for (Map.Entry<Long, Double> match : matches.entrySet()) {
+                    Double score = contacts.get(match.getKey());
+                    if (score != null) {
+                        both.put(match.getKey(), match.getValue() + score);
+                    }
+                }
+                matches = both;
+            }
+        }
+        if (matches == null) {
+            throw new InvalidRequestException("A company or contact name search term is required");
+        }
+        return matches;
+    }
+
+    private MemoryIndex memoryIndex() {
+        MemoryIndex index = memoryIndex;
+        if (index == null) {
+            long loadedAt;
+            boolean shareable;
+            synchronized (this) {
+                loadedAt = generation.get();
+                // Rows of another open transaction are invisible to this load and would go missing once it commits
+                shareable = openWriters == (writing() ? 1 : 0);
+            }
+            MemoryIndex loaded = new MemoryIndex(new NgramIndex(), new NgramIndex());
+            jdbcTemplate.query("SELECT id, company, contact_name FROM events", rs -> {
+                long id = rs.getLong(1);
+                loaded.company().put(id, rs.getString(2));
+                loaded.contactName().put(id, rs.getString(3));
+            });
+            synchronized (this) {
+                // A write that happened while loading may be missing from the snapshot
+                if (shareable && generation.get() == loadedAt) {
+                    memoryIndex = loaded;
+                }
+            }
+            log.debug("Loaded {} events into the search index", loaded.company().size());
+            index = loaded;
+        }
+        return index;
+    }
+
+    private void update(Consumer<MemoryIndex> change) {
+        synchronized (this) {
+            generation.incrementAndGet();
+            MemoryIndex index = memoryIndex;
+            if (index != null) {
+                change.accept(index);
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive() && !writing()) {
+                openWriters++;
+                TransactionSynchronizationManager.registerSynchronization(new PendingWrite());
+            }
+        }
+    }
+
+    // Whether the current transaction has changed the index
+    private boolean writing() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof PendingWrite);
+    }
+
+    private static void appendSubstringMatch(List<String> conditions, Map<String, Object> params,
+                                             String column, String term) {
+        if (StringUtils.hasText(term)) {
+            conditions.add("e." + column + " ILIKE :" + column + "Pattern");
+            params.put(column + "Pattern", WindowedListQuery.containsPattern(term.trim()));
+        }
+    }
+
+    private static void appendTrigramMatch(WindowedListQuery query, List<String> scores,
+                                           String column, String term, boolean fuzzy) {
+        if (!StringUtils.hasText(term)) {
+            return;
+        }
+        String value = term.trim();
+        query.param(column, value).param(column + "Pattern", WindowedListQuery.containsPattern(value));
+        if (fuzzy) {
+            query.where("(e." + column + " ILIKE :" + column + "Pattern OR :" + column + " <% e." + column + ")");
+            scores.add("word_similarity(:" + column + ", e." + column + ")");
+        } else {
+            query.where("e." + column + " ILIKE :" + column + "Pattern");
+        }
+    }
+
+    private static String productName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, event search will use the in-memory index", e);
+            return null;
+        }
+    }
+
+    public record EventPage(Page<Event> page, Map<String, BigDecimal> grandTotal) {
+    }
+
+    public record EventSlice(Slice<Event> slice, Map<String, BigDecimal> grandTotal) {
+    }
+
+    public record SearchCondition(String sql, Map<String, Object> params) {
+    }
+
+    // Keeps loads from being cached while the transaction is open; an aborted transaction discards the index
+    private final class PendingWrite implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            synchronized (EventSearchService.this) {
+                openWriters--;
+            }
+            if (status != STATUS_COMMITTED) {
+                invalidate();
+            }
+        }
+    }
+
+    private record MemoryIndex(NgramIndex company, NgramIndex contactName) {
+
+        void put(Event event) {
+            company.put(event.getId(), event.getCompany());
+            contactName.put(event.getId(), event.getContactName());
+        }
+
+        void remove(Long id) {
+            company.remove(id);
+            contactName.remove(id);
+        }
+    }
+}
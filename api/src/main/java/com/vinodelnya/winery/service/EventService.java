@@ -1,19 +1,28 @@
 package com.vinodelnya.winery.service;
 
+import com.vinodelnya.winery.dto.EventCalendarDay;
 import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.EventPageTotals;
 import com.vinodelnya.winery.dto.PageResponse;
 import com.vinodelnya.winery.entity.Event;
 import com.vinodelnya.winery.exception.EntityNotFoundException;
+import com.vinodelnya.winery.exception.InvalidRequestException;
 import com.vinodelnya.winery.mapper.EventMapper;
 import com.vinodelnya.winery.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -21,28 +30,89 @@ import java.util.Map;
 @Transactional
 public class EventService {
 
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final ReportCache reportCache;
+    private final EventSearchService eventSearchService;
+    private final KitchenForecastService kitchenForecastService;
 
     public PageResponse<EventDto> findAll(LocalDate dateFrom, LocalDate dateTo, 
                                          String company, String contactName, 
                                          Boolean specialPrice, Boolean masterclass, 
                                          Boolean invoiceIssued, Pageable pageable) {
-        Page<Event> page = eventRepository.findWithFilters(dateFrom, dateTo, specialPrice, 
-                                                          masterclass, invoiceIssued, pageable);
-        PageResponse<EventDto> response = createPageResponse(page);
+        return findAll(dateFrom, dateTo, company, contactName, specialPrice, masterclass, invoiceIssued,
+                false, pageable);
+    }
+
+    public PageResponse<EventDto> findAll(LocalDate dateFrom, LocalDate dateTo,
+                                         String company, String contactName,
+                                         Boolean specialPrice, Boolean masterclass,
+                                         Boolean invoiceIssued, boolean fuzzy, Pageable pageable) {
+        // Rows, count and grand totals of the same filtered set in one statement
+        EventSearchService.EventPage result = eventSearchService.search(dateFrom, dateTo, company, contactName,
+                specialPrice, masterclass, invoiceIssued, fuzzy, pageable);
+        PageResponse<EventDto> response = createPageResponse(result.page());
+        response.setPageTotal(calculatePageTotals(result.page().getContent()));
+        response.setGrandTotal(result.grandTotal());
+        return response;
+    }
+
+    public PageResponse<EventDto> findAllAfter(LocalDate dateFrom, LocalDate dateTo,
+                                              String company, String contactName,
+                                              Boolean specialPrice, Boolean masterclass,
+                                              Boolean invoiceIssued, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        LocalDate afterDate = cursor != null ? cursor.dateKey() : null;
+        Long afterId = cursor != null ? cursor.id() : null;
+        Slice<Event> slice;
+        Map<String, BigDecimal> grandTotal;
+        if (StringUtils.hasText(company) || StringUtils.hasText(contactName)) {
+            // Search terms need the native statement; its totals are not cached
+            EventSearchService.EventSlice result = eventSearchService.searchAfter(dateFrom, dateTo, company,
+                    contactName, specialPrice, masterclass, invoiceIssued, afterDate, afterId, size);
+            slice = result.slice();
+            grandTotal = result.grandTotal();
+        } else {
+            slice = eventRepository.findSliceWithFilters(dateFrom, dateTo, specialPrice,
+                    masterclass, invoiceIssued, afterDate, afterId, PageRequest.ofSize(size));
+            grandTotal = calculateEventTotals(dateFrom, dateTo, specialPrice, masterclass, invoiceIssued);
+        }
         
-        // Calculate page totals
-        Map<String, BigDecimal> pageTotal = calculatePageTotals(page.getContent());
-        response.setPageTotal(pageTotal);
+        List<Event> events = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Event last = events.get(events.size() - 1);
+            nextCursor = KeysetCursor.of(last.getVisitDate(), last.getId()).encode();
+        }
         
-        // Calculate grand totals
-        Map<String, BigDecimal> grandTotal = eventRepository.calculateEventTotals(dateFrom, dateTo);
+        PageResponse<EventDto> response = PageResponse.ofSlice(
+                events.stream().map(eventMapper::toDto).toList(), size, cursor == null, nextCursor);
+        response.setPageTotal(calculatePageTotals(events));
         response.setGrandTotal(grandTotal);
-        
         return response;
     }
 
+    // One row per day of the range, zero-filled, so the GUI can lay out a season without gaps
+    public List<EventCalendarDay> getCalendar(LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom.isAfter(dateTo)) {
+            throw new InvalidRequestException("Calendar start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(dateFrom, dateTo) >= MAX_CALENDAR_DAYS) {
+            throw new InvalidRequestException("Calendar range is limited to " + MAX_CALENDAR_DAYS + " days");
+        }
+        return reportCache.get(ReportCache.Key.of(ReportCache.Region.EVENTS, "calendar", dateFrom, dateTo), () -> {
+            Map<LocalDate, EventCalendarDay> byDate = new HashMap<>();
+            for (EventCalendarDay day : eventRepository.calculateCalendar(dateFrom, dateTo)) {
+                byDate.put(day.date(), day);
+            }
+            return dateFrom.datesUntil(dateTo.plusDays(1))
+                    .map(date -> byDate.getOrDefault(date, EventCalendarDay.empty(date)))
+                    .toList();
+        });
+    }
+
     public EventDto findById(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + id));
@@ -52,6 +122,9 @@ public class EventService {
     public EventDto create(EventDto eventDto) {
         Event event = eventMapper.toEntity(eventDto);
         event = eventRepository.save(event);
+        eventSearchService.indexed(event);
+        kitchenForecastService.add(KitchenForecastService.Contribution.of(event));
+        invalidateTotals(event.getVisitDate());
         return eventMapper.toDto(event);
     }
 
@@ -59,16 +132,37 @@ public class EventService {
         Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + id));
         
+        LocalDate previousDate = existingEvent.getVisitDate();
+        // Capture the old kitchen load before it is overwritten
+        KitchenForecastService.Contribution before = KitchenForecastService.Contribution.of(existingEvent);
         eventMapper.updateEntity(eventDto, existingEvent);
         existingEvent = eventRepository.save(existingEvent);
+        eventSearchService.indexed(existingEvent);
+        kitchenForecastService.replace(before, KitchenForecastService.Contribution.of(existingEvent));
+        invalidateTotals(previousDate);
+        invalidateTotals(existingEvent.getVisitDate());
         return eventMapper.toDto(existingEvent);
     }
 
     public void delete(Long id) {
-        if (!eventRepository.existsById(id)) {
-            throw new EntityNotFoundException("Event not found with id: " + id);
-        }
-        eventRepository.deleteById(id);
+        Event event = eventRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + id));
+        eventRepository.delete(event);
+        eventSearchService.removed(id);
+        kitchenForecastService.remove(KitchenForecastService.Contribution.of(event));
+        invalidateTotals(event.getVisitDate());
+    }
+
+    private Map<String, BigDecimal> calculateEventTotals(LocalDate dateFrom, LocalDate dateTo, Boolean specialPrice,
+                                                         Boolean masterclass, Boolean invoiceIssued) {
+        String variant = "totals:" + specialPrice + ":" + masterclass + ":" + invoiceIssued;
+        return reportCache.get(ReportCache.Key.of(ReportCache.Region.EVENTS, variant, dateFrom, dateTo),
+                () -> Map.copyOf(eventRepository.calculateEventTotals(dateFrom, dateTo,
+                        specialPrice, masterclass, invoiceIssued)));
+    }
+
+    private void invalidateTotals(LocalDate visitDate) {
+        reportCache.invalidate(ReportCache.Region.EVENTS, visitDate, null, null);
     }
 
     private PageResponse<EventDto> createPageResponse(Page<Event> page) {
@@ -83,38 +177,15 @@ public class EventService {
         );
     }
 
-    private Map<String, BigDecimal> calculatePageTotals(java.util.List<Event> events) {
-        BigDecimal lunchTotal = events.stream()
-                .map(Event::getLunchTotal)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal tastingTotal = events.stream()
-                .map(Event::getTastingTotal)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal addedWinesValue = events.stream()
-                .map(Event::getAddedWinesValue)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal extraChargeAmount = events.stream()
-                .map(Event::getExtraChargeAmount)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal grandTotal = events.stream()
-                .map(Event::getGrandTotal)
-                .filter(java.util.Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return Map.of(
-                "lunchTotal", lunchTotal,
-                "tastingTotal", tastingTotal,
-                "addedWinesValue", addedWinesValue,
-                "extraChargeAmount", extraChargeAmount,
-                "grandTotal", grandTotal
-        );
+    private static EventPageTotals calculatePageTotals(List<Event> events) {
+        TotalsAccumulator totals = new TotalsAccumulator(5);
+        for (Event event : events) {
+            totals.add(0, event.getLunchTotal());
+            totals.add(1, event.getTastingTotal());
+            totals.add(2, event.getAddedWinesValue());
+            totals.add(3, event.getExtraChargeAmount());
+            totals.add(4, event.getGrandTotal());
+        }
+        return new EventPageTotals(totals.total(0), totals.total(1), totals.total(2), totals.total(3), totals.total(4));
     }
-}
\ No newline at end of file
+}
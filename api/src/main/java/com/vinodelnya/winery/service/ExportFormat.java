@@ -0,0 +1,41 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+
+import java.util.Optional;
+
+public enum ExportFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    public static ExportFormat from(String value) {
+        return fromExtension(value)
+                .orElseThrow(() -> new InvalidRequestException("Unsupported export format: " + value));
+    }
+
+    // Callers other than the export endpoints report an unknown extension in their own terms
+    static Optional<ExportFormat> fromExtension(String extension) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,208 @@
+package com.vinodelnya.winery.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Streams filtered entries/events straight from a JDBC cursor into the response, one row at a time
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final String ENTRY_SQL = "SELECT e.date, e.description, p.name AS person_name, " +
+            "c.name AS category_name, e.work_hours, e.amount_paid, e.amount_due " +
+            "FROM entries e " +
+            "JOIN persons p ON p.id = e.person_id " +
+            "JOIN categories c ON c.id = e.category_id " +
+            "WHERE 1 = 1";
+
+    private static final String EVENT_SQL = "SELECT e.visit_date, e.visit_time, e.company, e.contact_name, " +
+            "e.contact_phone, e.adult_lunch_guests, e.adult_tasting_guests, e.children_guests, e.extra_guests, " +
+            "e.masterclass, e.special_price_enabled, e.lunch_total, e.tasting_total, e.added_wines_value, " +
+            "e.extra_charge_amount, e.grand_total, e.invoice_issued " +
+            "FROM events e " +
+            "WHERE 1 = 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EventSearchService eventSearchService;
+
+    public ExportService(DataSource dataSource, EventSearchService eventSearchService,
+                         @Value("${export.fetch-size:500}") int fetchSize) {
+        this.eventSearchService = eventSearchService;
+        // Inside the read-only transaction the PostgreSQL driver uses a server-side cursor for this fetch size
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    // Description matches as a case-insensitive substring, the same way the entries list matches it
+    public long exportEntries(ExportFormat format, LocalDate dateFrom, LocalDate dateTo, Long personId,
+                              Long categoryId, String description, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(ENTRY_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        appendDateRange(sql, params, "e.date", dateFrom, dateTo);
+        if (personId != null) {
+            sql.append(" AND e.person_id = :personId");
+            params.addValue("personId", personId);
+        }
+        if (categoryId != null) {
+            sql.append(" AND e.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        String descriptionPattern = EntryService.descriptionPattern(description);
+        if (descriptionPattern != null) {
+            sql.append(" AND LOWER(e.description) LIKE :description");
+            params.addValue("description", descriptionPattern);
+        }
+        sql.append(" ORDER BY e.date DESC, e.id DESC");
+
+        try (TabularWriter writer = TabularWriter.open(format, "Entries", out)) {
+            writer.header("Date", "Description", "Person", "Category", "Work Hours", "Amount Paid", "Amount Due");
+
+            // Totals accumulate while streaming, so they cover every exported row, not a page
+            BigDecimal[] totals = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+            long[] count = {0};
+            stream(sql, params, rs -> {
+                BigDecimal workHours = rs.getBigDecimal("work_hours");
+                BigDecimal amountPaid = rs.getBigDecimal("amount_paid");
+                BigDecimal amountDue = rs.getBigDecimal("amount_due");
+                writer.row(rs.getObject("date", LocalDate.class), rs.getString("description"),
+                        rs.getString("person_name"), rs.getString("category_name"),
+                        workHours, amountPaid, amountDue);
+                totals[0] = add(totals[0], workHours);
+                totals[1] = add(totals[1], amountPaid);
+                totals[2] = add(totals[2], amountDue);
+                count[0]++;
+            });
+
+            writer.row("Total", count[0] + " entries", null, null, totals[0], totals[1], totals[2]);
+            writer.finish();
+            log.info("Exported {} entries as {}", count[0], format);
+            return count[0];
+        }
+    }
+
+    // Company and contact name match as substrings, the same way the events list matches them
+    public long exportEvents(ExportFormat format, LocalDate dateFrom, LocalDate dateTo, String company,
+                             String contactName, Boolean specialPrice, Boolean masterclass,
+                             Boolean invoiceIssued, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(EVENT_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        appendDateRange(sql, params, "e.visit_date", dateFrom, dateTo);
+        EventSearchService.SearchCondition search = eventSearchService.condition(company, contactName);
+        if (search != null) {
+            sql.append(" AND ").append(search.sql());
+            params.addValues(search.params());
+        }
+        appendFlag(sql, params, "e.special_price_enabled", "specialPrice", specialPrice);
+        appendFlag(sql, params, "e.masterclass", "masterclass", masterclass);
+        appendFlag(sql, params, "e.invoice_issued", "invoiceIssued", invoiceIssued);
+        sql.append(" ORDER BY e.visit_date DESC, e.id DESC");
+
+        try (TabularWriter writer = TabularWriter.open(format, "Events", out)) {
+            writer.header("Visit Date", "Visit Time", "Company", "Contact Name", "Contact Phone",
+                    "Adult Lunch Guests", "Adult Tasting Guests", "Children Guests", "Extra Guests",
+                    "Masterclass", "Special Price", "Lunch Total", "Tasting Total", "Added Wines Value",
+                    "Extra Charge Amount", "Grand Total", "Invoice Issued");
+
+            long[] guests = new long[4];
+            BigDecimal[] totals = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+            long[] count = {0};
+            stream(sql, params, rs -> {
+                Integer[] guestCounts = {
+                        integer(rs, "adult_lunch_guests"), integer(rs, "adult_tasting_guests"),
+                        integer(rs, "children_guests"), integer(rs, "extra_guests")
+                };
+                BigDecimal[] amounts = {
+                        rs.getBigDecimal("lunch_total"), rs.getBigDecimal("tasting_total"),
+                        rs.getBigDecimal("added_wines_value"), rs.getBigDecimal("extra_charge_amount"),
+                        rs.getBigDecimal("grand_total")
+                };
+                writer.row(rs.getObject("visit_date", LocalDate.class), rs.getObject("visit_time", LocalTime.class),
+                        rs.getString("company"), rs.getString("contact_name"), rs.getString("contact_phone"),
+                        guestCounts[0], guestCounts[1], guestCounts[2], guestCounts[3],
+                        bool(rs, "masterclass"), bool(rs, "special_price_enabled"),
+                        amounts[0], amounts[1], amounts[2], amounts[3], amounts[4],
+                        bool(rs, "invoice_issued"));
+                for (int i = 0; i < guests.length; i++) {
+                    guests[i] += guestCounts[i] == null ? 0 : guestCounts[i];
+                }
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] = add(totals[i], amounts[i]);
+                }
+                count[0]++;
+            });
+
+            writer.row("Total", count[0] + " events", null, null, null,
+                    guests[0], guests[1], guests[2], guests[3], null, null,
+                    totals[0], totals[1], totals[2], totals[3], totals[4], null);
+            writer.finish();
+            log.info("Exported {} events as {}", count[0], format);
+            return count[0];
+        }
+    }
+
+    private void stream(StringBuilder sql, MapSqlParameterSource params, RowWriter rowWriter) {
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            try {
+                rowWriter.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void appendDateRange(StringBuilder sql, MapSqlParameterSource params, String column,
+                                 LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom != null) {
+            sql.append(" AND ").append(column).append(" >= :dateFrom");
+            params.addValue("dateFrom", dateFrom);
+        }
+        if (dateTo != null) {
+            sql.append(" AND ").append(column).append(" <= :dateTo");
+            params.addValue("dateTo", dateTo);
+        }
+    }
+
+    private void appendFlag(StringBuilder sql, MapSqlParameterSource params, String column,
+                            String name, Boolean value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = :").append(name);
+            params.addValue(name, value);
+        }
+    }
+
+    private static BigDecimal add(BigDecimal total, BigDecimal value) {
+        return value == null ? total : total.add(value);
+    }
+
+    private static Integer integer(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Boolean bool(ResultSet rs, String column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
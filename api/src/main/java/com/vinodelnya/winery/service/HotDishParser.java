@@ -0,0 +1,44 @@
+package com.vinodelnya.winery.service;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Portion counts out of the free-text hot dish fields of an event. Every whole number counts, so
+// "6", "6x risotto", "risotto x 6", "pasta (4)", "2 pasta + 3 salad" and "risotto 2, pasta 3" all
+// work; times and decimals such as "12:30", "2.5" or "2,5" are not counts. A dish named without any count is flagged
+// as unquantified instead of guessed.
+final class HotDishParser {
+
+    private static final Pattern COUNT = Pattern.compile("(?<!\\d|\\d[.,:])\\d{1,4}(?!\\d|[.,:]\\d)");
+
+    private static final Set<String> NOTHING = Set.of("-", "--", "/", "0", "no", "none", "n/a", "na", "ne", "nema");
+
+    private HotDishParser() {
+    }
+
+    static Portions parse(String text) {
+        if (text == null) {
+            return Portions.NONE;
+        }
+        String normalized = text.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || NOTHING.contains(normalized)) {
+            return Portions.NONE;
+        }
+        int count = 0;
+        boolean counted = false;
+        Matcher matcher = COUNT.matcher(normalized);
+        while (matcher.find()) {
+            count += Integer.parseInt(matcher.group());
+            counted = true;
+        }
+        return counted ? new Portions(count, false) : Portions.UNQUANTIFIED;
+    }
+
+    record Portions(int count, boolean unquantified) {
+
+        static final Portions NONE = new Portions(0, false);
+        static final Portions UNQUANTIFIED = new Portions(0, true);
+    }
+}
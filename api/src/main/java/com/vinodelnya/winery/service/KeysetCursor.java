@@ -0,0 +1,56 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque position for seek pagination: the sort key and id of the last row returned
+public record KeysetCursor(String key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(Object key, Long id) {
+        return new KeysetCursor(String.valueOf(key), id);
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new InvalidRequestException("Invalid page cursor");
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
+    }
+}
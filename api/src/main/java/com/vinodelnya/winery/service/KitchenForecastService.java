@@ -0,0 +1,231 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.KitchenForecastDay;
+import com.vinodelnya.winery.dto.KitchenForecastSlot;
+import com.vinodelnya.winery.entity.Event;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hot dish portions and lunch covers per day and hourly slot. A range is streamed from the events
+// table through HotDishParser once; after that EventService keeps the loaded days current with
+// each create, update and delete, so repeated forecasts never touch the database.
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class KitchenForecastService {
+
+    static final int DEFAULT_FORECAST_DAYS = 90;
+    static final int MAX_FORECAST_DAYS = 366;
+
+    // Beyond this the cache starts over with the requested range instead of growing
+    private static final int MAX_CACHED_DAYS = 2 * MAX_FORECAST_DAYS;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final AtomicLong generation = new AtomicLong();
+    // Every day from loadedFrom to loadedTo is loaded; days without events have no slots
+    private final Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> days = new HashMap<>();
+    private LocalDate loadedFrom;
+    private LocalDate loadedTo;
+    // Transactions that changed the forecast and have not completed yet
+    private int openWriters;
+
+    public KitchenForecastService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Defaults to the next 90 days starting today; one row per day, zero-filled
+    public List<KitchenForecastDay> getForecast(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_FORECAST_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new InvalidRequestException("Forecast start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_FORECAST_DAYS) {
+            throw new InvalidRequestException("Forecast range is limited to " + MAX_FORECAST_DAYS + " days");
+        }
+
+        long loadedAt;
+        boolean shareable;
+        synchronized (this) {
+            if (loadedFrom != null && !start.isBefore(loadedFrom) && !end.isAfter(loadedTo)) {
+                return forecast(start, end, days);
+            }
+            loadedAt = generation.get();
+            // Rows of another open transaction are invisible to this load and would go missing once it commits
+            shareable = openWriters == (writing() ? 1 : 0);
+        }
+
+        Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> loaded = load(start, end);
+        synchronized (this) {
+            // A write that happened while loading may be missing from the snapshot
+            if (shareable && generation.get() == loadedAt) {
+                keep(start, end, loaded);
+            }
+            return forecast(start, end, loaded);
+        }
+    }
+
+    public void add(Contribution contribution) {
+        update(contribution, true);
+    }
+
+    public void remove(Contribution contribution) {
+        update(contribution, false);
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        remove(before);
+        add(after);
+    }
+
+    // For writes that bypass EventService
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        days.clear();
+        loadedFrom = null;
+        loadedTo = null;
+    }
+
+    private Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> load(LocalDate from, LocalDate to) {
+        Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> loaded = new HashMap<>();
+        // Rows are parsed as they arrive instead of being collected first
+        jdbcTemplate.query("SELECT visit_date, visit_time, adult_lunch_guests, children_guests, extra_guests, "
+                        + "hot_dish_vegetarian, hot_dish_meat FROM events WHERE visit_date BETWEEN :from AND :to",
+                new MapSqlParameterSource("from", from).addValue("to", to),
+                rs -> {
+                    Time visitTime = rs.getTime(2);
+                    Contribution contribution = Contribution.of(rs.getDate(1).toLocalDate(),
+                            visitTime != null ? visitTime.toLocalTime() : null,
+                            rs.getInt(3) + rs.getInt(4) + rs.getInt(5), rs.getString(6), rs.getString(7));
+                    merge(loaded, contribution, true);
+                });
+        log.debug("Loaded the kitchen forecast for {} to {}", from, to);
+        return loaded;
+    }
+
+    private void keep(LocalDate from, LocalDate to, Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> loaded) {
+        boolean contiguous = loadedFrom != null
+                && !from.isAfter(loadedTo.plusDays(1)) && !to.isBefore(loadedFrom.minusDays(1));
+        LocalDate unionFrom = contiguous && loadedFrom.isBefore(from) ? loadedFrom : from;
+        LocalDate unionTo = contiguous && loadedTo.isAfter(to) ? loadedTo : to;
+        if (!contiguous || ChronoUnit.DAYS.between(unionFrom, unionTo) >= MAX_CACHED_DAYS) {
+            days.clear();
+            unionFrom = from;
+            unionTo = to;
+        }
+        days.keySet().removeIf(date -> !date.isBefore(from) && !date.isAfter(to));
+        loaded.forEach((date, slots) -> days.put(date, new TreeMap<>(slots)));
+        loadedFrom = unionFrom;
+        loadedTo = unionTo;
+    }
+
+    private void update(Contribution contribution, boolean add) {
+        synchronized (this) {
+            generation.incrementAndGet();
+            if (loadedFrom != null && !contribution.date().isBefore(loadedFrom) && !contribution.date().isAfter(loadedTo)) {
+                merge(days, contribution, add);
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive() && !writing()) {
+                openWriters++;
+                TransactionSynchronizationManager.registerSynchronization(new PendingWrite());
+            }
+        }
+    }
+
+    // Whether the current transaction has changed the forecast
+    private boolean writing() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof PendingWrite);
+    }
+
+    private static void merge(Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> target,
+                              Contribution contribution, boolean add) {
+        NavigableMap<LocalTime, KitchenForecastSlot> slots = target.computeIfAbsent(contribution.date(),
+                date -> new TreeMap<>());
+        KitchenForecastSlot slot = contribution.slot();
+        KitchenForecastSlot current = slots.get(slot.time());
+        if (current == null) {
+            if (add) {
+                slots.put(slot.time(), slot);
+            }
+        } else {
+            KitchenForecastSlot merged = add ? current.plus(slot) : current.minus(slot);
+            if (merged.events() > 0) {
+                slots.put(slot.time(), merged);
+            } else {
+                slots.remove(slot.time());
+            }
+        }
+        if (slots.isEmpty()) {
+            target.remove(contribution.date());
+        }
+    }
+
+    private static List<KitchenForecastDay> forecast(LocalDate from, LocalDate to,
+                                                     Map<LocalDate, NavigableMap<LocalTime, KitchenForecastSlot>> source) {
+        List<KitchenForecastDay> forecast = new ArrayList<>((int) ChronoUnit.DAYS.between(from, to) + 1);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            NavigableMap<LocalTime, KitchenForecastSlot> slots = source.get(date);
+            forecast.add(KitchenForecastDay.of(date, slots != null ? new ArrayList<>(slots.values()) : List.of()));
+        }
+        return forecast;
+    }
+
+    // Keeps loads from being cached while the transaction is open; an aborted transaction discards the forecast
+    private final class PendingWrite implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            synchronized (KitchenForecastService.this) {
+                openWriters--;
+            }
+            if (status != STATUS_COMMITTED) {
+                invalidate();
+            }
+        }
+    }
+
+    // One event's share of its day: lunch covers are adult lunch guests, children and extra guests
+    public record Contribution(LocalDate date, KitchenForecastSlot slot) {
+
+        public static Contribution of(Event event) {
+            return of(event.getVisitDate(), event.getVisitTime(),
+                    count(event.getAdultLunchGuests()) + count(event.getChildrenGuests()) + count(event.getExtraGuests()),
+                    event.getHotDishVegetarian(), event.getHotDishMeat());
+        }
+
+        static Contribution of(LocalDate date, LocalTime visitTime, int lunchCovers,
+                               String hotDishVegetarian, String hotDishMeat) {
+            HotDishParser.Portions vegetarian = HotDishParser.parse(hotDishVegetarian);
+            HotDishParser.Portions meat = HotDishParser.parse(hotDishMeat);
+            LocalTime slot = visitTime != null ? visitTime.truncatedTo(ChronoUnit.HOURS) : LocalTime.MIDNIGHT;
+            return new Contribution(date, new KitchenForecastSlot(slot, 1, lunchCovers,
+                    vegetarian.count(), meat.count(),
+                    (vegetarian.unquantified() ? 1 : 0) + (meat.unquantified() ? 1 : 0)));
+        }
+
+        private static int count(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
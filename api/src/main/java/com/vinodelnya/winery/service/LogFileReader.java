@@ -0,0 +1,279 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.LogRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads backend.log from the end without loading it, so the newest records cost the least
+@Slf4j
+@Service
+public class LogFileReader {
+
+    private static final String[] FALLBACK_PATHS = {
+            "backend.log",
+            "logs/application.log",
+            "logs/spring.log",
+            "application.log",
+            "spring.log"
+    };
+
+    private static final String TIMESTAMP = "(\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}(?:Z|[+-]\\d{2}:\\d{2}))";
+    private static final String LEVEL = "(TRACE|DEBUG|INFO|WARN|ERROR)";
+
+    // logging.pattern.file from application.yaml: timestamp level thread --- [thread] [logger] : message
+    private static final Pattern CONFIGURED_PATTERN = Pattern.compile(
+            "^" + TIMESTAMP + "\\s+" + LEVEL + "\\s+.*?---\\s+\\[\\s*([^\\]]*)\\]\\s+\\[\\s*([^\\]]*)\\]\\s*:\\s?(.*)$");
+
+    // Spring Boot default layout: timestamp level pid --- [app] [thread] logger : message
+    private static final Pattern DEFAULT_PATTERN = Pattern.compile(
+            "^" + TIMESTAMP + "\\s+" + LEVEL + "\\s+(\\d+)\\s+---\\s+\\[([^\\]]+)\\]\\s+\\[([^\\]]+)\\]\\s+([^\\s]+)\\s*:\\s?(.*)$");
+
+    private static final Pattern TIMESTAMP_PREFIX = Pattern.compile("^" + TIMESTAMP);
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_STACK_TRACE_LINES = 50;
+
+    private final String configuredPath;
+    private final LogOffsetIndex offsetIndex;
+
+    public LogFileReader(@Value("${logging.file.name:}") String configuredPath,
+                         @Value("${logs.reader.index-stride-bytes:1048576}") long indexStrideBytes) {
+        this.configuredPath = configuredPath;
+        this.offsetIndex = new LogOffsetIndex(indexStrideBytes);
+    }
+
+    public Optional<Path> locate() {
+        if (configuredPath != null && !configuredPath.isBlank()) {
+            Path path = Paths.get(configuredPath);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(path);
+            }
+        }
+        for (String logPath : FALLBACK_PATHS) {
+            Path path = Paths.get(logPath);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Newest first. Stops as soon as limit records match or a record older than from is reached.
+    public List<LogRecord> readLatest(int limit, Predicate<LogRecord> filter,
+                                      LocalDateTime from, LocalDateTime to) throws IOException {
+        Optional<Path> path = locate();
+        if (path.isEmpty()) {
+            return List.of();
+        }
+        return readLatest(path.get(), limit, filter, from, to);
+    }
+
+    List<LogRecord> readLatest(Path path, int limit, Predicate<LogRecord> filter,
+                               LocalDateTime from, LocalDateTime to) throws IOException {
+        List<LogRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        if (limit <= 0) {
+            return records;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            long end = size;
+            if (to != null) {
+                offsetIndex.refresh(channel, fileKey, size);
+                end = offsetIndex.endOffsetFor(to, size);
+            }
+
+            ReverseLineReader reader = new ReverseLineReader(channel, end);
+            // Continuation lines are seen before the header they belong to
+            Deque<String> continuation = new ArrayDeque<>();
+            String line;
+            while ((line = reader.next()) != null) {
+                LogRecord record = parse(line, continuation);
+                if (record == null) {
+                    if (!line.isBlank()) {
+                        continuation.addFirst(line.trim());
+                        if (continuation.size() > MAX_STACK_TRACE_LINES) {
+                            continuation.removeLast();
+                        }
+                    }
+                    continue;
+                }
+                continuation.clear();
+
+                if (from != null && record.time().isBefore(from)) {
+                    break;
+                }
+                if (to != null && record.time().isAfter(to)) {
+                    continue;
+                }
+                if (filter.test(record)) {
+                    records.add(record);
+                    if (records.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    static LogRecord parse(String line, Deque<String> continuation) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || !Character.isDigit(trimmed.charAt(0))) {
+            return null;
+        }
+
+        Matcher matcher = CONFIGURED_PATTERN.matcher(trimmed);
+        if (matcher.matches()) {
+            String thread = matcher.group(3).trim();
+            return build(matcher.group(1), matcher.group(2), matcher.group(4).trim(), thread,
+                    "vinodelnya." + thread, matcher.group(5), continuation);
+        }
+        matcher = DEFAULT_PATTERN.matcher(trimmed);
+        if (matcher.matches()) {
+            String thread = matcher.group(5).trim();
+            return build(matcher.group(1), matcher.group(2), matcher.group(6), thread,
+                    matcher.group(4).trim() + "." + thread, matcher.group(7), continuation);
+        }
+        return null;
+    }
+
+    static LocalDateTime parseTimestamp(String timestamp) {
+        try {
+            return OffsetDateTime.parse(timestamp, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Timestamp at the start of a raw line, or null when it is a continuation line
+    static LocalDateTime leadingTimestamp(String line) {
+        Matcher matcher = TIMESTAMP_PREFIX.matcher(line);
+        return matcher.find() ? parseTimestamp(matcher.group(1)) : null;
+    }
+
+    private static LogRecord build(String timestamp, String level, String logger, String thread,
+                                   String trace, String message, Deque<String> continuation) {
+        LocalDateTime time = parseTimestamp(timestamp);
+        if (time == null) {
+            return null;
+        }
+        String stackTrace = null;
+        if (("ERROR".equals(level) || "WARN".equals(level)) && !continuation.isEmpty()) {
+            stackTrace = extractStackTrace(continuation);
+        }
+        return new LogRecord(timestamp, time, level, logger, thread, trace, message, stackTrace);
+    }
+
+    private static String extractStackTrace(Deque<String> continuation) {
+        StringBuilder stackTrace = new StringBuilder();
+        for (String line : continuation) {
+            if (line.contains("Exception") ||
+                    line.contains("Error") ||
+                    line.startsWith("at ") ||
+                    line.startsWith("Caused by:") ||
+                    line.startsWith("...") ||
+                    line.contains(".java:")) {
+                if (stackTrace.length() > 0) {
+                    stackTrace.append('\n');
+                }
+                stackTrace.append(line);
+            }
+        }
+        return stackTrace.toString();
+    }
+
+    // Yields lines from a start offset back to the beginning of the file, one chunk in memory at a time
+    static final class ReverseLineReader {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private final Deque<String> lines = new ArrayDeque<>();
+        private long position;
+        private byte[] pending = new byte[0];
+
+        ReverseLineReader(FileChannel channel, long end) {
+            this.channel = channel;
+            this.position = end;
+        }
+
+        String next() throws IOException {
+            while (lines.isEmpty()) {
+                if (position == 0) {
+                    if (pending.length == 0) {
+                        return null;
+                    }
+                    String first = decode(pending, 0, pending.length);
+                    pending = new byte[0];
+                    return first;
+                }
+                readChunk();
+            }
+            return lines.pollFirst();
+        }
+
+        private void readChunk() throws IOException {
+            int size = (int) Math.min(CHUNK_SIZE, position);
+            position -= size;
+
+            byte[] chunk = new byte[size + pending.length];
+            buffer.clear().limit(size);
+            int read = 0;
+            while (read < size) {
+                int n = channel.read(buffer, position + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            buffer.flip();
+            buffer.get(chunk, 0, read);
+            System.arraycopy(pending, 0, chunk, size, pending.length);
+
+            // Everything after the first newline is complete; the head may continue in the previous chunk
+            int end = chunk.length;
+            for (int i = chunk.length - 1; i >= 0; i--) {
+                if (chunk[i] == '\n') {
+                    lines.addLast(decode(chunk, i + 1, end));
+                    end = i;
+                }
+            }
+            pending = Arrays.copyOfRange(chunk, 0, end);
+        }
+
+        private static String decode(byte[] bytes, int from, int to) {
+            if (to > from && bytes[to - 1] == '\r') {
+                to--;
+            }
+            return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+    }
+}
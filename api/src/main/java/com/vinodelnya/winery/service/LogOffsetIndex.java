@@ -0,0 +1,86 @@
+package com.vinodelnya.winery.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Sparse timestamp -> byte offset samples, one per stride, so time-ranged reads can seek past newer records
+class LogOffsetIndex {
+
+    private static final int SAMPLE_WINDOW = 8 * 1024;
+
+    private final long stride;
+    private final NavigableMap<LocalDateTime, Long> offsets = new TreeMap<>();
+    private final ByteBuffer window = ByteBuffer.allocate(SAMPLE_WINDOW);
+    private Object fileKey;
+    private long indexedSize;
+    private long nextMark;
+
+    LogOffsetIndex(long stride) {
+        this.stride = Math.max(stride, SAMPLE_WINDOW);
+    }
+
+    // Extends the index to cover the current file; a new file or a shrunk one starts over
+    synchronized void refresh(FileChannel channel, Object currentFileKey, long size) throws IOException {
+        if (!Objects.equals(fileKey, currentFileKey) || size < indexedSize) {
+            offsets.clear();
+            nextMark = 0;
+            fileKey = currentFileKey;
+        }
+        while (nextMark < size) {
+            sample(channel, nextMark, size);
+            nextMark += stride;
+        }
+        indexedSize = size;
+    }
+
+    // Records at or after the returned offset are all newer than the given time
+    synchronized long endOffsetFor(LocalDateTime to, long size) {
+        Map.Entry<LocalDateTime, Long> entry = offsets.higherEntry(to);
+        return entry == null ? size : Math.min(entry.getValue(), size);
+    }
+
+    synchronized int size() {
+        return offsets.size();
+    }
+
+    private void sample(FileChannel channel, long mark, long size) throws IOException {
+        window.clear();
+        window.limit((int) Math.min(SAMPLE_WINDOW, size - mark));
+        channel.read(window, mark);
+        window.flip();
+        byte[] bytes = new byte[window.remaining()];
+        window.get(bytes);
+
+        // Offset 0 is a line start; anywhere else skip to the next newline first
+        int lineStart = mark == 0 ? 0 : indexOf(bytes, 0) + 1;
+        while (lineStart > 0 || mark == 0) {
+            int lineEnd = indexOf(bytes, lineStart);
+            if (lineEnd < 0) {
+                return;
+            }
+            String line = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            LocalDateTime time = LogFileReader.leadingTimestamp(line);
+            if (time != null) {
+                offsets.putIfAbsent(time, mark + lineStart);
+                return;
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,212 @@
+package com.vinodelnya.winery.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.vinodelnya.winery.dto.LogRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+// Keeps the most recent logging events in memory so /logs can be served without touching the file
+@Slf4j
+@Service
+public class LogRingBuffer {
+
+    private static final String APPENDER_NAME = "RING_BUFFER";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    // Rough per-event overhead of the slot, the event object and its references
+    private static final int EVENT_OVERHEAD_BYTES = 96;
+    private static final int THROWABLE_ESTIMATE_BYTES = 2048;
+
+    private final boolean enabled;
+    private final String applicationName;
+    private final long maxBytes;
+    private final int mask;
+    private final AtomicReferenceArray<BufferedEvent> slots;
+    // Next sequence to write, and the oldest sequence still considered retained
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    private Appender appender;
+
+    public LogRingBuffer(@Value("${logs.buffer.enabled:true}") boolean enabled,
+                         @Value("${logs.buffer.capacity-events:8192}") int capacityEvents,
+                         @Value("${logs.buffer.max-bytes:0}") long maxBytes,
+                         @Value("${spring.application.name:vinodelnya}") String applicationName) {
+        this.enabled = enabled;
+        this.applicationName = applicationName;
+        this.maxBytes = maxBytes;
+        int capacity = Integer.highestOneBit(Math.max(capacityEvents, 2) - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @PostConstruct
+    void attach() {
+        if (!enabled || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        appender = new Appender(this);
+        appender.setName(APPENDER_NAME);
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAppender(APPENDER_NAME);
+        root.addAppender(appender);
+        log.debug("Log ring buffer attached with capacity {} events", slots.length());
+    }
+
+    @PreDestroy
+    void detach() {
+        if (appender == null) {
+            return;
+        }
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).detachAppender(appender);
+        }
+        appender.stop();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    // Time of the oldest retained event, or null when empty
+    public LocalDateTime oldestTime() {
+        long end = head.get();
+        for (long sequence = firstRetained(end); sequence < end; sequence++) {
+            BufferedEvent event = slots.get(index(sequence));
+            if (event != null && event.sequence() == sequence) {
+                return toLocalDateTime(event.timestamp());
+            }
+        }
+        return null;
+    }
+
+    void append(ILoggingEvent loggingEvent) {
+        long sequence = head.getAndIncrement();
+        String message = loggingEvent.getFormattedMessage();
+        IThrowableProxy throwable = loggingEvent.getThrowableProxy();
+        int bytes = EVENT_OVERHEAD_BYTES + (message == null ? 0 : message.length() * 2)
+                + (throwable == null ? 0 : THROWABLE_ESTIMATE_BYTES);
+
+        BufferedEvent event = new BufferedEvent(sequence, loggingEvent.getTimeStamp(), loggingEvent.getLevel(),
+                loggingEvent.getLoggerName(), loggingEvent.getThreadName(), message, throwable, bytes);
+        BufferedEvent overwritten = slots.getAndSet(index(sequence), event);
+        long retained = retainedBytes.addAndGet(overwritten == null ? bytes : bytes - overwritten.bytes());
+        if (maxBytes > 0 && retained > maxBytes) {
+            evict(sequence);
+        }
+    }
+
+    // Newest first, stopping once limit events match or an event older than from is reached
+    public List<LogRecord> readLatest(int limit, Predicate<LogRecord> filter, LocalDateTime from, LocalDateTime to) {
+        List<LogRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        long end = head.get();
+        long start = firstRetained(end);
+        for (long sequence = end - 1; sequence >= start && records.size() < limit; sequence--) {
+            BufferedEvent event = slots.get(index(sequence));
+            if (event == null || event.sequence() != sequence) {
+                continue;
+            }
+            LocalDateTime time = toLocalDateTime(event.timestamp());
+            if (from != null && time.isBefore(from)) {
+                break;
+            }
+            if (to != null && time.isAfter(to)) {
+                continue;
+            }
+            LogRecord record = toRecord(event, time);
+            if (filter.test(record)) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    // Drops the oldest events until the byte budget holds again, leaving at least the newest one
+    private void evict(long newest) {
+        while (retainedBytes.get() > maxBytes) {
+            long oldest = tail.get();
+            if (oldest >= newest) {
+                return;
+            }
+            // Slots before this were already recycled by the ring itself
+            long floor = newest - slots.length() + 1;
+            if (oldest < floor) {
+                tail.compareAndSet(oldest, floor);
+                continue;
+            }
+            if (!tail.compareAndSet(oldest, oldest + 1)) {
+                continue;
+            }
+            int index = index(oldest);
+            BufferedEvent event = slots.get(index);
+            if (event != null && event.sequence() == oldest && slots.compareAndSet(index, event, null)) {
+                retainedBytes.addAndGet(-event.bytes());
+            }
+        }
+    }
+
+    private long firstRetained(long end) {
+        return Math.max(tail.get(), end - slots.length());
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private LogRecord toRecord(BufferedEvent event, LocalDateTime time) {
+        String timestamp = TIMESTAMP.format(Instant.ofEpochMilli(event.timestamp()).atZone(ZoneId.systemDefault()));
+        String stackTrace = event.throwable() == null ? null : ThrowableProxyUtil.asString(event.throwable());
+        return new LogRecord(timestamp, time, event.level().toString(), event.loggerName(), event.threadName(),
+                applicationName + "." + event.threadName(), event.message(), stackTrace);
+    }
+
+    private static LocalDateTime toLocalDateTime(long timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    // Holds references only; the stack trace is rendered when someone asks for it
+    private record BufferedEvent(long sequence, long timestamp, Level level, String loggerName, String threadName,
+                                 String message, IThrowableProxy throwable, int bytes) {
+    }
+
+    // Unsynchronized so concurrent loggers never contend on the appender
+    static final class Appender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final LogRingBuffer buffer;
+
+        Appender(LogRingBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            buffer.append(event);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.LogRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Follows the log file and keeps /logs/stats counters up to date as lines are appended
+@Slf4j
+@Service
+public class LogStatsTailer {
+
+    private static final String[] LEVELS = {"ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+    private static final String STARTUP_MESSAGE = "Started VinodelnjaApplication";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_LINE_BYTES = 1024 * 1024;
+    private static final Deque<String> NO_CONTINUATION = new ArrayDeque<>();
+
+    private final LogFileReader logFileReader;
+    private final long pollIntervalMs;
+    private final boolean enabled;
+
+    private final Map<String, Long> levelCounts = new LinkedHashMap<>();
+    private final MinuteHistogram histogram = new MinuteHistogram();
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private long totalLogs;
+    private LocalDateTime lastStartup;
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private ScheduledExecutorService scheduler;
+
+    public LogStatsTailer(LogFileReader logFileReader,
+                          @Value("${logs.tailer.poll-interval-ms:1000}") long pollIntervalMs,
+                          @Value("${logs.tailer.enabled:true}") boolean enabled) {
+        this.logFileReader = logFileReader;
+        this.pollIntervalMs = pollIntervalMs;
+        this.enabled = enabled;
+        for (String level : LEVELS) {
+            levelCounts.put(level, 0L);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-stats-tailer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                log.debug("Log stats poll failed", e);
+            }
+        }, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        closeChannel();
+    }
+
+    public synchronized LogStats snapshot() {
+        histogram.advance(currentMinute());
+        return new LogStats(new LinkedHashMap<>(levelCounts), totalLogs,
+                histogram.lastHour(), histogram.lastDay(), lastStartup);
+    }
+
+    // Reads whatever was appended since the last poll, switching files on rotation
+    synchronized void poll() throws IOException {
+        Optional<Path> path = logFileReader.locate();
+        if (path.isEmpty()) {
+            return;
+        }
+        Object currentKey = Files.readAttributes(path.get(), BasicFileAttributes.class).fileKey();
+
+        if (channel != null && !Objects.equals(fileKey, currentKey)) {
+            // Rotated: finish the old file through the still-open channel, then follow the new one
+            readAppended();
+            closeChannel();
+        }
+        if (channel == null) {
+            channel = FileChannel.open(path.get(), StandardOpenOption.READ);
+            fileKey = currentKey;
+            position = 0;
+            partialLine.reset();
+        } else if (channel.size() < position) {
+            log.debug("Log file truncated, reading from the start");
+            position = 0;
+            partialLine.reset();
+        }
+        readAppended();
+    }
+
+    private void readAppended() throws IOException {
+        while (position < channel.size()) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return;
+            }
+            position += read;
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    partialLine.write(bytes, lineStart, i - lineStart);
+                    accept(partialLine.toString(StandardCharsets.UTF_8));
+                    partialLine.reset();
+                    lineStart = i + 1;
+                }
+            }
+            partialLine.write(bytes, lineStart, read - lineStart);
+            if (partialLine.size() > MAX_LINE_BYTES) {
+                partialLine.reset();
+            }
+        }
+    }
+
+    private void accept(String line) {
+        LogRecord record = LogFileReader.parse(line, NO_CONTINUATION);
+        if (record == null) {
+            return;
+        }
+        totalLogs++;
+        levelCounts.merge(record.level(), 1L, Long::sum);
+        histogram.record(record.time().atZone(ZoneId.systemDefault()).toEpochSecond() / 60, currentMinute());
+        if (record.message().contains(STARTUP_MESSAGE)) {
+            lastStartup = record.time();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Could not close log file", e);
+        }
+        channel = null;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    public record LogStats(Map<String, Long> levelCounts, long totalLogs, long lastHour, long lastDay,
+                           LocalDateTime lastStartup) {
+    }
+
+    // One bucket per minute for the last day, with running sums for the hour and day windows
+    static final class MinuteHistogram {
+
+        private static final int HOUR = 60;
+        private static final int DAY = 24 * 60;
+
+        private final long[] counts = new long[DAY];
+        private final long[] minutes = new long[DAY];
+        private long head = Long.MIN_VALUE;
+        private long lastHour;
+        private long lastDay;
+
+        MinuteHistogram() {
+            Arrays.fill(minutes, Long.MIN_VALUE);
+        }
+
+        void record(long minute, long now) {
+            advance(now);
+            long bucketMinute = Math.min(minute, head);
+            long age = head - bucketMinute;
+            if (age >= DAY) {
+                return;
+            }
+            int slot = slot(bucketMinute);
+            if (minutes[slot] != bucketMinute) {
+                minutes[slot] = bucketMinute;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+            lastDay++;
+            if (age < HOUR) {
+                lastHour++;
+            }
+        }
+
+        void advance(long now) {
+            if (head == Long.MIN_VALUE || now - head >= DAY) {
+                Arrays.fill(counts, 0);
+                Arrays.fill(minutes, Long.MIN_VALUE);
+                lastHour = 0;
+                lastDay = 0;
+                head = now;
+                return;
+            }
+            while (head < now) {
+                head++;
+                int leavingHour = slot(head - HOUR);
+                if (minutes[leavingHour] == head - HOUR) {
+                    lastHour -= counts[leavingHour];
+                }
+                int leavingDay = slot(head - DAY);
+                if (minutes[leavingDay] == head - DAY) {
+                    lastDay -= counts[leavingDay];
+                    counts[leavingDay] = 0;
+                    minutes[leavingDay] = Long.MIN_VALUE;
+                }
+            }
+        }
+
+        long lastHour() {
+            return lastHour;
+        }
+
+        long lastDay() {
+            return lastDay;
+        }
+
+        private static int slot(long minute) {
+            return (int) Math.floorMod(minute, (long) DAY);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.vinodelnya.winery.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Trigram postings over one text column, for databases without pg_trgm.
+// Substring hits score 1; fuzzy hits score the share of the term's trigrams found in the text.
+// Rows live in dense slots; a changed or removed row leaves a dead slot behind until the next compaction.
+final class NgramIndex {
+
+    private static final int N = 3;
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private long[] ids = new long[1024];
+    private String[] texts = new String[1024];
+    private int slots;
+
+    synchronized void put(long id, String text) {
+        remove(id);
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        if (slots == ids.length) {
+            ids = Arrays.copyOf(ids, slots * 2);
+            texts = Arrays.copyOf(texts, slots * 2);
+        }
+        int slot = slots++;
+        String normalized = normalize(text);
+        ids[slot] = id;
+        texts[slot] = normalized;
+        slotsById.put(id, slot);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+    }
+
+    synchronized void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            texts[slot] = null;
+            if (slots > 1024 && slotsById.size() < slots / 2) {
+                compact();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return slotsById.size();
+    }
+
+    // Ids whose text contains the term (case-insensitive), plus trigram-similar ones when fuzzy
+    synchronized Map<Long, Double> search(String term, boolean fuzzy, double threshold) {
+        String needle = normalize(term);
+        Set<String> grams = grams(needle);
+        Map<Long, Double> matches = new HashMap<>();
+        if (grams.isEmpty()) {
+            // Shorter than a trigram: nothing to look up, scan the texts
+            for (int slot = 0; slot < slots; slot++) {
+                if (texts[slot] != null && texts[slot].contains(needle)) {
+                    matches.put(ids[slot], 1.0);
+                }
+            }
+            return matches;
+        }
+
+        if (!fuzzy) {
+            // Every trigram of the term must occur, so the rarest one bounds the candidates
+            Postings candidates = null;
+            for (String gram : grams) {
+                Postings found = postings.get(gram);
+                if (found == null) {
+                    return matches;
+                }
+                if (candidates == null || found.size < candidates.size) {
+                    candidates = found;
+                }
+            }
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.slots[i];
+                if (texts[slot] != null && texts[slot].contains(needle)) {
+                    matches.put(ids[slot], 1.0);
+                }
+            }
+            return matches;
+        }
+
+        int[] shared = new int[slots];
+        for (String gram : grams) {
+            Postings found = postings.get(gram);
+            if (found != null) {
+                for (int i = 0; i < found.size; i++) {
+                    shared[found.slots[i]]++;
+                }
+            }
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            if (shared[slot] == 0 || texts[slot] == null) {
+                continue;
+            }
+            if (shared[slot] == grams.size() && texts[slot].contains(needle)) {
+                matches.put(ids[slot], 1.0);
+            } else {
+                double score = (double) shared[slot] / grams.size();
+                if (score >= threshold) {
+                    matches.put(ids[slot], score);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void compact() {
+        long[] liveIds = new long[slotsById.size()];
+        String[] liveTexts = new String[slotsById.size()];
+        int live = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (texts[slot] != null) {
+                liveIds[live] = ids[slot];
+                liveTexts[live++] = texts[slot];
+            }
+        }
+        slotsById.clear();
+        postings.clear();
+        ids = new long[Math.max(1024, live * 2)];
+        texts = new String[ids.length];
+        slots = 0;
+        for (int i = 0; i < live; i++) {
+            put(liveIds[i], liveTexts[i]);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -21,12 +23,18 @@ public class PersonService {
     private final PersonRepository personRepository;
     private final PersonMapper personMapper;
     private final AuditService auditService;
+    private final ReferenceDataCache referenceDataCache;
 
     public PageResponse<PersonDto> findAll(String name, Boolean active, Pageable pageable) {
         Page<Person> page = personRepository.findWithFilters(name, active, pageable);
         return createPageResponse(page);
     }
 
+    // Served from the reference data cache for dropdowns, sorted by name
+    public List<PersonDto> findOptions(Boolean active) {
+        return referenceDataCache.persons(active);
+    }
+
     public PersonDto findById(Long id) {
         Person person = personRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Person not found with id: " + id));
@@ -34,12 +42,13 @@ public class PersonService {
     }
 
     public PersonDto create(PersonDto personDto) {
-        if (personRepository.existsByNameIgnoreCase(personDto.getName())) {
+        if (nameTaken(personDto.getName())) {
             throw new RuntimeException("Person with name '" + personDto.getName() + "' already exists");
         }
         
         Person person = personMapper.toEntity(personDto);
         person = personRepository.save(person);
+        referenceDataCache.invalidatePersons();
         
         // Log audit
         auditService.logCreate("persons", person.getId(), person);
@@ -52,7 +61,7 @@ public class PersonService {
                 .orElseThrow(() -> new EntityNotFoundException("Person not found with id: " + id));
         
         if (!existingPerson.getName().equalsIgnoreCase(personDto.getName()) && 
-            personRepository.existsByNameIgnoreCase(personDto.getName())) {
+            nameTaken(personDto.getName())) {
             throw new RuntimeException("Person with name '" + personDto.getName() + "' already exists");
         }
         
@@ -67,6 +76,7 @@ public class PersonService {
         
         personMapper.updateEntity(personDto, existingPerson);
         existingPerson = personRepository.save(existingPerson);
+        referenceDataCache.invalidatePersons();
         
         // Log audit
         auditService.logUpdate("persons", id, oldPerson, existingPerson);
@@ -86,6 +96,7 @@ public class PersonService {
         auditService.logDelete("persons", id, existingPerson);
         
         personRepository.deleteById(id);
+        referenceDataCache.invalidatePersons();
     }
 
     public PersonDto archive(Long id) {
@@ -94,9 +105,14 @@ public class PersonService {
         
         person.setActive(false);
         person = personRepository.save(person);
+        referenceDataCache.invalidatePersons();
         return personMapper.toDto(person);
     }
 
+    private boolean nameTaken(String name) {
+        return referenceDataCache.findPersonId(name).isPresent() || personRepository.existsByNameIgnoreCase(name);
+    }
+
     private PageResponse<PersonDto> createPageResponse(Page<Person> page) {
         return new PageResponse<>(
                 page.getContent().stream().map(personMapper::toDto).toList(),
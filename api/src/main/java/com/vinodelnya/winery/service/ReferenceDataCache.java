@@ -0,0 +1,205 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.CategoryDto;
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.PersonDto;
+import com.vinodelnya.winery.mapper.CategoryMapper;
+import com.vinodelnya.winery.mapper.PersonMapper;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Read-mostly copy of the persons and categories tables, reloaded lazily after they change.
+// A miss is never trusted as "does not exist": callers fall back to the database. Loads run on
+// the caller's connection and are only kept when the caller has not changed the tables itself.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private final PersonRepository personRepository;
+    private final CategoryRepository categoryRepository;
+    private final PersonMapper personMapper;
+    private final CategoryMapper categoryMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot<PersonDto> persons;
+    private volatile Snapshot<CategoryDto> categories;
+
+    public Optional<PersonDto> findPerson(Long id) {
+        return Optional.ofNullable(persons().byId().get(id));
+    }
+
+    public Optional<CategoryDto> findCategory(Long id) {
+        return Optional.ofNullable(categories().byId().get(id));
+    }
+
+    public Optional<Long> findPersonId(String name) {
+        return Optional.ofNullable(name).map(value -> persons().idsByName().get(normalize(value)));
+    }
+
+    public Optional<Long> findCategoryId(String name) {
+        return Optional.ofNullable(name).map(value -> categories().idsByName().get(normalize(value)));
+    }
+
+    public boolean personExists(Long id) {
+        return persons().byId().containsKey(id) || personRepository.existsById(id);
+    }
+
+    public boolean categoryExists(Long id) {
+        return categories().byId().containsKey(id) || categoryRepository.existsById(id);
+    }
+
+    // Only the ids the cache does not know are looked up in the database
+    public Set<Long> existingPersonIds(Collection<Long> ids) {
+        return existing(ids, persons(), personRepository::findExistingIds);
+    }
+
+    public Set<Long> existingCategoryIds(Collection<Long> ids) {
+        return existing(ids, categories(), categoryRepository::findExistingIds);
+    }
+
+    public List<PersonDto> persons(Boolean active) {
+        return persons().sorted().stream()
+                .filter(person -> active == null || active.equals(person.getActive()))
+                .toList();
+    }
+
+    public List<CategoryDto> categories(Boolean active) {
+        return categories().sorted().stream()
+                .filter(category -> active == null || active.equals(category.getActive()))
+                .toList();
+    }
+
+    // Fills in person and category names; false when either is not cached yet
+    public boolean enrich(EntryDto entry) {
+        PersonDto person = persons().byId().get(entry.getPersonId());
+        CategoryDto category = categories().byId().get(entry.getCategoryId());
+        if (person == null || category == null) {
+            return false;
+        }
+        entry.setPersonName(person.getName());
+        entry.setCategoryName(category.getName());
+        return true;
+    }
+
+    public void invalidatePersons() {
+        invalidate(() -> persons = null);
+    }
+
+    public void invalidateCategories() {
+        invalidate(() -> categories = null);
+    }
+
+    private void invalidate(Runnable reset) {
+        generation.incrementAndGet();
+        reset.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new PendingChange(reset));
+        }
+    }
+
+    private Snapshot<PersonDto> persons() {
+        Snapshot<PersonDto> snapshot = persons;
+        if (snapshot == null) {
+            long loadedAt = generation.get();
+            boolean shareable = !changing();
+            snapshot = Snapshot.of(personRepository.findAll().stream().map(personMapper::toDto).toList(),
+                    PersonDto::getId, PersonDto::getName);
+            if (shareable && generation.get() == loadedAt) {
+                persons = snapshot;
+            }
+            log.debug("Loaded {} persons into the reference data cache", snapshot.byId().size());
+        }
+        return snapshot;
+    }
+
+    private Snapshot<CategoryDto> categories() {
+        Snapshot<CategoryDto> snapshot = categories;
+        if (snapshot == null) {
+            long loadedAt = generation.get();
+            boolean shareable = !changing();
+            snapshot = Snapshot.of(categoryRepository.findAll().stream().map(categoryMapper::toDto).toList(),
+                    CategoryDto::getId, CategoryDto::getName);
+            if (shareable && generation.get() == loadedAt) {
+                categories = snapshot;
+            }
+            log.debug("Loaded {} categories into the reference data cache", snapshot.byId().size());
+        }
+        return snapshot;
+    }
+
+    // Whether the current transaction has changed persons or categories; its load would see rows
+    // that other transactions must not get from the cache before the commit
+    private static boolean changing() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(synchronization -> synchronization instanceof PendingChange);
+    }
+
+    private static <T> Set<Long> existing(Collection<Long> ids, Snapshot<T> snapshot,
+                                          Function<Set<Long>, Set<Long>> lookup) {
+        Set<Long> found = new HashSet<>();
+        Set<Long> unknown = new HashSet<>();
+        for (Long id : ids) {
+            (snapshot.byId().containsKey(id) ? found : unknown).add(id);
+        }
+        if (!unknown.isEmpty()) {
+            found.addAll(lookup.apply(unknown));
+        }
+        return found;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Marks the transaction as changing the tables and drops the snapshots once it completes
+    private final class PendingChange implements TransactionSynchronization {
+
+        private final Runnable reset;
+
+        private PendingChange(Runnable reset) {
+            this.reset = reset;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // Reloads that ran before the commit may have read the old rows
+            generation.incrementAndGet();
+            reset.run();
+        }
+    }
+
+    private record Snapshot<T>(Map<Long, T> byId, Map<String, Long> idsByName, List<T> sorted) {
+
+        static <T> Snapshot<T> of(List<T> rows, Function<T, Long> id, Function<T, String> name) {
+            Map<Long, T> byId = new LinkedHashMap<>();
+            Map<String, Long> idsByName = new LinkedHashMap<>();
+            for (T row : rows) {
+                byId.put(id.apply(row), row);
+                idsByName.put(normalize(name.apply(row)), id.apply(row));
+            }
+            List<T> sorted = rows.stream()
+                    .sorted(Comparator.comparing(name, String.CASE_INSENSITIVE_ORDER))
+                    .toList();
+            return new Snapshot<>(Map.copyOf(byId), Map.copyOf(idsByName), sorted);
+        }
+    }
+}
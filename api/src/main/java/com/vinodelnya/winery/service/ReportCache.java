@@ -0,0 +1,196 @@
+package com.vinodelnya.winery.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Report and grand-total results by normalized filters, dropped when a write touches their date range
+@Component
+public class ReportCache {
+
+    public enum Region {
+        ENTRIES,
+        EVENTS
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Key, Cached> entries;
+    // Bumped by every invalidation so a load that raced with a write is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final AtomicLong sizeEvictions = new AtomicLong();
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReportCache(MeterRegistry meterRegistry,
+                       @Value("${reports.cache.max-size:1000}") int maxSize,
+                       @Value("${reports.cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        // Access order makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                if (size() > ReportCache.this.maxSize) {
+                    sizeEvictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hitCounter = meterRegistry.counter("report.cache.hits");
+        this.missCounter = meterRegistry.counter("report.cache.misses");
+        FunctionCounter.builder("report.cache.evictions", sizeEvictions, AtomicLong::get)
+                .tag("cause", "size").register(meterRegistry);
+        FunctionCounter.builder("report.cache.evictions", expiredEvictions, AtomicLong::get)
+                .tag("cause", "expired").register(meterRegistry);
+        FunctionCounter.builder("report.cache.evictions", invalidations, AtomicLong::get)
+                .tag("cause", "invalidated").register(meterRegistry);
+        Gauge.builder("report.cache.size", this, ReportCache::size)
+                .description("Results held in the report cache")
+                .register(meterRegistry);
+        Gauge.builder("report.cache.hit.ratio", this, ReportCache::hitRatio)
+                .description("Share of report cache lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Cached cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    hitCounter.increment();
+                    return (T) cached.value();
+                }
+                entries.remove(key);
+                expiredEvictions.incrementAndGet();
+            }
+        }
+
+        missCounter.increment();
+        long loadedAt = generation.get();
+        T value = loader.get();
+        // A transaction with pending writes sees rows nobody else does yet, so its reads are not shared
+        if (value != null && !hasPendingWrites()) {
+            synchronized (entries) {
+                if (generation.get() == loadedAt) {
+                    entries.put(key, new Cached(value, now + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+
+    // Drops cached results whose filters could include a row on this date for this person and category
+    public void invalidate(Region region, LocalDate date, Long personId, Long categoryId) {
+        invalidate(region, date, date, personId, categoryId);
+    }
+
+    public void invalidate(Region region, LocalDate from, LocalDate to, Long personId, Long categoryId) {
+        Change change = new Change(region, from, to, personId, categoryId);
+        evict(change);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingChanges().add(change);
+        }
+    }
+
+    public void invalidateAll(Region region) {
+        invalidate(region, null, null, null, null);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double hitRatio() {
+        double lookups = hitCounter.count() + missCounter.count();
+        return lookups == 0 ? 0 : hitCounter.count() / lookups;
+    }
+
+    private void evict(Change change) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().affectedBy(change)) {
+                    keys.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private boolean hasPendingWrites() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.hasResource(this);
+    }
+
+    // Changes made by the current transaction, evicted again once they are visible to everyone,
+    // in case another transaction cached the old value meanwhile
+    @SuppressWarnings("unchecked")
+    private List<Change> pendingChanges() {
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportCache.this);
+                    changes.forEach(ReportCache.this::evict);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    // Null filters mean "any"; variant tells apart results computed differently from the same filters
+    public record Key(Region region, String variant, LocalDate from, LocalDate to, Long personId, Long categoryId) {
+
+        public static Key of(Region region, String variant, LocalDate from, LocalDate to) {
+            return new Key(region, variant, from, to, null, null);
+        }
+
+        boolean affectedBy(Change change) {
+            return region == change.region()
+                    && (from == null || change.to() == null || !change.to().isBefore(from))
+                    && (to == null || change.from() == null || !change.from().isAfter(to))
+                    && (personId == null || change.personId() == null || personId.equals(change.personId()))
+                    && (categoryId == null || change.categoryId() == null || categoryId.equals(change.categoryId()));
+        }
+    }
+
+    private record Change(Region region, LocalDate from, LocalDate to, Long personId, Long categoryId) {
+    }
+
+    private record Cached(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+
+public enum ReportDimension {
+    PERSON(false),
+    CATEGORY(false),
+    DAY(true),
+    WEEK(true),
+    MONTH(true),
+    YEAR(true);
+
+    private final boolean timeBucket;
+
+    ReportDimension(boolean timeBucket) {
+        this.timeBucket = timeBucket;
+    }
+
+    public boolean isTimeBucket() {
+        return timeBucket;
+    }
+
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    public static ReportDimension from(String value) {
+        for (ReportDimension dimension : values()) {
+            if (dimension.name().equalsIgnoreCase(value)) {
+                return dimension;
+            }
+        }
+        throw new InvalidRequestException("Unsupported report dimension: " + value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+
+public enum ReportGrouping {
+    PERSON,
+    CATEGORY,
+    MONTH;
+
+    public static ReportGrouping from(String value) {
+        for (ReportGrouping grouping : values()) {
+            if (grouping.name().equalsIgnoreCase(value)) {
+                return grouping;
+            }
+        }
+        throw new InvalidRequestException("Unsupported report grouping: " + value);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+
+public enum ReportMetric {
+    HOURS("work_hours"),
+    PAID("amount_paid"),
+    DUE("amount_due"),
+    COUNT("entry_count");
+
+    private final String column;
+
+    ReportMetric(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    public static ReportMetric from(String value) {
+        for (ReportMetric metric : values()) {
+            if (metric.name().equalsIgnoreCase(value)) {
+                return metric;
+            }
+        }
+        throw new InvalidRequestException("Unsupported report metric: " + value);
+    }
+}
@@ -0,0 +1,284 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.ReportResultDto;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Grouped entry reports over the daily rollup table, answered by a single GROUP BY query
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ReportQueryService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final int maxGroups;
+
+    public ReportQueryService(NamedParameterJdbcTemplate jdbcTemplate,
+                              DataSource dataSource,
+                              @Value("${reports.max-groups:10000}") int maxGroups) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxGroups = maxGroups;
+        this.postgres = "PostgreSQL".equals(productName(dataSource));
+    }
+
+    public ReportResultDto query(List<ReportDimension> dimensions, List<ReportMetric> metrics,
+                                 LocalDate fromDate, LocalDate toDate, Long personId, Long categoryId,
+                                 boolean rollup) {
+        validate(dimensions);
+        List<ReportMetric> selected = metrics.isEmpty() ? List.of(ReportMetric.values()) : List.copyOf(metrics);
+        int width = dimensions.size();
+
+        List<String> selectList = new ArrayList<>();
+        List<String> groupColumns = new ArrayList<>();
+        List<String> rollupGroups = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        StringBuilder joins = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            ReportDimension dimension = dimensions.get(i);
+            String key = keyExpression(dimension);
+            keys.add(key);
+            selectList.add(key + " AS d" + i);
+            groupColumns.add(key);
+            if (dimension.isTimeBucket()) {
+                rollupGroups.add(key);
+            } else {
+                String alias = dimension == ReportDimension.PERSON ? "p" : "c";
+                String table = dimension == ReportDimension.PERSON ? "persons" : "categories";
+                joins.append(" JOIN ").append(table).append(' ').append(alias)
+                        .append(" ON ").append(alias).append(".id = ").append(key);
+                selectList.add(alias + ".name AS l" + i);
+                groupColumns.add(alias + ".name");
+                rollupGroups.add("(" + key + ", " + alias + ".name)");
+            }
+        }
+        for (ReportMetric metric : selected) {
+            selectList.add("COALESCE(SUM(t." + metric.getColumn() + "), 0) AS " + metric.getName());
+        }
+
+        // PostgreSQL computes the subtotals itself; elsewhere they are folded from the detail rows
+        boolean databaseRollup = rollup && postgres && width > 0;
+        if (databaseRollup) {
+            selectList.add("GROUPING(" + String.join(", ", keys) + ") AS grouping_id");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", selectList))
+                .append(" FROM entry_daily_totals t").append(joins).append(" WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (fromDate != null) {
+            sql.append(" AND t.date >= :fromDate");
+            params.addValue("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            sql.append(" AND t.date <= :toDate");
+            params.addValue("toDate", toDate);
+        }
+        if (personId != null) {
+            sql.append(" AND t.person_id = :personId");
+            params.addValue("personId", personId);
+        }
+        if (categoryId != null) {
+            sql.append(" AND t.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        if (width > 0) {
+            sql.append(databaseRollup ? " GROUP BY ROLLUP(" + String.join(", ", rollupGroups) + ")"
+                    : " GROUP BY " + String.join(", ", groupColumns));
+        }
+        // The grand total row of a ROLLUP does not count against the limit
+        sql.append(" LIMIT :limit");
+        params.addValue("limit", maxGroups + (databaseRollup ? 2 : 1));
+
+        ReportResultDto result = new ReportResultDto();
+        result.setFromDate(fromDate);
+        result.setToDate(toDate);
+        result.setDimensions(dimensions.stream().map(ReportDimension::getName).toList());
+        result.setMetrics(selected.stream().map(ReportMetric::getName).toList());
+        result.setRollup(rollup);
+        for (int i = 0; i < width; i++) {
+            if (!dimensions.get(i).isTimeBucket()) {
+                result.getLabels().put(dimensions.get(i).getName(), new LinkedHashMap<>());
+            }
+        }
+
+        List<Group> rows = new ArrayList<>();
+        Group[] total = {null};
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            Object[] values = new Object[width];
+            for (int i = 0; i < width; i++) {
+                values[i] = dimensions.get(i).isTimeBucket()
+                        ? rs.getObject("d" + i, LocalDate.class)
+                        : rs.getObject("d" + i, Long.class);
+                if (values[i] != null && !dimensions.get(i).isTimeBucket()) {
+                    result.getLabels().get(dimensions.get(i).getName())
+                            .putIfAbsent(String.valueOf(values[i]), rs.getString("l" + i));
+                }
+            }
+            int depth = width;
+            if (databaseRollup) {
+                depth = width - Integer.bitCount(rs.getInt("grouping_id"));
+            }
+            Group group = new Group(values, depth, read(rs, selected));
+            if (width > 0 && depth == 0) {
+                total[0] = group;
+            } else {
+                rows.add(group);
+            }
+        });
+
+        if (width > 0 && rows.size() > maxGroups) {
+            throw new InvalidRequestException("Report has more than " + maxGroups + " groups, narrow the filters");
+        }
+        if (rollup && !databaseRollup && width > 0) {
+            rows.addAll(subtotals(rows, width, selected.size()));
+        }
+        if (width == 0) {
+            total[0] = rows.isEmpty() ? null : rows.remove(0);
+        } else if (total[0] == null) {
+            total[0] = sum(rows.stream().filter(row -> row.depth() == width).toList(), width, selected.size());
+        }
+        rows.sort(ORDER);
+
+        for (int i = 0; i < width; i++) {
+            List<Object> column = new ArrayList<>(rows.size());
+            for (Group row : rows) {
+                column.add(row.keys()[i]);
+            }
+            result.getColumns().put(dimensions.get(i).getName(), column);
+        }
+        if (rollup) {
+            result.getColumns().put("depth", new ArrayList<>(rows.stream().map(row -> (Object) row.depth()).toList()));
+        }
+        for (int m = 0; m < selected.size(); m++) {
+            ReportMetric metric = selected.get(m);
+            List<Object> column = new ArrayList<>(rows.size());
+            for (Group row : rows) {
+                column.add(value(metric, row.metrics()[m]));
+            }
+            result.getColumns().put(metric.getName(), column);
+            result.getTotals().put(metric.getName(),
+                    value(metric, total[0] == null ? BigDecimal.ZERO : total[0].metrics()[m]));
+        }
+        result.setRowCount(rows.size());
+        return result;
+    }
+
+    private void validate(List<ReportDimension> dimensions) {
+        if (new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new InvalidRequestException("Report dimensions must not repeat");
+        }
+        if (dimensions.stream().filter(ReportDimension::isTimeBucket).count() > 1) {
+            throw new InvalidRequestException("Only one of day, week, month or year can be grouped at a time");
+        }
+    }
+
+    private String keyExpression(ReportDimension dimension) {
+        return switch (dimension) {
+            case PERSON -> "t.person_id";
+            case CATEGORY -> "t.category_id";
+            case DAY -> "t.date";
+            // ISO weeks start on Monday; H2's DATE_TRUNC would start them on Sunday
+            case WEEK -> postgres ? "CAST(DATE_TRUNC('week', t.date) AS DATE)"
+                    : "DATEADD(DAY, 1 - ISO_DAY_OF_WEEK(t.date), t.date)";
+            case MONTH -> "CAST(DATE_TRUNC('month', t.date) AS DATE)";
+            case YEAR -> "CAST(DATE_TRUNC('year', t.date) AS DATE)";
+        };
+    }
+
+    private static BigDecimal[] read(ResultSet rs, List<ReportMetric> metrics) throws SQLException {
+        BigDecimal[] values = new BigDecimal[metrics.size()];
+        for (int m = 0; m < values.length; m++) {
+            values[m] = rs.getBigDecimal(metrics.get(m).getName());
+        }
+        return values;
+    }
+
+    // ROLLUP semantics: one subtotal per distinct prefix of the dimension list
+    private static List<Group> subtotals(List<Group> details, int width, int metricCount) {
+        List<Group> subtotals = new ArrayList<>();
+        for (int depth = width - 1; depth > 0; depth--) {
+            Map<List<Object>, List<Group>> byPrefix = new LinkedHashMap<>();
+            for (Group row : details) {
+                byPrefix.computeIfAbsent(Arrays.asList(row.keys()).subList(0, depth), ignored -> new ArrayList<>())
+                        .add(row);
+            }
+            for (Map.Entry<List<Object>, List<Group>> prefix : byPrefix.entrySet()) {
+                Group subtotal = sum(prefix.getValue(), width, metricCount);
+                Object[] keys = new Object[width];
+                for (int i = 0; i < depth; i++) {
+                    keys[i] = prefix.getKey().get(i);
+                }
+                subtotals.add(new Group(keys, depth, subtotal.metrics()));
+            }
+        }
+        return subtotals;
+    }
+
+    private static Group sum(List<Group> rows, int width, int metricCount) {
+        BigDecimal[] sums = new BigDecimal[metricCount];
+        Arrays.fill(sums, BigDecimal.ZERO);
+        for (Group row : rows) {
+            for (int m = 0; m < metricCount; m++) {
+                sums[m] = sums[m].add(row.metrics()[m]);
+            }
+        }
+        return new Group(new Object[width], 0, sums);
+    }
+
+    private static Object value(ReportMetric metric, BigDecimal value) {
+        return metric == ReportMetric.COUNT ? (Object) value.longValue() : value;
+    }
+
+    private static String productName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, report subtotals will be computed in memory", e);
+            return null;
+        }
+    }
+
+    // Detail rows ordered by their keys, each subtotal right after the rows it covers
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Group> ORDER = (a, b) -> {
+        for (int i = 0; i < a.keys().length; i++) {
+            Comparable left = (Comparable) a.keys()[i];
+            Comparable right = (Comparable) b.keys()[i];
+            if (left == null || right == null) {
+                if (left != right) {
+                    return left == null ? 1 : -1;
+                }
+                continue;
+            }
+            int compared = left.compareTo(right);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    };
+
+    private record Group(Object[] keys, int depth, BigDecimal[] metrics) {
+    }
+}
@@ -1,40 +1,164 @@
 package com.vinodelnya.winery.service;
 
+import com.vinodelnya.winery.dto.ReportBreakdownDto;
 import com.vinodelnya.winery.dto.ReportSummaryDto;
-import com.vinodelnya.winery.repository.EntryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ReportService {
 
-    private final EntryRepository entryRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReportCache reportCache;
 
     public ReportSummaryDto generateSummary(LocalDate fromDate, LocalDate toDate, 
                                            Long personId, Long categoryId) {
-        Map<String, BigDecimal> totals = entryRepository.calculateTotals(fromDate, toDate, personId, categoryId);
-        
+        return generateSummary(fromDate, toDate, personId, categoryId, Set.of());
+    }
+
+    // Count, sums and every requested breakdown come from a single grouped query over the rollup table
+    public ReportSummaryDto generateSummary(LocalDate fromDate, LocalDate toDate,
+                                           Long personId, Long categoryId, Set<ReportGrouping> groupings) {
+        Set<ReportGrouping> groupBy = groupings.isEmpty() ? EnumSet.noneOf(ReportGrouping.class) : EnumSet.copyOf(groupings);
+        return reportCache.get(
+                new ReportCache.Key(ReportCache.Region.ENTRIES, "summary" + groupBy, fromDate, toDate, personId, categoryId),
+                () -> summarize(fromDate, toDate, personId, categoryId, groupBy));
+    }
+
+    private ReportSummaryDto summarize(LocalDate fromDate, LocalDate toDate,
+                                       Long personId, Long categoryId, Set<ReportGrouping> groupBy) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder joins = new StringBuilder();
+        if (groupBy.contains(ReportGrouping.PERSON)) {
+            columns.add("t.person_id");
+            columns.add("p.name");
+            joins.append(" JOIN persons p ON p.id = t.person_id");
+        }
+        if (groupBy.contains(ReportGrouping.CATEGORY)) {
+            columns.add("t.category_id");
+            columns.add("c.name");
+            joins.append(" JOIN categories c ON c.id = t.category_id");
+        }
+        if (groupBy.contains(ReportGrouping.MONTH)) {
+            columns.add("EXTRACT(YEAR FROM t.date)");
+            columns.add("EXTRACT(MONTH FROM t.date)");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (String column : columns) {
+            sql.append(column).append(", ");
+        }
+        sql.append("COALESCE(SUM(t.entry_count), 0) AS entry_count, ")
+                .append("COALESCE(SUM(t.work_hours), 0) AS work_hours, ")
+                .append("COALESCE(SUM(t.amount_paid), 0) AS amount_paid, ")
+                .append("COALESCE(SUM(t.amount_due), 0) AS amount_due ")
+                .append("FROM entry_daily_totals t").append(joins).append(" WHERE 1 = 1");
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (fromDate != null) {
+            sql.append(" AND t.date >= :fromDate");
+            params.addValue("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            sql.append(" AND t.date <= :toDate");
+            params.addValue("toDate", toDate);
+        }
+        if (personId != null) {
+            sql.append(" AND t.person_id = :personId");
+            params.addValue("personId", personId);
+        }
+        if (categoryId != null) {
+            sql.append(" AND t.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        if (!columns.isEmpty()) {
+            sql.append(" GROUP BY ").append(String.join(", ", columns));
+        }
+
+        ReportBreakdownDto total = new ReportBreakdownDto();
+        Map<ReportGrouping, Map<String, ReportBreakdownDto>> breakdowns = new LinkedHashMap<>();
+        for (ReportGrouping grouping : groupBy) {
+            breakdowns.put(grouping, new LinkedHashMap<>());
+        }
+
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            int column = 1;
+            List<String[]> keys = new ArrayList<>(groupBy.size());
+            for (ReportGrouping grouping : groupBy) {
+                if (grouping == ReportGrouping.MONTH) {
+                    int year = rs.getInt(column++);
+                    int month = rs.getInt(column++);
+                    String key = String.format("%04d-%02d", year, month);
+                    keys.add(new String[]{key, key});
+                } else {
+                    keys.add(new String[]{String.valueOf(rs.getLong(column++)), rs.getString(column++)});
+                }
+            }
+            accumulate(total, rs);
+            int index = 0;
+            for (ReportGrouping grouping : groupBy) {
+                String[] key = keys.get(index++);
+                ReportBreakdownDto breakdown = breakdowns.get(grouping).computeIfAbsent(key[0], ignored -> {
+                    ReportBreakdownDto created = new ReportBreakdownDto();
+                    created.setKey(key[0]);
+                    created.setLabel(key[1]);
+                    return created;
+                });
+                accumulate(breakdown, rs);
+            }
+        });
+
         ReportSummaryDto summary = new ReportSummaryDto();
         summary.setFromDate(fromDate);
         summary.setToDate(toDate);
-        // Handle both lowercase (from native query) and camelCase keys
-        summary.setTotalAmountPaid(totals.getOrDefault("amountpaid", totals.getOrDefault("amountPaid", BigDecimal.ZERO)));
-        summary.setTotalAmountDue(totals.getOrDefault("amountdue", totals.getOrDefault("amountDue", BigDecimal.ZERO)));
-        summary.setGrandTotal(totals.getOrDefault("total", BigDecimal.ZERO));
-        summary.setTotalWorkHours(totals.getOrDefault("workhours", totals.getOrDefault("workHours", BigDecimal.ZERO)));
-        
-        // Count entries
-        long count = entryRepository.findWithFilters(fromDate, toDate, personId, categoryId,
-                org.springframework.data.domain.Pageable.unpaged()).getTotalElements();
-        summary.setTotalEntries(count);
-        
+        summary.setTotalAmountPaid(total.getTotalAmountPaid());
+        summary.setTotalAmountDue(total.getTotalAmountDue());
+        summary.setGrandTotal(total.getGrandTotal());
+        summary.setTotalWorkHours(total.getTotalWorkHours());
+        summary.setTotalEntries(total.getTotalEntries());
+        if (groupBy.contains(ReportGrouping.PERSON)) {
+            summary.setByPerson(sorted(breakdowns.get(ReportGrouping.PERSON), Comparator.comparing(ReportBreakdownDto::getLabel)));
+        }
+        if (groupBy.contains(ReportGrouping.CATEGORY)) {
+            summary.setByCategory(sorted(breakdowns.get(ReportGrouping.CATEGORY), Comparator.comparing(ReportBreakdownDto::getLabel)));
+        }
+        if (groupBy.contains(ReportGrouping.MONTH)) {
+            summary.setByMonth(sorted(breakdowns.get(ReportGrouping.MONTH), Comparator.comparing(ReportBreakdownDto::getKey)));
+        }
         return summary;
     }
-}
\ No newline at end of file
+
+    private void accumulate(ReportBreakdownDto target, ResultSet rs) throws SQLException {
+        BigDecimal amountPaid = rs.getBigDecimal("amount_paid");
+        BigDecimal amountDue = rs.getBigDecimal("amount_due");
+        target.setTotalEntries(target.getTotalEntries() + rs.getLong("entry_count"));
+        target.setTotalWorkHours(target.getTotalWorkHours().add(rs.getBigDecimal("work_hours")));
+        target.setTotalAmountPaid(target.getTotalAmountPaid().add(amountPaid));
+        target.setTotalAmountDue(target.getTotalAmountDue().add(amountDue));
+        target.setGrandTotal(target.getGrandTotal().add(amountPaid).add(amountDue));
+    }
+
+    private List<ReportBreakdownDto> sorted(Map<String, ReportBreakdownDto> breakdowns,
+                                           Comparator<ReportBreakdownDto> order) {
+        List<ReportBreakdownDto> list = new ArrayList<>(breakdowns.values());
+        list.sort(order);
+        return list;
+    }
+}
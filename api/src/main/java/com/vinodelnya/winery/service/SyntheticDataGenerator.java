@@ -0,0 +1,370 @@
+package com.vinodelnya.winery.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.DatabaseMetaData;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+// Bulk-loads production-shaped entries, events and audit rows for benchmarking and capacity planning.
+// Work piles up around the harvest, visits around summer weekends, and a few people and categories
+// account for most rows (Zipf), as in the real data.
+@Service
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public record Settings(int persons, int categories, long entries, long events, long auditRows,
+                           int years, LocalDate lastDay, double zipfExponent, long seed, int chunkSize) {
+    }
+
+    private static final List<String> ENTRY_COLUMNS = List.of("date", "description", "person_id", "category_id",
+            "work_hours", "amount_paid", "amount_due", "created_at", "updated_at");
+
+    private static final List<String> EVENT_COLUMNS = List.of("visit_date", "visit_time", "company",
+            "contact_name", "contact_phone", "adult_lunch_guests", "adult_tasting_guests", "children_guests",
+            "extra_guests", "masterclass", "special_price_enabled", "lunch_group_size", "lunch_rate", "lunch_total",
+            "tasting_group_size", "tasting_rate", "tasting_total", "lunch_and_tasting_total", "added_wines_count",
+            "added_wines_value", "extra_charge_amount", "grand_total", "invoice_issued", "created_at", "updated_at");
+
+    private static final List<String> AUDIT_COLUMNS = List.of("table_name", "record_id", "action", "old_values",
+            "new_values", "changed_by", "changed_at", "ip_address", "user_agent");
+
+    private static final String[] CATEGORY_NAMES = {
+            "Harvest", "Pruning", "Cellar Work", "Bottling", "Vineyard Spraying", "Tasting Room", "Transport",
+            "Barrel Cleaning", "Labeling", "Machinery Maintenance", "Irrigation", "Green Harvest", "Planting",
+            "Office Work", "Deliveries", "Sorting Table"
+    };
+
+    private static final String[] TASKS = {
+            "rows", "parcel", "terrace", "block", "tank", "batch"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Marko", "Ana", "Petar", "Milica", "Nikola", "Jelena", "Stefan", "Ivana", "Luka", "Maja", "Nenad", "Sara"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Jovanović", "Petrović", "Nikolić", "Marković", "Đorđević", "Stojanović", "Ilić", "Pavlović", "Popović"
+    };
+
+    private static final BigDecimal LUNCH_RATE = new BigDecimal("25.00");
+    private static final BigDecimal TASTING_RATE = new BigDecimal("15.00");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final EntryRollupService entryRollupService;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReportCache reportCache;
+    private final EventSearchService eventSearchService;
+    private final KitchenForecastService kitchenForecastService;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  DataSource dataSource,
+                                  EntryRollupService entryRollupService,
+                                  ReferenceDataCache referenceDataCache,
+                                  ReportCache reportCache,
+                                  EventSearchService eventSearchService,
+                                  KitchenForecastService kitchenForecastService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = "PostgreSQL".equals(productName(dataSource));
+        this.entryRollupService = entryRollupService;
+        this.referenceDataCache = referenceDataCache;
+        this.reportCache = reportCache;
+        this.eventSearchService = eventSearchService;
+        this.kitchenForecastService = kitchenForecastService;
+    }
+
+    // Rows written per table, in insertion order
+    public Map<String, Long> generate(Settings settings) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        LocalDate firstDay = settings.lastDay().minusYears(settings.years()).plusDays(1);
+        Map<String, Long> written = new LinkedHashMap<>();
+        // Names must stay unique when the generator runs again on the same database
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        List<Long> personIds = insertPersons(settings.persons(), run);
+        List<Long> categoryIds = insertCategories(settings.categories(), run);
+        written.put("persons", (long) personIds.size());
+        written.put("categories", (long) categoryIds.size());
+        referenceDataCache.invalidatePersons();
+        referenceDataCache.invalidateCategories();
+
+        long started = System.nanoTime();
+        written.put("entries", writeEntries(settings, random, firstDay, personIds, categoryIds));
+        log.info("Generated {} entries in {} ms", written.get("entries"), (System.nanoTime() - started) / 1_000_000);
+
+        started = System.nanoTime();
+        written.put("events", writeEvents(settings, random, firstDay));
+        log.info("Generated {} events in {} ms", written.get("events"), (System.nanoTime() - started) / 1_000_000);
+
+        started = System.nanoTime();
+        written.put("audit_log", writeAuditRows(settings, random, firstDay, personIds));
+        log.info("Generated {} audit rows in {} ms", written.get("audit_log"), (System.nanoTime() - started) / 1_000_000);
+
+        entryRollupService.rebuild();
+        reportCache.invalidateAll(ReportCache.Region.EVENTS);
+        eventSearchService.invalidate();
+        kitchenForecastService.invalidate();
+        if (postgres) {
+            // Fresh planner statistics for the grown tables
+            jdbcTemplate.execute("ANALYZE");
+        }
+        return written;
+    }
+
+    private long writeEntries(Settings settings, SplittableRandom random, LocalDate firstDay,
+                              List<Long> personIds, List<Long> categoryIds) {
+        DaySampler days = new DaySampler(firstDay, settings.lastDay(), SyntheticDataGenerator::workWeight);
+        ZipfSampler persons = new ZipfSampler(personIds.size(), settings.zipfExponent());
+        ZipfSampler categories = new ZipfSampler(categoryIds.size(), settings.zipfExponent());
+        // Hourly rate per person, fixed for the run
+        BigDecimal[] rates = new BigDecimal[personIds.size()];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = BigDecimal.valueOf(800 + random.nextInt(1400), 2);
+        }
+
+        try (BulkRowWriter writer = BulkRowWriter.open(jdbcTemplate, postgres, "entries", ENTRY_COLUMNS,
+                settings.chunkSize())) {
+            for (long i = 0; i < settings.entries(); i++) {
+                LocalDate date = days.sample(random);
+                int person = persons.sample(random);
+                int category = categories.sample(random);
+                // Log-normal around a 6 hour day, in quarter hours
+                double hours = Math.min(12, Math.max(0.25, Math.exp(Math.log(6) + 0.35 * gaussian(random))));
+                BigDecimal workHours = BigDecimal.valueOf(Math.round(hours * 4) / 4.0).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal amount = workHours.multiply(rates[person]).setScale(2, RoundingMode.HALF_UP);
+                // About one row in six is not fully paid yet
+                BigDecimal amountDue = BigDecimal.ZERO.setScale(2);
+                if (random.nextInt(6) == 0) {
+                    amountDue = amount.multiply(BigDecimal.valueOf(30 + random.nextInt(71), 2))
+                            .setScale(2, RoundingMode.HALF_UP);
+                }
+                LocalDateTime createdAt = date.atTime(16, 0).plusMinutes(random.nextInt(240));
+                writer.row(date,
+                        CATEGORY_NAMES[category % CATEGORY_NAMES.length] + " - " + TASKS[random.nextInt(TASKS.length)]
+                                + " " + (1 + random.nextInt(40)),
+                        personIds.get(person), categoryIds.get(category),
+                        workHours, amount.subtract(amountDue), amountDue, createdAt, createdAt);
+                logProgress("entries", i + 1, settings.entries());
+            }
+            return writer.written();
+        }
+    }
+
+    private long writeEvents(Settings settings, SplittableRandom random, LocalDate firstDay) {
+        DaySampler days = new DaySampler(firstDay, settings.lastDay(), SyntheticDataGenerator::visitWeight);
+        ZipfSampler companies = new ZipfSampler(300, settings.zipfExponent());
+
+        try (BulkRowWriter writer = BulkRowWriter.open(jdbcTemplate, postgres, "events", EVENT_COLUMNS,
+                settings.chunkSize())) {
+            for (long i = 0; i < settings.events(); i++) {
+                LocalDate date = days.sample(random);
+                // Four in ten visits are private guests without a company
+                String company = random.nextInt(10) < 4 ? null : "Company " + (companies.sample(random) + 1);
+                int lunchGuests = random.nextInt(4) == 0 ? 0 : groupSize(random);
+                int tastingGuests = random.nextInt(5) == 0 ? 0 : groupSize(random);
+                int children = random.nextInt(4) == 0 ? random.nextInt(6) : 0;
+                BigDecimal lunchTotal = LUNCH_RATE.multiply(BigDecimal.valueOf(lunchGuests));
+                BigDecimal tastingTotal = TASTING_RATE.multiply(BigDecimal.valueOf(tastingGuests));
+                int addedWines = random.nextInt(3) == 0 ? 1 + random.nextInt(24) : 0;
+                BigDecimal addedWinesValue = BigDecimal.valueOf(addedWines * (900L + random.nextInt(2100)), 2);
+                BigDecimal extraCharge = random.nextInt(10) == 0 ? BigDecimal.valueOf(2000 + random.nextInt(18000), 2)
+                        : BigDecimal.ZERO.setScale(2);
+                BigDecimal lunchAndTasting = lunchTotal.add(tastingTotal);
+                LocalDateTime createdAt = date.minusDays(3 + random.nextInt(60)).atTime(10, 0)
+                        .plusMinutes(random.nextInt(480));
+                writer.row(date, LocalTime.of(11 + random.nextInt(7), random.nextBoolean() ? 0 : 30), company,
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        "+381 6" + random.nextInt(10) + " " + (1_000_000 + random.nextInt(9_000_000)),
+                        lunchGuests, tastingGuests, children, 0, random.nextInt(10) == 0, random.nextInt(20) == 0,
+                        lunchGuests, LUNCH_RATE, lunchTotal, tastingGuests, TASTING_RATE, tastingTotal, lunchAndTasting,
+                        addedWines, addedWinesValue, extraCharge, lunchAndTasting.add(addedWinesValue).add(extraCharge),
+                        company != null && date.isBefore(settings.lastDay().minusDays(14)) && random.nextInt(10) < 8,
+                        createdAt, createdAt);
+                logProgress("events", i + 1, settings.events());
+            }
+            return writer.written();
+        }
+    }
+
+    private long writeAuditRows(Settings settings, SplittableRandom random, LocalDate firstDay, List<Long> personIds) {
+        DaySampler days = new DaySampler(firstDay, settings.lastDay(), SyntheticDataGenerator::workWeight);
+        long maxEntryId = maxId("entries");
+        long maxEventId = maxId("events");
+        String[] users = {"admin", "user"};
+
+        try (BulkRowWriter writer = BulkRowWriter.open(jdbcTemplate, postgres, "audit_log", AUDIT_COLUMNS,
+                settings.chunkSize())) {
+            for (long i = 0; i < settings.auditRows(); i++) {
+                int table = random.nextInt(100);
+                String tableName = table < 75 ? "entries" : table < 95 ? "events" : "persons";
+                long recordId = switch (tableName) {
+                    case "entries" -> 1 + random.nextLong(Math.max(1, maxEntryId));
+                    case "events" -> 1 + random.nextLong(Math.max(1, maxEventId));
+                    default -> personIds.get(random.nextInt(personIds.size()));
+                };
+                int action = random.nextInt(100);
+                String auditAction = action < 70 ? "INSERT" : action < 95 ? "UPDATE" : "DELETE";
+                String amount = BigDecimal.valueOf(random.nextInt(50_000), 2).toPlainString();
+                String values = "{\"id\": " + recordId + ", \"amountPaid\": " + amount + "}";
+                writer.row(tableName, recordId, auditAction,
+                        auditAction.equals("INSERT") ? null : values,
+                        auditAction.equals("DELETE") ? null : values,
+                        users[random.nextInt(8) == 0 ? 1 : 0],
+                        days.sample(random).atTime(7, 0).plusSeconds(random.nextInt(12 * 3600)),
+                        "10.0.0." + (1 + random.nextInt(20)), "Mozilla/5.0");
+                logProgress("audit rows", i + 1, settings.auditRows());
+            }
+            return writer.written();
+        }
+    }
+
+    private List<Long> insertPersons(int count, String run) {
+        List<Object[]> rows = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{"Generated " + FIRST_NAMES[i % FIRST_NAMES.length] + " " + run + "-" + i,
+                    "Synthetic data", true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO persons (name, note, active, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        return jdbcTemplate.queryForList("SELECT id FROM persons WHERE name LIKE ? ORDER BY id", Long.class,
+                "Generated % " + run + "-%");
+    }
+
+    private List<Long> insertCategories(int count, String run) {
+        List<Object[]> rows = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{CATEGORY_NAMES[(i - 1) % CATEGORY_NAMES.length] + " " + run + "-" + i,
+                    "Synthetic data", String.format("#%06X", (i * 0x3A5F1D) & 0xFFFFFF), true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, description, color, active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM categories WHERE name LIKE ? ORDER BY id", Long.class,
+                "% " + run + "-%");
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Relative amount of vineyard and cellar work on a day: the harvest dominates, winter is quiet
+    static double workWeight(LocalDate date) {
+        double season = switch (date.getMonth()) {
+            case SEPTEMBER -> 4.0;
+            case OCTOBER -> 3.2;
+            case AUGUST -> 1.8;
+            case MARCH, APRIL -> 1.5;
+            case NOVEMBER, MAY, JUNE -> 1.2;
+            case JULY -> 1.0;
+            case FEBRUARY -> 0.8;
+            case DECEMBER, JANUARY -> 0.5;
+        };
+        return date.getDayOfWeek() == DayOfWeek.SUNDAY ? season * 0.1
+                : date.getDayOfWeek() == DayOfWeek.SATURDAY ? season * 0.4 : season;
+    }
+
+    // Relative number of visits on a day: summer and harvest season, mostly at weekends
+    static double visitWeight(LocalDate date) {
+        double season = switch (date.getMonth()) {
+            case JUNE, JULY, AUGUST -> 2.5;
+            case SEPTEMBER, OCTOBER -> 3.0;
+            case MAY -> 2.0;
+            case APRIL, NOVEMBER -> 1.0;
+            case MARCH -> 0.6;
+            case DECEMBER -> 0.8;
+            case JANUARY, FEBRUARY -> 0.3;
+        };
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? season * 2.5 : season;
+    }
+
+    private static int groupSize(SplittableRandom random) {
+        // Mostly couples and small groups, sometimes a bus
+        return random.nextInt(10) == 0 ? 20 + random.nextInt(31) : 2 + random.nextInt(9);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static void logProgress(String what, long done, long total) {
+        if (done % 500_000 == 0 && done < total) {
+            log.info("Generated {} of {} {}", done, total, what);
+        }
+    }
+
+    private static String productName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, synthetic data will use JDBC batches", e);
+            return null;
+        }
+    }
+
+    // Picks days in proportion to a weight function
+    static final class DaySampler {
+
+        private final LocalDate firstDay;
+        private final double[] cumulative;
+
+        DaySampler(LocalDate firstDay, LocalDate lastDay, ToDoubleFunction<LocalDate> weight) {
+            this.firstDay = firstDay;
+            int days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+            this.cumulative = new double[days];
+            double total = 0;
+            for (int i = 0; i < days; i++) {
+                total += weight.applyAsDouble(firstDay.plusDays(i));
+                cumulative[i] = total;
+            }
+        }
+
+        LocalDate sample(SplittableRandom random) {
+            return firstDay.plusDays(search(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]));
+        }
+    }
+
+    // Rank k (0-based) is drawn with probability proportional to 1 / (k + 1)^exponent
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double exponent) {
+            this.cumulative = new double[size];
+            double total = 0;
+            for (int k = 0; k < size; k++) {
+                total += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            return search(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        }
+    }
+
+    private static int search(double[] cumulative, double target) {
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.vinodelnya.winery.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Row-at-a-time sink for exports; nothing but the current row is held in memory by callers
+interface TabularWriter extends AutoCloseable {
+
+    void header(String... columns) throws IOException;
+
+    // Values may be String, Number, Boolean, LocalDate, LocalTime or null
+    void row(Object... values) throws IOException;
+
+    // Writes buffered content to the stream without closing it
+    void finish() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static TabularWriter open(ExportFormat format, String sheetName, OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvTabularWriter(out);
+            case XLSX -> new XlsxTabularWriter(sheetName, out);
+        };
+    }
+}
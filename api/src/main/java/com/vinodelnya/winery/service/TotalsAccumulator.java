@@ -0,0 +1,50 @@
+package com.vinodelnya.winery.service;
+
+import java.math.BigDecimal;
+
+// Sums several decimal columns in one pass. Values with at most two fraction digits are added as
+// hundredths in a long; wider scales, and a column whose long sum would overflow, carry on in BigDecimal.
+final class TotalsAccumulator {
+
+    static final int SCALE = 2;
+
+    // Integer digits that still fit in a long once multiplied by 10^SCALE
+    private static final int MAX_INTEGER_DIGITS = 18 - SCALE;
+
+    private final long[] units;
+    private final BigDecimal[] overflow;
+
+    TotalsAccumulator(int columns) {
+        this.units = new long[columns];
+        this.overflow = new BigDecimal[columns];
+    }
+
+    void add(int column, BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        int scale = value.scale();
+        if (scale < 0 || scale > SCALE || value.precision() - scale > MAX_INTEGER_DIGITS) {
+            spill(column, value);
+            return;
+        }
+        long hundredths = value.movePointRight(SCALE).longValue();
+        long sum = units[column] + hundredths;
+        // Signs of both operands differ from the result only on overflow
+        if (((units[column] ^ sum) & (hundredths ^ sum)) < 0) {
+            spill(column, BigDecimal.valueOf(units[column], SCALE));
+            units[column] = hundredths;
+        } else {
+            units[column] = sum;
+        }
+    }
+
+    BigDecimal total(int column) {
+        BigDecimal total = BigDecimal.valueOf(units[column], SCALE);
+        return overflow[column] == null ? total : overflow[column].add(total);
+    }
+
+    private void spill(int column, BigDecimal value) {
+        overflow[column] = overflow[column] == null ? value : overflow[column].add(value);
+    }
+}
@@ -0,0 +1,164 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Native list statement for the entries and events pages. Each row carries COUNT(*) OVER () and
+// SUM(...) OVER () of the whole filtered set, so the page, its count and the grand totals come back
+// in one round trip and always agree on the filters.
+final class WindowedListQuery {
+
+    private final String select;
+    private final String from;
+    private final Map<String, String> sums;
+    private final StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+    private final Map<String, Object> params = new HashMap<>();
+
+    // sums maps grand total names to columns of the table aliased "e"
+    WindowedListQuery(String select, String from, Map<String, String> sums) {
+        this.select = select;
+        this.from = from;
+        this.sums = new LinkedHashMap<>(sums);
+    }
+
+    // Appends the condition only when the filter is set
+    WindowedListQuery filter(String condition, String param, Object value) {
+        if (value != null) {
+            where(condition);
+            param(param, value);
+        }
+        return this;
+    }
+
+    WindowedListQuery where(String condition) {
+        where.append(" AND ").append(condition);
+        return this;
+    }
+
+    WindowedListQuery param(String name, Object value) {
+        params.put(name, value);
+        return this;
+    }
+
+    // Rows are the entity, the text columns, then the count and sums; a negative limit returns every row
+    Result fetch(EntityManager entityManager, Class<?> entityClass, List<String> textColumns,
+                 String orderBy, long offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(select).append(", COUNT(*) OVER () AS total_count");
+        sums.values().forEach(column ->
+                sql.append(", COALESCE(SUM(e.").append(column).append(") OVER (), 0) AS ").append(column).append("_sum"));
+        sql.append(" FROM ").append(from).append(where).append(" ORDER BY ").append(orderBy);
+
+        NativeQuery<?> query = bind(entityManager, sql.toString()).addEntity("e", entityClass);
+        textColumns.forEach(alias -> query.addScalar(alias, StandardBasicTypes.STRING));
+        query.addScalar("total_count", StandardBasicTypes.LONG);
+        sums.values().forEach(column -> query.addScalar(column + "_sum", StandardBasicTypes.BIG_DECIMAL));
+        if (limit >= 0) {
+            query.setFirstResult((int) offset);
+            query.setMaxResults(limit);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            rows.add((Object[]) row);
+        }
+        if (!rows.isEmpty()) {
+            Object[] first = rows.get(0);
+            return new Result(rows, (Long) first[1 + textColumns.size()], totals(first, 2 + textColumns.size()));
+        }
+        if (offset == 0) {
+            return empty();
+        }
+        // Paged past the end: the windows had no row to ride on
+        return aggregate(entityManager);
+    }
+
+    // Just the entities in order, without the windows, for keyset pages whose WHERE moves past the cursor
+    @SuppressWarnings("unchecked")
+    <T> List<T> list(EntityManager entityManager, Class<T> entityClass, String orderBy, int limit) {
+        NativeQuery<?> query = bind(entityManager, "SELECT " + select + " FROM " + from + where
+                + " ORDER BY " + orderBy).addEntity("e", entityClass);
+        query.setMaxResults(limit);
+        return (List<T>) query.getResultList();
+    }
+
+    // The count and sums of the filtered set without any rows
+    Result aggregate(EntityManager entityManager) {
+        Object single = bind(entityManager, aggregateSql()).getSingleResult();
+        // Without sums the count comes back on its own
+        Object[] aggregate = single instanceof Object[] row ? row : new Object[]{single};
+        return new Result(List.of(), ((Number) aggregate[0]).longValue(), totals(aggregate, 1));
+    }
+
+    // For a filter that is known to match nothing without asking the database
+    Result empty() {
+        return new Result(List.of(), 0, totals(null, 0));
+    }
+
+    private String aggregateSql() {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*)");
+        sums.values().forEach(column -> sql.append(", COALESCE(SUM(e.").append(column).append("), 0)"));
+        return sql.append(" FROM ").append(from).append(where).toString();
+    }
+
+    private NativeQuery<?> bind(EntityManager entityManager, String sql) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        params.forEach((name, value) -> {
+            if (value instanceof Collection<?> values) {
+                query.setParameterList(name, values);
+            } else {
+                query.setParameter(name, value);
+            }
+        });
+        return query;
+    }
+
+    private Map<String, BigDecimal> totals(Object[] row, int first) {
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        int index = first;
+        for (String name : sums.keySet()) {
+            totals.put(name, row == null ? BigDecimal.ZERO : toBigDecimal(row[index++]));
+        }
+        return totals;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    // Sort properties are whitelisted because they are spliced into the SQL
+    static String orderBy(Sort sort, Map<String, String> columns, String subject) {
+        List<String> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String column = columns.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidRequestException(subject + " cannot be sorted by " + order.getProperty());
+            }
+            byId |= column.equals("e.id");
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Stable paging needs a unique tie-breaker
+        if (!byId) {
+            orders.add("e.id DESC");
+        }
+        return String.join(", ", orders);
+    }
+
+    static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    record Result(List<Object[]> rows, long total, Map<String, BigDecimal> totals) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.vinodelnya.winery.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// SXSSF keeps only a window of rows in memory and spills the rest to a compressed temp file
+class XlsxTabularWriter implements TabularWriter {
+
+    private static final int ROW_WINDOW = 100;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final CellStyle headerStyle;
+    private final CellStyle amountStyle;
+    private final CellStyle dateStyle;
+    private int rowIndex;
+
+    XlsxTabularWriter(String sheetName, OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+        this.amountStyle = workbook.createCellStyle();
+        this.amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+    }
+
+    @Override
+    public void header(String... columns) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < columns.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(columns[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    @Override
+    public void row(Object... values) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+                if (!(value instanceof Integer || value instanceof Long)) {
+                    cell.setCellStyle(amountStyle);
+                }
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+            } else if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof LocalTime time) {
+                cell.setCellValue(time.toString());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,22 @@
+-- Pre-summed entry totals per day x person x category, maintained by EntryService
+CREATE TABLE entry_daily_totals (
+    id BIGSERIAL PRIMARY KEY,
+    date DATE NOT NULL,
+    person_id BIGINT NOT NULL REFERENCES persons(id),
+    category_id BIGINT NOT NULL REFERENCES categories(id),
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    work_hours DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    amount_paid DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    amount_due DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    CONSTRAINT uk_entry_daily_totals_key UNIQUE (date, person_id, category_id)
+);
+
+CREATE INDEX idx_entry_daily_totals_person_id ON entry_daily_totals(person_id);
+CREATE INDEX idx_entry_daily_totals_category_id ON entry_daily_totals(category_id);
+
+-- Backfill from existing entries
+INSERT INTO entry_daily_totals (date, person_id, category_id, entry_count, work_hours, amount_paid, amount_due)
+SELECT e.date, e.person_id, e.category_id, COUNT(*),
+       COALESCE(SUM(e.work_hours), 0), COALESCE(SUM(e.amount_paid), 0), COALESCE(SUM(e.amount_due), 0)
+FROM entries e
+GROUP BY e.date, e.person_id, e.category_id;
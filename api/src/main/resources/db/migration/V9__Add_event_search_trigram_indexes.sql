@@ -0,0 +1,5 @@
+-- Substring and fuzzy search over company and contact name (ILIKE '%term%' and the <% operator)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_events_company_trgm ON events USING gin (company gin_trgm_ops);
+CREATE INDEX idx_events_contact_name_trgm ON events USING gin (contact_name gin_trgm_ops);
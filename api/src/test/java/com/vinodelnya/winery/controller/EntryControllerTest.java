@@ -2,6 +2,7 @@ package com.vinodelnya.winery.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryPageTotals;
 import com.vinodelnya.winery.dto.PageResponse;
 import com.vinodelnya.winery.service.EntryService;
 import org.junit.jupiter.api.BeforeEach;
@@ -60,7 +61,8 @@ class EntryControllerTest {
             "workHours", BigDecimal.ZERO
         );
         
-        mockPageResponse.setPageTotal(totals);
+        mockPageResponse.setPageTotal(new EntryPageTotals(
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
         mockPageResponse.setGrandTotal(totals);
     }
 
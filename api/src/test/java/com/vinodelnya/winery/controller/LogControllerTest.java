@@ -95,6 +95,29 @@ class LogControllerTest {
         // Note: In real implementation, you'd verify the actual count
     }
 
+    @Test
+    @DisplayName("GET /logs - Should serve logs from the in-memory buffer")
+    @WithMockUser(roles = "ADMIN")
+    void testGetLogsFromMemory() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/logs")
+                .param("source", "memory")
+                .param("level", "ALL")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.source").value("memory"))
+                .andExpect(jsonPath("$.logs").isArray());
+    }
+
+    @Test
+    @DisplayName("GET /logs - Should reject an unknown log source")
+    @WithMockUser(roles = "ADMIN")
+    void testGetLogsUnknownSource() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/logs").param("source", "database"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /logs - Should reject non-admin users")
     @WithMockUser(roles = "USER")
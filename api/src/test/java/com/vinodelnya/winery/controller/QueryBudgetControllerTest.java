@@ -0,0 +1,300 @@
+package com.vinodelnya.winery.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinodelnya.winery.dto.CategoryDto;
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.PersonDto;
+import com.vinodelnya.winery.repository.AuditLogRepository;
+import com.vinodelnya.winery.service.AuditLogWriter;
+import com.vinodelnya.winery.service.CategoryService;
+import com.vinodelnya.winery.service.EntryService;
+import com.vinodelnya.winery.service.EventService;
+import com.vinodelnya.winery.service.PersonService;
+import com.vinodelnya.winery.service.ReferenceDataCache;
+import com.vinodelnya.winery.support.SqlStatementBudget;
+import com.vinodelnya.winery.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.vinodelnya.winery.support.SqlStatementRecorder.Type.DELETE;
+import static com.vinodelnya.winery.support.SqlStatementRecorder.Type.INSERT;
+import static com.vinodelnya.winery.support.SqlStatementRecorder.Type.SELECT;
+import static com.vinodelnya.winery.support.SqlStatementRecorder.Type.UPDATE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the real services, unlike the mocked controller tests, so the budgets catch N+1 selects
+// and per-row statements. Not @Transactional: the report cache only fills outside pending writes.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@SqlStatementBudget
+@WithMockUser(roles = "ADMIN")
+@DisplayName("Per-endpoint SQL statement budgets")
+class QueryBudgetControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2034, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2034, 3, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementRecorder sql;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final List<Long> persons = new ArrayList<>();
+    private final List<Long> categories = new ArrayList<>();
+    private final List<Long> entries = new ArrayList<>();
+    private final List<Long> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Every entry has its own person and category, so lazy loading would cost one select each
+        for (int i = 1; i <= 5; i++) {
+            PersonDto person = new PersonDto();
+            person.setName("Budget Worker " + i);
+            persons.add(personService.create(person).getId());
+
+            CategoryDto category = new CategoryDto();
+            category.setName("Budget Category " + i);
+            category.setColor("#336699");
+            categories.add(categoryService.create(category).getId());
+
+            entries.add(entryService.create(entry(FROM.plusDays(i), persons.get(i - 1), categories.get(i - 1))).getId());
+
+            EventDto event = new EventDto();
+            event.setVisitDate(FROM.plusDays(i));
+            event.setVisitTime(LocalTime.of(12, 0));
+            event.setContactName("Budget Guest " + i);
+            event.setGrandTotal(new BigDecimal("100.00"));
+            events.add(eventService.create(event).getId());
+        }
+        referenceDataCache.persons(null);
+        referenceDataCache.categories(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entries.forEach(entryService::delete);
+        events.forEach(eventService::delete);
+        persons.forEach(personService::delete);
+        categories.forEach(categoryService::delete);
+        // The writes above were committed and audited; other tests expect an empty audit log
+        auditLogWriter.flush();
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /entries - page and count in one statement, grand totals from the cached rollup")
+    void testEntriesPage() throws Exception {
+        mockMvc.perform(get("/entries").with(sql.recording())
+                        .param("dateFrom", FROM.toString())
+                        .param("dateTo", TO.toString())
+                        .param("sort", "workHours,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5))
+                .andExpect(jsonPath("$.content[0].personName").exists())
+                .andExpect(sql.atMost(2));
+
+        mockMvc.perform(get("/entries").with(sql.recording())
+                        .param("dateFrom", FROM.toString())
+                        .param("dateTo", TO.toString())
+                        .param("sort", "workHours,desc"))
+                .andExpect(status().isOk())
+                .andExpect(sql.atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /entries/{id} - single select")
+    void testEntryById() throws Exception {
+        mockMvc.perform(get("/entries/{id}", entries.get(0)).with(sql.recording()))
+                .andExpect(status().isOk())
+                .andExpect(sql.atMost(1));
+    }
+
+    @Test
+    @DisplayName("POST /entries - insert plus rollup upkeep, no reference lookups")
+    void testCreateEntry() throws Exception {
+        mockMvc.perform(post("/entries").with(sql.recording())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entry(FROM, persons.get(0), categories.get(0)))))
+                .andExpect(status().isCreated())
+                .andDo(result -> entries.add(objectMapper.readValue(
+                        result.getResponse().getContentAsString(), EntryDto.class).getId()))
+                .andExpect(sql.atMost(INSERT, 2))
+                .andExpect(sql.atMost(4));
+    }
+
+    @Test
+    @DisplayName("DELETE /entries/{id} - load, delete and rollup upkeep (emptied rollup rows are removed)")
+    void testDeleteEntry() throws Exception {
+        Long id = entries.remove(0);
+
+        mockMvc.perform(delete("/entries/{id}", id).with(sql.recording()))
+                .andExpect(status().isNoContent())
+                .andExpect(sql.atMost(DELETE, 2))
+                .andExpect(sql.atMost(4));
+    }
+
+    @Test
+    @DisplayName("GET /events - page, count and grand totals in one statement")
+    void testEventsPage() throws Exception {
+        mockMvc.perform(get("/events").with(sql.recording())
+                        .param("dateFrom", FROM.toString())
+                        .param("dateTo", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5))
+                .andExpect(sql.atMost(1));
+    }
+
+    @Test
+    @DisplayName("PATCH /events/bulk/invoice - one set-based UPDATE and one read-back for all events")
+    void testBulkInvoice() throws Exception {
+        mockMvc.perform(patch("/events/bulk/invoice").with(sql.recording())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", events, "invoiceIssued", true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(events.size()))
+                .andExpect(jsonPath("$.results[0].invoiceIssued").value(true))
+                .andExpect(sql.atMost(UPDATE, 1))
+                .andExpect(sql.atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /events/calendar - one grouped query, no entities")
+    void testEventsCalendar() throws Exception {
+        mockMvc.perform(get("/events/calendar").with(sql.recording())
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TO.getDayOfMonth()))
+                .andExpect(sql.atMost(SELECT, 1))
+                .andExpect(sql.atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /events/kitchen-forecast - one streamed query, then kept current in memory")
+    void testKitchenForecast() throws Exception {
+        mockMvc.perform(get("/events/kitchen-forecast").with(sql.recording())
+                        .param("from", FROM.toString())
+                        .param("to", FROM.plusDays(89).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(90))
+                .andExpect(sql.atMost(1));
+
+        mockMvc.perform(get("/events/kitchen-forecast").with(sql.recording())
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].events").value(1))
+                .andExpect(sql.none());
+    }
+
+    @Test
+    @DisplayName("GET /reports/summary - one grouped query, then served from the cache")
+    void testReportSummary() throws Exception {
+        mockMvc.perform(get("/reports/summary").with(sql.recording())
+                        .param("fromDate", FROM.toString())
+                        .param("toDate", TO.toString())
+                        .param("groupBy", "person", "category", "month"))
+                .andExpect(status().isOk())
+                .andExpect(sql.atMost(1));
+
+        mockMvc.perform(get("/reports/summary").with(sql.recording())
+                        .param("fromDate", FROM.toString())
+                        .param("toDate", TO.toString())
+                        .param("groupBy", "person", "category", "month"))
+                .andExpect(status().isOk())
+                .andExpect(sql.none());
+    }
+
+    @Test
+    @DisplayName("GET /reports/query - one grouped query")
+    void testReportQuery() throws Exception {
+        mockMvc.perform(get("/reports/query").with(sql.recording())
+                        .param("groupBy", "person", "week")
+                        .param("fromDate", FROM.toString())
+                        .param("toDate", TO.toString())
+                        .param("rollup", "true"))
+                .andExpect(status().isOk())
+                .andExpect(sql.atMost(SELECT, 1))
+                .andExpect(sql.atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /persons/options and /categories/options - answered from the reference data cache")
+    void testOptions() throws Exception {
+        mockMvc.perform(get("/persons/options").with(sql.recording()))
+                .andExpect(status().isOk())
+                .andExpect(sql.none());
+
+        mockMvc.perform(get("/categories/options").with(sql.recording()))
+                .andExpect(status().isOk())
+                .andExpect(sql.none());
+    }
+
+    @Test
+    @DisplayName("GET /audit - page and count")
+    void testAuditPage() throws Exception {
+        mockMvc.perform(get("/audit").with(sql.recording()))
+                .andExpect(status().isOk())
+                .andExpect(sql.atMost(2));
+    }
+
+    private static EntryDto entry(LocalDate date, Long personId, Long categoryId) {
+        EntryDto entry = new EntryDto();
+        entry.setDate(date);
+        entry.setDescription("Budget entry");
+        entry.setPersonId(personId);
+        entry.setCategoryId(categoryId);
+        entry.setWorkHours(new BigDecimal("2.00"));
+        entry.setAmountPaid(new BigDecimal("50.00"));
+        entry.setAmountDue(new BigDecimal("10.00"));
+        return entry;
+    }
+}
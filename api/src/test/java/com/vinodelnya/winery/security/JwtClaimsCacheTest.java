@@ -0,0 +1,86 @@
+package com.vinodelnya.winery.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtClaimsCache Tests")
+class JwtClaimsCacheTest {
+
+    private static final String SECRET = "test-secret-key-for-junit-tests-only-not-for-production";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated requests from the cache")
+    void testCachesVerifiedToken() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, 7200000);
+        JwtClaimsCache cache = new JwtClaimsCache(jwtUtil, meterRegistry, 100);
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+
+        // Act
+        Optional<JwtClaimsCache.VerifiedToken> first = cache.verify(token);
+        Optional<JwtClaimsCache.VerifiedToken> second = cache.verify(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("admin", second.orElseThrow().username());
+        assertEquals("ADMIN", second.orElseThrow().role());
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.misses").count());
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.hits").count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid tokens without caching them")
+    void testRejectsInvalidToken() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, 7200000);
+        JwtClaimsCache cache = new JwtClaimsCache(jwtUtil, meterRegistry, 100);
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(cache.verify(tampered).isEmpty());
+        assertTrue(cache.verify("not-a-jwt").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stop serving a cached token once it expires")
+    void testEvictsAtExpiry() throws Exception {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 1500, 7200000);
+        JwtClaimsCache cache = new JwtClaimsCache(jwtUtil, meterRegistry, 100);
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+        assertTrue(cache.verify(token).isPresent());
+
+        // Act
+        Thread.sleep(2000);
+
+        // Assert
+        assertTrue(cache.verify(token).isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should keep at most the configured number of tokens")
+    void testBoundedSize() {
+        // Arrange
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, 7200000);
+        JwtClaimsCache cache = new JwtClaimsCache(jwtUtil, meterRegistry, 2);
+
+        // Act
+        cache.verify(jwtUtil.generateToken("alice", "USER"));
+        cache.verify(jwtUtil.generateToken("bob", "USER"));
+        cache.verify(jwtUtil.generateToken("carol", "USER"));
+
+        // Assert
+        assertEquals(2, cache.size());
+    }
+}
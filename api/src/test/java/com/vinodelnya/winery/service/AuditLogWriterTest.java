@@ -0,0 +1,231 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.entity.AuditLog;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AuditLogWriter Integration Tests")
+class AuditLogWriterTest {
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Committed changes should be batch-inserted into audit_log")
+    void testCommittedChangesAreWritten() {
+        // Arrange
+        Person person = createPerson(41L, "Audited Person");
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            auditService.logCreate("persons", 41L, person);
+            auditService.logDelete("persons", 41L, person);
+        });
+        auditLogWriter.flush();
+
+        // Assert
+        List<AuditLog> logs = auditLogRepository.findAll();
+        assertEquals(2, logs.size());
+        assertEquals("Audited Person", logs.get(0).getNewValues() != null
+                ? logs.get(0).getNewValues().get("name").asText()
+                : logs.get(0).getOldValues().get("name").asText());
+        assertEquals("system", logs.get(0).getChangedBy());
+    }
+
+    @Test
+    @DisplayName("Rolled back changes should not be audited")
+    void testRolledBackChangesAreNotWritten() {
+        // Arrange
+        Person person = createPerson(42L, "Rolled Back Person");
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            auditService.logCreate("persons", 42L, person);
+            status.setRollbackOnly();
+        });
+        auditLogWriter.flush();
+
+        // Assert
+        assertEquals(0, auditLogRepository.count());
+    }
+
+    @Test
+    @DisplayName("Backpressure DROP - A full queue should drop the record and count it")
+    void testBackpressureDrop() throws Exception {
+        // Arrange
+        StalledDatabase database = new StalledDatabase();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditLogWriter writer = writer(database, registry, AuditLogWriter.BackpressurePolicy.DROP);
+        writer.start();
+
+        // Act
+        writer.submit(audit(1L));
+        assertTrue(database.writing.await(5, TimeUnit.SECONDS));
+        writer.submit(audit(2L));
+        writer.submit(audit(3L));
+        database.release.countDown();
+        writer.stop();
+
+        // Assert
+        assertEquals(1.0, registry.counter("audit.writer.dropped").count());
+        assertEquals(2, database.written.get());
+    }
+
+    @Test
+    @DisplayName("Backpressure CALLER_RUNS - A full queue should write the record on the calling thread")
+    void testBackpressureCallerRuns() throws Exception {
+        // Arrange
+        StalledDatabase database = new StalledDatabase();
+        AuditLogWriter writer = writer(database, new SimpleMeterRegistry(), AuditLogWriter.BackpressurePolicy.CALLER_RUNS);
+        writer.start();
+
+        // Act
+        writer.submit(audit(1L));
+        assertTrue(database.writing.await(5, TimeUnit.SECONDS));
+        writer.submit(audit(2L));
+        writer.submit(audit(3L));
+        int writtenWhileStalled = database.written.get();
+        database.release.countDown();
+        writer.stop();
+
+        // Assert
+        assertEquals(1, writtenWhileStalled);
+        assertTrue(database.threads.contains(Thread.currentThread().getName()));
+        assertEquals(3, database.written.get());
+    }
+
+    @Test
+    @DisplayName("flush - Should wait for a batch the worker has taken off the queue")
+    void testFlushWaitsForTheWorker() throws Exception {
+        // Arrange
+        StalledDatabase database = new StalledDatabase();
+        AuditLogWriter writer = writer(database, new SimpleMeterRegistry(), AuditLogWriter.BackpressurePolicy.DROP);
+        writer.start();
+        writer.submit(audit(1L));
+        assertTrue(database.writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<Void> flushed = CompletableFuture.runAsync(writer::flush);
+        Thread.sleep(200);
+        boolean flushedWhileStalled = flushed.isDone();
+        database.release.countDown();
+        flushed.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(flushedWhileStalled);
+        assertEquals(1, database.written.get());
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("stop - Should write everything still queued and write later records synchronously")
+    void testStopWritesTheQueue() throws Exception {
+        // Arrange
+        StalledDatabase database = new StalledDatabase();
+        AuditLogWriter writer = new AuditLogWriter(database.jdbcTemplate, new SimpleMeterRegistry(),
+                10, 100, 50, 10, 5000, AuditLogWriter.BackpressurePolicy.DROP);
+        writer.start();
+        writer.submit(audit(1L));
+        assertTrue(database.writing.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 5; id++) {
+            writer.submit(audit(id));
+        }
+
+        // Act
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(writer::stop);
+        Thread.sleep(100);
+        database.release.countDown();
+        stopped.get(10, TimeUnit.SECONDS);
+        writer.submit(audit(6L));
+
+        // Assert
+        assertEquals(6, database.written.get());
+    }
+
+    // Capacity 1 and batches of 1, so a stalled worker leaves room for exactly one queued record
+    private static AuditLogWriter writer(StalledDatabase database, SimpleMeterRegistry registry,
+                                         AuditLogWriter.BackpressurePolicy policy) {
+        return new AuditLogWriter(database.jdbcTemplate, registry, 1, 1, 50, 10, 5000, policy);
+    }
+
+    private static AuditLog audit(Long recordId) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setTableName("persons");
+        auditLog.setRecordId(recordId);
+        auditLog.setAction(AuditLog.AuditAction.INSERT);
+        return auditLog;
+    }
+
+    // Writes made by the audit-writer thread wait until released; the rows are only counted
+    private static final class StalledDatabase {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger written = new AtomicInteger();
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        private StalledDatabase() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+                threads.add(Thread.currentThread().getName());
+                if (Thread.currentThread().getName().equals("audit-writer")) {
+                    writing.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                written.addAndGet(((Collection<?>) invocation.getArgument(1)).size());
+                return new int[0][];
+            });
+        }
+    }
+
+    private Person createPerson(Long id, String name) {
+        Person person = new Person();
+        person.setId(id);
+        person.setName(name);
+        return person;
+    }
+}
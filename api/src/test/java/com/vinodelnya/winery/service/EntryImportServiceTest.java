@@ -0,0 +1,143 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryImportResult;
+import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("EntryImportService Integration Tests")
+class EntryImportServiceTest {
+
+    @Autowired
+    private EntryImportService entryImportService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EntryRollupService entryRollupService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @DisplayName("importEntries - Should insert valid rows and report the invalid ones")
+    void testImportReportsPerRowErrors() {
+        // Arrange
+        Person person = createPerson("Import Worker");
+        Category category = createCategory("Import Category");
+        EntryDto valid = entryDto(person.getId(), category.getId(), "8.00", "80.00");
+        EntryDto missingPerson = entryDto(999999L, category.getId(), "1.00", "10.00");
+        EntryDto negative = entryDto(person.getId(), category.getId(), "-1.00", "10.00");
+        EntryDto tooManyHours = entryDto(person.getId(), category.getId(), "1000.00", "10.00");
+        EntryDto alsoValid = entryDto(person.getId(), category.getId(), "4.50", "45.00");
+
+        // Act
+        EntryImportResult result = entryImportService.importEntries(
+                List.of(valid, missingPerson, negative, tooManyHours, alsoValid));
+
+        // Assert
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertEquals(List.of(2, 3, 4), result.getErrors().stream().map(EntryImportResult.RowError::row).toList());
+        assertEquals("Person not found with id: 999999", result.getErrors().get(0).message());
+
+        PageResponse<EntryDto> imported = entryService.findAll(null, null, person.getId(), null, null,
+                PageRequest.of(0, 10));
+        assertEquals(2, imported.getTotalElements());
+        Map<String, BigDecimal> totals = entryRollupService.calculateTotals(null, null, person.getId(), null);
+        assertEquals(0, new BigDecimal("12.50").compareTo(totals.get("workHours")));
+        assertEquals(0, new BigDecimal("125.00").compareTo(totals.get("amountPaid")));
+    }
+
+    @Test
+    @DisplayName("importFile - Should import CSV uploads with quoted values and parse errors")
+    void testImportCsv() throws Exception {
+        // Arrange
+        Person person = createPerson("Csv Worker");
+        Category category = createCategory("Csv Category");
+        String csv = "Date,Description,Person ID,Category ID,Work Hours,Amount Paid,Amount Due\n"
+                + "2025-09-01,\"Picking, row 4\"," + person.getId() + "," + category.getId() + ",8,80,0\n"
+                + "not-a-date,Broken," + person.getId() + "," + category.getId() + ",1,1,0\n"
+                + "2025-09-02,Sorting," + person.getId() + "," + category.getId() + ",2.5,25,5\n";
+
+        // Act
+        EntryImportResult result = entryImportService.importFile("harvest.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(3, result.getErrors().get(0).row());
+
+        PageResponse<EntryDto> imported = entryService.findAll(null, null, person.getId(), null, null,
+                PageRequest.of(0, 10));
+        assertEquals(2, imported.getTotalElements());
+        assertEquals(1, imported.getContent().stream()
+                .filter(entry -> "Picking, row 4".equals(entry.getDescription()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("importFile - Should reject other file types as an unsupported import format")
+    void testImportRejectsUnknownExtension() {
+        // Act
+        InvalidRequestException error = assertThrows(InvalidRequestException.class,
+                () -> entryImportService.importFile("harvest.txt", new ByteArrayInputStream(new byte[0])));
+
+        // Assert
+        assertEquals("Unsupported import format (expected csv or xlsx)", error.getMessage());
+    }
+
+    private Person createPerson(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return personRepository.save(person);
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private EntryDto entryDto(Long personId, Long categoryId, String workHours, String amountPaid) {
+        EntryDto dto = new EntryDto();
+        dto.setDate(LocalDate.of(2025, 9, 15));
+        dto.setDescription("Harvest");
+        dto.setPersonId(personId);
+        dto.setCategoryId(categoryId);
+        dto.setWorkHours(new BigDecimal(workHours));
+        dto.setAmountPaid(new BigDecimal(amountPaid));
+        dto.setAmountDue(BigDecimal.ZERO);
+        return dto;
+    }
+}
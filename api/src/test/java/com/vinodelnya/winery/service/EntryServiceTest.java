@@ -0,0 +1,323 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EntryPageTotals;
+import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.dto.RollupConsistencyReport;
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Entry;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("EntryService Integration Tests")
+class EntryServiceTest {
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EntryRollupService entryRollupService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("findAll without filters - Grand totals should not hydrate Entry entities")
+    void testUnfilteredGrandTotalsDoNotLoadEntities() {
+        // Arrange
+        Person person = createPerson("Totals Worker");
+        Category category = createCategory("Totals Category");
+        for (int i = 1; i <= 5; i++) {
+            createEntry(person, category, LocalDate.of(2025, 9, i), "1.50", "10.00", "2.25");
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        PageResponse<EntryDto> response = entryService.findAll(null, null, null, null, null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "date")));
+
+        // Assert
+        assertEquals(2, response.getContent().size());
+        assertEquals(2, statistics.getEntityStatistics(Entry.class.getName()).getLoadCount(),
+                "Only the requested page should be loaded as Entry entities");
+        assertEquals(0, new BigDecimal("7.50").compareTo(response.getGrandTotal().get("workHours")));
+        assertEquals(0, new BigDecimal("50.00").compareTo(response.getGrandTotal().get("amountPaid")));
+        assertEquals(0, new BigDecimal("11.25").compareTo(response.getGrandTotal().get("amountDue")));
+        assertEquals(0, new BigDecimal("61.25").compareTo(response.getGrandTotal().get("total")));
+        assertEquals(new EntryPageTotals(new BigDecimal("20.00"), new BigDecimal("4.50"), new BigDecimal("24.50"),
+                new BigDecimal("3.00")), response.getPageTotal());
+    }
+
+    @Test
+    @DisplayName("findAll - A page should load persons and categories with the entries, not one select each")
+    void testFindAllHasNoNPlusOneSelects() {
+        // Arrange
+        for (int i = 1; i <= 6; i++) {
+            createEntry(createPerson("Fetch Worker " + i), createCategory("Fetch Category " + i),
+                    LocalDate.of(2033, 4, i), "1.00", "10.00", "0.00");
+        }
+        entityManager.flush();
+        entityManager.clear();
+        referenceDataCache.persons(null);
+        referenceDataCache.categories(null);
+        statistics.clear();
+
+        // Act
+        PageResponse<EntryDto> response = entryService.findAll(LocalDate.of(2033, 4, 1), LocalDate.of(2033, 4, 30),
+                null, null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "workHours")));
+
+        // Assert
+        assertEquals(6, response.getContent().size());
+        assertTrue(response.getContent().stream().allMatch(entry ->
+                entry.getPersonName().startsWith("Fetch Worker") && entry.getCategoryName().startsWith("Fetch Category")));
+        // Page with its count, then the rollup totals; this transaction's own writes keep them out of the cache
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("create/update/delete - Rollup should stay consistent with a full scan")
+    void testRollupFollowsWrites() {
+        // Arrange
+        Person person = createPerson("Rollup Worker");
+        Category vineyard = createCategory("Rollup Vineyard");
+        Category cellar = createCategory("Rollup Cellar");
+        EntryDto first = createEntry(person, vineyard, LocalDate.of(2025, 9, 1), "8.00", "320.00", "0.00");
+        EntryDto second = createEntry(person, vineyard, LocalDate.of(2025, 9, 1), "2.00", "80.00", "20.00");
+        createEntry(person, cellar, LocalDate.of(2025, 9, 2), "4.00", "160.00", "0.00");
+
+        // Act
+        entryService.update(first.getId(), entryDto(person, cellar, LocalDate.of(2025, 9, 2), "6.00", "240.00", "0.00"));
+        entryService.update(second.getId(), entryDto(person, vineyard, LocalDate.of(2025, 9, 1), "3.00", "120.00", "0.00"));
+        entityManager.flush();
+
+        // Assert
+        Map<String, BigDecimal> cellarTotals = entryRollupService.calculateTotals(null, null, null, cellar.getId());
+        assertEquals(0, new BigDecimal("10.00").compareTo(cellarTotals.get("workHours")));
+        assertEquals(0, new BigDecimal("400.00").compareTo(cellarTotals.get("total")));
+        Map<String, BigDecimal> septemberFirst = entryRollupService.calculateTotals(
+                LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 1), person.getId(), null);
+        assertEquals(0, new BigDecimal("120.00").compareTo(septemberFirst.get("amountPaid")));
+        assertTrue(entryRollupService.checkConsistency().isConsistent());
+
+        // Act
+        entryService.delete(second.getId());
+        entityManager.flush();
+
+        // Assert
+        RollupConsistencyReport report = entryRollupService.checkConsistency();
+        assertTrue(report.isConsistent(), () -> String.join("\n", report.getMismatches()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(entryRollupService.calculateTotals(
+                null, null, null, vineyard.getId()).get("total")));
+    }
+
+    @Test
+    @DisplayName("rebuild - Should recreate the rollup from the entries table")
+    void testRollupRebuild() {
+        // Arrange
+        Person person = createPerson("Rebuild Worker");
+        Category category = createCategory("Rebuild Category");
+        createEntry(person, category, LocalDate.of(2025, 10, 1), "5.00", "200.00", "50.00");
+        createEntry(person, category, LocalDate.of(2025, 10, 2), "5.00", "200.00", "50.00");
+        entityManager.flush();
+
+        // Act
+        int groups = entryRollupService.rebuild();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(2, groups);
+        assertTrue(entryRollupService.checkConsistency().isConsistent());
+        assertEquals(0, new BigDecimal("500.00").compareTo(
+                entryRollupService.calculateTotals(null, null, person.getId(), null).get("total")));
+    }
+
+    @Test
+    @DisplayName("findAllAfter - Cursor pages should walk (date, id) descending without gaps")
+    void testCursorPaging() {
+        // Arrange
+        Person person = createPerson("Cursor Worker");
+        Category category = createCategory("Cursor Category");
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createEntry(person, category, LocalDate.of(2025, 9, 1 + i / 2), "1.00", "1.00", "0.00").getId());
+        }
+        entityManager.flush();
+
+        // Act
+        List<EntryDto> seen = new ArrayList<>();
+        PageResponse<EntryDto> page = entryService.findAllAfter(null, null, person.getId(), null, null, "", 2);
+        assertTrue(page.isFirst());
+        seen.addAll(page.getContent());
+        while (page.getNextCursor() != null) {
+            page = entryService.findAllAfter(null, null, person.getId(), null, null, page.getNextCursor(), 2);
+            seen.addAll(page.getContent());
+        }
+
+        // Assert
+        assertTrue(page.isLast());
+        assertEquals(-1, page.getTotalElements());
+        assertEquals(created, seen.stream().map(EntryDto::getId).collect(Collectors.toSet()));
+        assertEquals(5, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            EntryDto previous = seen.get(i - 1);
+            EntryDto current = seen.get(i);
+            assertTrue(previous.getDate().isAfter(current.getDate())
+                    || (previous.getDate().equals(current.getDate()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("findAllAfter - Description should filter cursor pages and their grand totals like offset pages")
+    void testCursorPagingHonoursDescription() {
+        // Arrange
+        Person person = createPerson("Cursor Description Worker");
+        Category category = createCategory("Cursor Description Category");
+        for (int day = 1; day <= 12; day++) {
+            createEntry(person, category, LocalDate.of(2032, 3, day), "1.00", "10.00", "1.00");
+        }
+        entityManager.flush();
+
+        // Act
+        PageResponse<EntryDto> cursor = entryService.findAllAfter(null, null, person.getId(), null,
+                "ENTRY 2032-03-1", "", 10);
+        PageResponse<EntryDto> offset = entryService.findAll(null, null, person.getId(), null,
+                "ENTRY 2032-03-1", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "date")));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2032, 3, 12), LocalDate.of(2032, 3, 11), LocalDate.of(2032, 3, 10)),
+                cursor.getContent().stream().map(EntryDto::getDate).toList());
+        assertEquals(offset.getContent().stream().map(EntryDto::getId).toList(),
+                cursor.getContent().stream().map(EntryDto::getId).toList());
+        assertEquals(0, new BigDecimal("33.00").compareTo(cursor.getGrandTotal().get("total")));
+        assertEquals(0, offset.getGrandTotal().get("workHours").compareTo(cursor.getGrandTotal().get("workHours")));
+    }
+
+    @Test
+    @DisplayName("findAllAfter - Should reject a malformed cursor")
+    void testCursorPagingRejectsMalformedCursor() {
+        assertThrows(InvalidRequestException.class,
+                () -> entryService.findAllAfter(null, null, null, null, null, "not-a-cursor", 2));
+    }
+
+    @Test
+    @DisplayName("findAll - Count and grand totals should honour every filter, also past the last page")
+    void testGrandTotalsFollowFilters() {
+        // Arrange
+        Person person = createPerson("Filter Worker");
+        Category category = createCategory("Filter Category");
+        Person other = createPerson("Other Worker");
+        for (int day = 8; day <= 11; day++) {
+            createEntry(person, category, LocalDate.of(2031, 5, day), "2.00", "100.00", "10.00");
+        }
+        createEntry(other, category, LocalDate.of(2031, 5, 9), "5.00", "500.00", "50.00");
+        LocalDate from = LocalDate.of(2031, 5, 1);
+        LocalDate to = LocalDate.of(2031, 5, 31);
+
+        // Act
+        PageResponse<EntryDto> byPerson = entryService.findAll(from, to, person.getId(), null, null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "date")));
+        PageResponse<EntryDto> byDescription = entryService.findAll(from, to, null, null, " 2031-05-0",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "personName")));
+        PageResponse<EntryDto> pastTheEnd = entryService.findAll(from, to, person.getId(), null, null,
+                PageRequest.of(5, 2, Sort.by(Sort.Direction.ASC, "date")));
+
+        // Assert
+        assertEquals(4, byPerson.getTotalElements());
+        assertEquals(List.of(LocalDate.of(2031, 5, 8), LocalDate.of(2031, 5, 9)),
+                byPerson.getContent().stream().map(EntryDto::getDate).toList());
+        assertEquals(0, new BigDecimal("8.00").compareTo(byPerson.getGrandTotal().get("workHours")));
+        assertEquals(0, new BigDecimal("440.00").compareTo(byPerson.getGrandTotal().get("total")));
+
+        assertEquals(3, byDescription.getTotalElements());
+        assertEquals("Other Worker", byDescription.getContent().get(0).getPersonName());
+        assertEquals(0, new BigDecimal("700.00").compareTo(byDescription.getGrandTotal().get("amountPaid")));
+
+        assertTrue(pastTheEnd.getContent().isEmpty());
+        assertEquals(4, pastTheEnd.getTotalElements());
+        assertEquals(0, new BigDecimal("40.00").compareTo(pastTheEnd.getGrandTotal().get("amountDue")));
+        assertThrows(InvalidRequestException.class, () -> entryService.findAll(from, to, null, null, null,
+                PageRequest.of(0, 10, Sort.by("amount_paid; DROP TABLE entries"))));
+    }
+
+    private Person createPerson(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return personRepository.save(person);
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private EntryDto createEntry(Person person, Category category, LocalDate date,
+                                 String workHours, String amountPaid, String amountDue) {
+        return entryService.create(entryDto(person, category, date, workHours, amountPaid, amountDue));
+    }
+
+    private EntryDto entryDto(Person person, Category category, LocalDate date,
+                              String workHours, String amountPaid, String amountDue) {
+        EntryDto dto = new EntryDto();
+        dto.setDate(date);
+        dto.setDescription("Entry " + date);
+        dto.setPersonId(person.getId());
+        dto.setCategoryId(category.getId());
+        dto.setWorkHours(new BigDecimal(workHours));
+        dto.setAmountPaid(new BigDecimal(amountPaid));
+        dto.setAmountDue(new BigDecimal(amountDue));
+        return dto;
+    }
+}
@@ -0,0 +1,119 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EventBulkUpdateResult;
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.KitchenForecastDay;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("EventBulkUpdateService Integration Tests")
+class EventBulkUpdateServiceTest {
+
+    private static final LocalDate AUGUST_1 = LocalDate.of(2040, 8, 1);
+
+    @Autowired
+    private EventBulkUpdateService eventBulkUpdateService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private KitchenForecastService kitchenForecastService;
+
+    @Test
+    @DisplayName("setInvoiceIssued - Should flip the flag and report unknown ids")
+    void testSetInvoiceIssued() {
+        // Arrange
+        EventDto first = eventService.create(event(AUGUST_1, 10, "250.00"));
+        EventDto second = eventService.create(event(AUGUST_1.plusDays(1), 4, "100.00"));
+
+        // Act
+        EventBulkUpdateResult result = eventBulkUpdateService.setInvoiceIssued(
+                List.of(first.getId(), second.getId(), first.getId(), -1L), true);
+
+        // Assert
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(-1L), result.getNotFound());
+        assertEquals(List.of(first.getId(), second.getId()),
+                result.getResults().stream().map(EventBulkUpdateResult.Item::id).toList());
+        assertTrue(result.getResults().stream().allMatch(EventBulkUpdateResult.Item::invoiceIssued));
+        assertTrue(eventService.findById(second.getId()).getInvoiceIssued());
+        assertEquals(0, new BigDecimal("100.00").compareTo(eventService.findById(second.getId()).getGrandTotal()));
+    }
+
+    @Test
+    @DisplayName("applySpecialPrice - Should reprice the group and recompute totals like Event.calculateTotals")
+    void testApplySpecialPrice() {
+        // Arrange
+        EventDto event = event(AUGUST_1, 8, "200.00");
+        event.setTastingTotal(new BigDecimal("120.00"));
+        event.setAddedWinesValue(new BigDecimal("45.00"));
+        event.setExtraChargeAmount(new BigDecimal("30.00"));
+        Long id = eventService.create(event).getId();
+
+        // Act
+        EventBulkUpdateResult result = eventBulkUpdateService.applySpecialPrice(List.of(id), new BigDecimal("20.00"), null);
+
+        // Assert
+        EventDto repriced = eventService.findById(id);
+        assertTrue(repriced.getSpecialPriceEnabled());
+        assertEquals(0, new BigDecimal("160.00").compareTo(repriced.getLunchTotal()));
+        assertEquals(0, new BigDecimal("120.00").compareTo(repriced.getTastingTotal()));
+        assertEquals(0, new BigDecimal("280.00").compareTo(repriced.getLunchAndTastingTotal()));
+        assertEquals(0, new BigDecimal("355.00").compareTo(repriced.getGrandTotal()));
+        assertEquals(0, new BigDecimal("355.00").compareTo(result.getResults().get(0).grandTotal()));
+        assertThrows(InvalidRequestException.class, () -> eventBulkUpdateService.applySpecialPrice(List.of(id), null, null));
+    }
+
+    @Test
+    @DisplayName("shiftVisitDate - Should move events and keep the kitchen forecast and totals current")
+    void testShiftVisitDate() {
+        // Arrange
+        EventDto event = event(AUGUST_1, 6, "150.00");
+        event.setHotDishMeat("6");
+        Long id = eventService.create(event).getId();
+        kitchenForecastService.getForecast(AUGUST_1, AUGUST_1.plusDays(9));
+        assertEquals(1, eventService.getCalendar(AUGUST_1, AUGUST_1.plusDays(9)).get(0).events());
+
+        // Act
+        EventBulkUpdateResult result = eventBulkUpdateService.shiftVisitDate(List.of(id), 3);
+
+        // Assert
+        assertEquals(AUGUST_1.plusDays(3), result.getResults().get(0).visitDate());
+        assertEquals(AUGUST_1.plusDays(3), eventService.findById(id).getVisitDate());
+        List<KitchenForecastDay> forecast = kitchenForecastService.getForecast(AUGUST_1, AUGUST_1.plusDays(9));
+        assertEquals(0, forecast.get(0).meatPortions());
+        assertEquals(6, forecast.get(3).meatPortions());
+        assertEquals(0, eventService.getCalendar(AUGUST_1, AUGUST_1.plusDays(9)).get(0).events());
+        assertEquals(1, eventService.getCalendar(AUGUST_1, AUGUST_1.plusDays(9)).get(3).events());
+        assertThrows(InvalidRequestException.class, () -> eventBulkUpdateService.shiftVisitDate(List.of(id), 0));
+        assertThrows(InvalidRequestException.class, () -> eventBulkUpdateService.shiftVisitDate(List.of(), 1));
+    }
+
+    private static EventDto event(LocalDate date, int lunchGuests, String lunchTotal) {
+        EventDto event = new EventDto();
+        event.setVisitDate(date);
+        event.setVisitTime(LocalTime.of(12, 0));
+        event.setContactName("Bulk Guest");
+        event.setAdultLunchGuests(lunchGuests);
+        event.setLunchGroupSize(lunchGuests);
+        event.setLunchTotal(new BigDecimal(lunchTotal));
+        return event;
+    }
+}
@@ -0,0 +1,151 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.EventPageTotals;
+import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("EventSearchService Integration Tests")
+class EventSearchServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2037, 5, 1);
+    private static final LocalDate TO = LocalDate.of(2037, 5, 31);
+    private static final PageRequest NEWEST_FIRST = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "visitDate"));
+
+    @Autowired
+    private EventService eventService;
+
+    private Long mukhraniEstate;
+
+    @BeforeEach
+    void setUp() {
+        eventService.create(event(1, "Château Mukhrani", "Nino Beridze"));
+        mukhraniEstate = eventService.create(event(2, "Mukhrani Estate", "Levan Kapanadse")).getId();
+        eventService.create(event(3, "Tbilisi Wine Tours", "Giorgi Kapanadze"));
+        eventService.create(event(4, null, "Nina Berg"));
+    }
+
+    @Test
+    @DisplayName("Should match company substrings regardless of case in the requested order")
+    void testSubstringSearch() {
+        // Act
+        PageResponse<EventDto> page = search("MUKHRANI", null, false, NEWEST_FIRST);
+
+        // Assert
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Mukhrani Estate", "Château Mukhrani"),
+                page.getContent().stream().map(EventDto::getCompany).toList());
+        assertEquals(new BigDecimal("30.00"), ((EventPageTotals) page.getPageTotal()).extraChargeAmount());
+        assertEquals(1, search(null, "kapanadse ", false, NEWEST_FIRST).getTotalElements());
+        assertEquals(0, search("100%", null, false, NEWEST_FIRST).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Fuzzy search - Should tolerate typos and rank exact matches first")
+    void testFuzzySearch() {
+        // Act
+        PageResponse<EventDto> exact = search(null, "kapanadze", false, NEWEST_FIRST);
+        PageResponse<EventDto> fuzzy = search(null, "kapanadze", true, NEWEST_FIRST);
+
+        // Assert
+        assertEquals(List.of("Giorgi Kapanadze"), exact.getContent().stream().map(EventDto::getContactName).toList());
+        // The typo'd contact is the newer visit but ranks below the exact match
+        assertEquals(List.of("Giorgi Kapanadze", "Levan Kapanadse"),
+                fuzzy.getContent().stream().map(EventDto::getContactName).toList());
+        assertEquals(2, fuzzy.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should require both terms to match and honour the other filters")
+    void testCombinedFilters() {
+        // Act
+        PageResponse<EventDto> both = search("mukhrani", "nino", false, NEWEST_FIRST);
+        PageResponse<EventDto> outsideRange = eventService.findAll(FROM.plusDays(2), TO, "mukhrani", null,
+                null, null, null, false, NEWEST_FIRST);
+
+        // Assert
+        assertEquals(List.of("Château Mukhrani"), both.getContent().stream().map(EventDto::getCompany).toList());
+        assertEquals(List.of("Mukhrani Estate"), outsideRange.getContent().stream().map(EventDto::getCompany).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep the index current when events change")
+    void testIndexFollowsWrites() {
+        // Arrange
+        search("mukhrani", null, false, NEWEST_FIRST);
+        EventDto renamed = eventService.findById(mukhraniEstate);
+        renamed.setCompany("Kindzmarauli Cellars");
+
+        // Act
+        eventService.update(mukhraniEstate, renamed);
+
+        // Assert
+        assertEquals(1, search("mukhrani", null, false, NEWEST_FIRST).getTotalElements());
+        assertEquals(1, search("cellars", null, false, NEWEST_FIRST).getTotalElements());
+        eventService.delete(mukhraniEstate);
+        assertEquals(0, search("cellars", null, false, NEWEST_FIRST).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should page through matches and reject unknown sort properties")
+    void testPagingAndSort() {
+        // Act
+        PageResponse<EventDto> second = search("i", null, false,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "company")));
+
+        // Assert
+        assertEquals(3, second.getTotalElements());
+        assertEquals(2, second.getTotalPages());
+        assertEquals(List.of("Tbilisi Wine Tours"), second.getContent().stream().map(EventDto::getCompany).toList());
+        assertThrows(InvalidRequestException.class, () -> search("i", null, false,
+                PageRequest.of(0, 10, Sort.by("contactPhone; DROP TABLE events"))));
+    }
+
+    @Test
+    @DisplayName("Cursor pages - Should keep the search terms on every page and in the grand totals")
+    void testCursorSearch() {
+        // Act
+        PageResponse<EventDto> first = eventService.findAllAfter(FROM, TO, "mukhrani", null, null, null, null, "", 1);
+        PageResponse<EventDto> second = eventService.findAllAfter(FROM, TO, "mukhrani", null, null, null, null,
+                first.getNextCursor(), 1);
+
+        // Assert
+        assertEquals(List.of("Mukhrani Estate"), first.getContent().stream().map(EventDto::getCompany).toList());
+        assertEquals(List.of("Château Mukhrani"), second.getContent().stream().map(EventDto::getCompany).toList());
+        assertNull(second.getNextCursor());
+        assertEquals(0, new BigDecimal("30").compareTo(second.getGrandTotal().get("grandTotal")));
+    }
+
+    private PageResponse<EventDto> search(String company, String contactName, boolean fuzzy, PageRequest pageable) {
+        return eventService.findAll(FROM, TO, company, contactName, null, null, null, fuzzy, pageable);
+    }
+
+    private static EventDto event(int day, String company, String contactName) {
+        EventDto event = new EventDto();
+        event.setVisitDate(FROM.plusDays(day));
+        event.setVisitTime(LocalTime.of(12, 0));
+        event.setCompany(company);
+        event.setContactName(contactName);
+        event.setExtraChargeAmount(BigDecimal.valueOf(day * 10L));
+        return event;
+    }
+}
@@ -0,0 +1,125 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EventCalendarDay;
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.PageResponse;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("EventService Integration Tests")
+class EventServiceTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2038, 6, 1);
+
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    @DisplayName("getCalendar - Should aggregate guests, masterclasses and revenue per day, zero-filled")
+    void testCalendar() {
+        // Arrange
+        eventService.create(event(JUNE_1.plusDays(2), 10, 6, 2, true, true, "500.00"));
+        eventService.create(event(JUNE_1.plusDays(2), 4, 4, 0, false, false, "120.00"));
+        eventService.create(event(JUNE_1.plusDays(5), 2, 0, 1, true, false, "80.00"));
+        eventService.create(event(JUNE_1.plusDays(40), 30, 30, 0, false, true, "900.00"));
+
+        // Act
+        List<EventCalendarDay> calendar = eventService.getCalendar(JUNE_1, JUNE_1.plusDays(29));
+
+        // Assert
+        assertEquals(30, calendar.size());
+        assertEquals(JUNE_1, calendar.get(0).date());
+        assertEquals(EventCalendarDay.empty(JUNE_1), calendar.get(0));
+
+        EventCalendarDay busy = calendar.get(2);
+        assertEquals(2L, busy.events());
+        assertEquals(14L, busy.adultLunchGuests());
+        assertEquals(10L, busy.adultTastingGuests());
+        assertEquals(2L, busy.childrenGuests());
+        assertEquals(1L, busy.masterclasses());
+        assertEquals(0, new BigDecimal("620.00").compareTo(busy.revenue()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(busy.invoiced()));
+        assertEquals(0, new BigDecimal("120.00").compareTo(busy.uninvoiced()));
+
+        assertEquals(1L, calendar.get(5).masterclasses());
+        assertEquals(0, new BigDecimal("80.00").compareTo(calendar.get(5).uninvoiced()));
+        assertEquals(3L, calendar.stream().mapToLong(EventCalendarDay::events).sum());
+    }
+
+    @Test
+    @DisplayName("getCalendar - Should see events changed after a cached read")
+    void testCalendarInvalidation() {
+        // Arrange
+        eventService.getCalendar(JUNE_1, JUNE_1.plusDays(6));
+
+        // Act
+        eventService.create(event(JUNE_1.plusDays(3), 5, 5, 0, false, false, "200.00"));
+
+        // Assert
+        assertEquals(1L, eventService.getCalendar(JUNE_1, JUNE_1.plusDays(6)).get(3).events());
+    }
+
+    @Test
+    @DisplayName("getCalendar - Should reject reversed and overlong ranges")
+    void testCalendarValidation() {
+        assertThrows(InvalidRequestException.class, () -> eventService.getCalendar(JUNE_1, JUNE_1.minusDays(1)));
+        assertThrows(InvalidRequestException.class, () -> eventService.getCalendar(JUNE_1, JUNE_1.plusYears(2)));
+        assertEquals(366, eventService.getCalendar(JUNE_1, JUNE_1.plusDays(365)).size());
+    }
+
+    @Test
+    @DisplayName("findAll - Count and grand totals should honour the flag filters")
+    void testGrandTotalsFollowFilters() {
+        // Arrange
+        eventService.create(event(JUNE_1, 10, 0, 0, true, true, "500.00"));
+        eventService.create(event(JUNE_1.plusDays(1), 4, 0, 0, true, false, "120.00"));
+        eventService.create(event(JUNE_1.plusDays(2), 2, 0, 0, false, false, "80.00"));
+
+        // Act
+        PageResponse<EventDto> masterclasses = eventService.findAll(JUNE_1, JUNE_1.plusDays(29), null, null,
+                null, true, null, PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "visitDate")));
+        PageResponse<EventDto> uninvoiced = eventService.findAll(JUNE_1, JUNE_1.plusDays(29), null, null,
+                null, null, false, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "visitDate")));
+
+        // Assert
+        assertEquals(1, masterclasses.getContent().size());
+        assertEquals(2, masterclasses.getTotalElements());
+        assertEquals(0, new BigDecimal("620.00").compareTo(masterclasses.getGrandTotal().get("grandTotal")));
+        assertEquals(0, new BigDecimal("620.00").compareTo(masterclasses.getGrandTotal().get("lunchTotal")));
+        assertEquals(2, uninvoiced.getTotalElements());
+        assertEquals(0, new BigDecimal("200.00").compareTo(uninvoiced.getGrandTotal().get("grandTotal")));
+    }
+
+    private static EventDto event(LocalDate date, int lunchGuests, int tastingGuests, int children,
+                                  boolean masterclass, boolean invoiced, String lunchTotal) {
+        EventDto event = new EventDto();
+        event.setVisitDate(date);
+        event.setVisitTime(LocalTime.of(13, 0));
+        event.setContactName("Calendar Guest");
+        event.setAdultLunchGuests(lunchGuests);
+        event.setAdultTastingGuests(tastingGuests);
+        event.setChildrenGuests(children);
+        event.setMasterclass(masterclass);
+        event.setInvoiceIssued(invoiced);
+        // The grand total is derived from the line totals when the event is saved
+        event.setLunchTotal(new BigDecimal(lunchTotal));
+        return event;
+    }
+}
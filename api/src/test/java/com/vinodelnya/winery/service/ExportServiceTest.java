@@ -0,0 +1,201 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ExportService Integration Tests")
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("CSV export - Should stream all filtered rows followed by a totals row")
+    void testCsvExportIncludesTotals() throws Exception {
+        // Arrange
+        Person person = createPerson("Export, Worker");
+        Category category = createCategory("Export Category");
+        for (int i = 1; i <= 25; i++) {
+            createEntry(person, category, LocalDate.of(2025, 7, i), "1.50", "10.00", "2.00");
+        }
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.exportEntries(ExportFormat.CSV, null, null, person.getId(), null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(25, exported);
+        assertEquals(27, lines.length);
+        assertTrue(lines[0].endsWith("Date,Description,Person,Category,Work Hours,Amount Paid,Amount Due"));
+        assertTrue(lines[1].startsWith("2025-07-25,"));
+        assertTrue(lines[1].contains("\"Export, Worker\""));
+        assertEquals("Total,25 entries,,,37.50,250.00,50.00", lines[26]);
+    }
+
+    @Test
+    @DisplayName("CSV export - Should keep text cells from being read as formulas")
+    void testCsvExportEscapesFormulas() throws Exception {
+        // Arrange
+        Person person = createPerson("=HYPERLINK(\"http://example.com\", \"Worker\")");
+        Category category = createCategory("@Formula Category");
+        createEntry(person, category, LocalDate.of(2025, 6, 1), "1.00", "10.00", "0.00");
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportEntries(ExportFormat.CSV, null, null, person.getId(), null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("2025-06-01,Entry 2025-06-01,\"'=HYPERLINK(\"\"http://example.com\"\", \"\"Worker\"\")\","
+                + "'@Formula Category,1.00,10.00,0.00", lines[1]);
+    }
+
+    @Test
+    @DisplayName("CSV export - Should apply the description filter like the entries list")
+    void testEntryExportDescription() throws Exception {
+        // Arrange
+        Person person = createPerson("Description Worker");
+        Category category = createCategory("Description Category");
+        createEntry(person, category, LocalDate.of(2025, 10, 1), "1.00", "10.00", "0.00");
+        createEntry(person, category, LocalDate.of(2025, 10, 2), "2.00", "20.00", "0.00");
+        createEntry(person, category, LocalDate.of(2025, 11, 1), "3.00", "30.00", "0.00");
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.exportEntries(ExportFormat.CSV, null, null, person.getId(), null,
+                " ENTRY 2025-10", out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, exported);
+        assertEquals("Total,2 entries,,,3.00,30.00,0.00", lines[3]);
+    }
+
+    @Test
+    @DisplayName("XLSX export - Should produce a workbook with data and totals rows")
+    void testXlsxExport() throws Exception {
+        // Arrange
+        Person person = createPerson("Xlsx Worker");
+        Category category = createCategory("Xlsx Category");
+        createEntry(person, category, LocalDate.of(2025, 8, 1), "2.00", "20.00", "5.00");
+        createEntry(person, category, LocalDate.of(2025, 8, 2), "3.00", "30.00", "0.00");
+        createEntry(person, category, LocalDate.of(2025, 9, 1), "4.00", "40.00", "1.00");
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportEntries(ExportFormat.XLSX, LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31),
+                person.getId(), null, null, out);
+
+        // Assert
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Entries");
+            assertEquals(3, sheet.getLastRowNum());
+            assertEquals("Xlsx Worker", sheet.getRow(1).getCell(2).getStringCellValue());
+            Row totals = sheet.getRow(3);
+            assertEquals("Total", totals.getCell(0).getStringCellValue());
+            assertEquals(50.0, totals.getCell(5).getNumericCellValue(), 0.001);
+        }
+    }
+
+    @Test
+    @DisplayName("CSV export - Should apply the company and contact name search like the events list")
+    void testEventExportSearch() throws Exception {
+        // Arrange
+        LocalDate visitDate = LocalDate.of(2036, 4, 1);
+        createEvent(visitDate, "Export Cellars", "Ana Export");
+        createEvent(visitDate, "Export Cellars", "Irakli Other");
+        createEvent(visitDate, "Unrelated Tours", "Ana Export");
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.exportEvents(ExportFormat.CSV, visitDate, visitDate, "export cellars",
+                "ana", null, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, exported);
+        assertTrue(lines[1].contains("Export Cellars,Ana Export"));
+    }
+
+    private void createEvent(LocalDate visitDate, String company, String contactName) {
+        EventDto event = new EventDto();
+        event.setVisitDate(visitDate);
+        event.setVisitTime(LocalTime.NOON);
+        event.setCompany(company);
+        event.setContactName(contactName);
+        eventService.create(event);
+    }
+
+    private Person createPerson(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return personRepository.save(person);
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private void createEntry(Person person, Category category, LocalDate date,
+                             String workHours, String amountPaid, String amountDue) {
+        EntryDto dto = new EntryDto();
+        dto.setDate(date);
+        dto.setDescription("Entry " + date);
+        dto.setPersonId(person.getId());
+        dto.setCategoryId(category.getId());
+        dto.setWorkHours(new BigDecimal(workHours));
+        dto.setAmountPaid(new BigDecimal(amountPaid));
+        dto.setAmountDue(new BigDecimal(amountDue));
+        entryService.create(dto);
+    }
+}
@@ -0,0 +1,37 @@
+package com.vinodelnya.winery.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HotDishParser Tests")
+class HotDishParserTest {
+
+    @Test
+    @DisplayName("Should count portions in the usual ways of writing them")
+    void testCounts() {
+        assertEquals(new HotDishParser.Portions(6, false), HotDishParser.parse("6"));
+        assertEquals(new HotDishParser.Portions(6, false), HotDishParser.parse("6x Risotto"));
+        assertEquals(new HotDishParser.Portions(4, false), HotDishParser.parse(" risotto x 4 "));
+        assertEquals(new HotDishParser.Portions(4, false), HotDishParser.parse("Pasta (4)"));
+        assertEquals(new HotDishParser.Portions(5, false), HotDishParser.parse("2 pasta + 3 salad"));
+        assertEquals(new HotDishParser.Portions(5, false), HotDishParser.parse("risotto 2, pasta 3"));
+        assertEquals(new HotDishParser.Portions(5, false), HotDishParser.parse("risotto 2,pasta 3"));
+        assertEquals(new HotDishParser.Portions(7, false), HotDishParser.parse("Lamb: 4. Beef: 3."));
+    }
+
+    @Test
+    @DisplayName("Should treat empty markers as nothing and uncounted dishes as unquantified")
+    void testNothingAndUnquantified() {
+        assertEquals(HotDishParser.Portions.NONE, HotDishParser.parse(null));
+        assertEquals(HotDishParser.Portions.NONE, HotDishParser.parse("  "));
+        assertEquals(HotDishParser.Portions.NONE, HotDishParser.parse("None"));
+        assertEquals(HotDishParser.Portions.NONE, HotDishParser.parse("-"));
+        assertEquals(HotDishParser.Portions.UNQUANTIFIED, HotDishParser.parse("Vegetarian pasta"));
+        // Times and decimals are not portion counts
+        assertEquals(HotDishParser.Portions.UNQUANTIFIED, HotDishParser.parse("Risotto at 12:30"));
+        assertEquals(HotDishParser.Portions.UNQUANTIFIED, HotDishParser.parse("2.5 kg lamb"));
+        assertEquals(HotDishParser.Portions.UNQUANTIFIED, HotDishParser.parse("2,5 kg lamb"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EventDto;
+import com.vinodelnya.winery.dto.KitchenForecastDay;
+import com.vinodelnya.winery.dto.KitchenForecastSlot;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("KitchenForecastService Integration Tests")
+class KitchenForecastServiceTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2039, 7, 1);
+
+    @Autowired
+    private KitchenForecastService kitchenForecastService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should sum portions and covers per day and hourly slot, zero-filled")
+    void testForecast() {
+        // Arrange
+        eventService.create(event(JULY_1.plusDays(1), LocalTime.of(12, 0), 8, 2, "3x pasta", "5 steak"));
+        eventService.create(event(JULY_1.plusDays(1), LocalTime.of(12, 30), 4, 0, "Risotto", "4"));
+        eventService.create(event(JULY_1.plusDays(1), LocalTime.of(15, 0), 6, 1, "2", null));
+
+        // Act
+        List<KitchenForecastDay> forecast = kitchenForecastService.getForecast(JULY_1, JULY_1.plusDays(89));
+
+        // Assert
+        assertEquals(90, forecast.size());
+        assertEquals(KitchenForecastDay.of(JULY_1, List.of()), forecast.get(0));
+
+        KitchenForecastDay busy = forecast.get(1);
+        assertEquals(3, busy.events());
+        assertEquals(21, busy.lunchCovers());
+        assertEquals(5, busy.vegetarianPortions());
+        assertEquals(9, busy.meatPortions());
+        assertEquals(1, busy.unquantifiedDishes());
+        assertEquals(List.of(
+                new KitchenForecastSlot(LocalTime.of(12, 0), 2, 14, 3, 9, 1),
+                new KitchenForecastSlot(LocalTime.of(15, 0), 1, 7, 2, 0, 0)), busy.slots());
+    }
+
+    @Test
+    @DisplayName("Should follow creates, updates and deletes after a cached read")
+    void testIncrementalUpdates() {
+        // Arrange
+        EventDto lunch = eventService.create(event(JULY_1, LocalTime.of(13, 0), 10, 0, "4", "6"));
+        kitchenForecastService.getForecast(JULY_1, JULY_1.plusDays(6));
+
+        // Act
+        lunch.setHotDishMeat("8 lamb");
+        lunch.setVisitDate(JULY_1.plusDays(2));
+        eventService.update(lunch.getId(), lunch);
+        EventDto dinner = eventService.create(event(JULY_1.plusDays(2), LocalTime.of(13, 45), 2, 0, "2", null));
+
+        // Assert
+        List<KitchenForecastDay> forecast = kitchenForecastService.getForecast(JULY_1, JULY_1.plusDays(6));
+        assertEquals(0, forecast.get(0).events());
+        assertEquals(List.of(new KitchenForecastSlot(LocalTime.of(13, 0), 2, 12, 6, 8, 0)), forecast.get(2).slots());
+
+        eventService.delete(dinner.getId());
+        assertEquals(4, kitchenForecastService.getForecast(JULY_1.plusDays(2), JULY_1.plusDays(2)).get(0)
+                .vegetarianPortions());
+    }
+
+    @Test
+    @DisplayName("Should not keep a forecast loaded while another transaction has an uncommitted write")
+    void testConcurrentWriter() throws Exception {
+        // Arrange
+        kitchenForecastService.invalidate();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<EventDto> created = writer.submit(() -> transaction.execute(status -> {
+            EventDto event = eventService.create(event(JULY_1.plusDays(3), LocalTime.of(12, 0), 5, 0, "5", "5"));
+            written.countDown();
+            try {
+                read.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return event;
+        }));
+
+        try {
+            // Act
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            long beforeCommit = kitchenForecastService.getForecast(JULY_1, JULY_1.plusDays(6)).get(3).events();
+            read.countDown();
+            created.get(10, TimeUnit.SECONDS);
+            long afterCommit = kitchenForecastService.getForecast(JULY_1, JULY_1.plusDays(6)).get(3).events();
+
+            // Assert
+            assertEquals(0, beforeCommit);
+            assertEquals(1, afterCommit);
+        } finally {
+            read.countDown();
+            // The writer committed, so its event has to go explicitly
+            Long id = created.get(10, TimeUnit.SECONDS).getId();
+            writer.submit(() -> transaction.executeWithoutResult(status -> eventService.delete(id)))
+                    .get(10, TimeUnit.SECONDS);
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject reversed and overlong ranges")
+    void testValidation() {
+        assertThrows(InvalidRequestException.class, () -> kitchenForecastService.getForecast(JULY_1, JULY_1.minusDays(1)));
+        assertThrows(InvalidRequestException.class, () -> kitchenForecastService.getForecast(JULY_1, JULY_1.plusYears(2)));
+        assertEquals(90, kitchenForecastService.getForecast(JULY_1, null).size());
+    }
+
+    private static EventDto event(LocalDate date, LocalTime time, int lunchGuests, int children,
+                                  String vegetarian, String meat) {
+        EventDto event = new EventDto();
+        event.setVisitDate(date);
+        event.setVisitTime(time);
+        event.setContactName("Kitchen Guest");
+        event.setAdultLunchGuests(lunchGuests);
+        event.setChildrenGuests(children);
+        event.setHotDishVegetarian(vegetarian);
+        event.setHotDishMeat(meat);
+        return event;
+    }
+}
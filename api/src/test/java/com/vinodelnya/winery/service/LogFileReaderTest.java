@@ -0,0 +1,97 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.LogRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogFileReader Tests")
+class LogFileReaderTest {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should return the newest matching records first and stop at the limit")
+    void testReadsNewestFirst() throws Exception {
+        // Arrange
+        Path file = writeLog(5000);
+        LogFileReader reader = new LogFileReader(file.toString(), 64 * 1024);
+
+        // Act
+        List<LogRecord> records = reader.readLatest(3, record -> true, null, null);
+
+        // Assert
+        assertEquals(3, records.size());
+        assertEquals("message 4999", records.get(0).message());
+        assertEquals("message 4997", records.get(2).message());
+        assertEquals("c.v.winery.SomeService", records.get(0).logger());
+        assertEquals("nio-8081-exec-1", records.get(0).thread());
+    }
+
+    @Test
+    @DisplayName("Should apply level and search filters across chunk boundaries")
+    void testFiltersAcrossChunks() throws Exception {
+        // Arrange
+        Path file = writeLog(5000);
+        LogFileReader reader = new LogFileReader(file.toString(), 64 * 1024);
+
+        // Act
+        List<LogRecord> records = reader.readLatest(1000, record -> record.matches("ERROR", "message 1"), null, null);
+
+        // Assert
+        assertFalse(records.isEmpty());
+        assertTrue(records.stream().allMatch(record -> "ERROR".equals(record.level())));
+        assertTrue(records.stream().allMatch(record -> record.message().startsWith("message 1")));
+        assertTrue(records.stream().allMatch(record -> record.stackTrace().contains("at com.vinodelnya")));
+    }
+
+    @Test
+    @DisplayName("Should seek by time range using the offset index")
+    void testReadsTimeRange() throws Exception {
+        // Arrange
+        Path file = writeLog(5000);
+        LogFileReader reader = new LogFileReader(file.toString(), 16 * 1024);
+        LocalDateTime from = START.plusSeconds(100);
+        LocalDateTime to = START.plusSeconds(199);
+
+        // Act
+        List<LogRecord> records = reader.readLatest(1000, record -> true, from, to);
+
+        // Assert
+        assertEquals(100, records.size());
+        assertEquals("message 199", records.get(0).message());
+        assertEquals("message 100", records.get(99).message());
+    }
+
+    private Path writeLog(int count) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String timestamp = START.plusSeconds(i).atZone(java.time.ZoneId.systemDefault())
+                    .withZoneSameInstant(ZoneOffset.UTC).format(TIMESTAMP);
+            String level = i % 10 == 0 ? "ERROR" : " INFO";
+            content.append(timestamp).append(' ').append(level)
+                    .append(" http-nio-8081-exec-1 --- [nio-8081-exec-1] [                  c.v.winery.SomeService] : message ")
+                    .append(i).append('\n');
+            if (i % 10 == 0) {
+                content.append("java.lang.IllegalStateException: failure ").append(i).append('\n');
+                content.append("\tat com.vinodelnya.winery.service.SomeService.run(SomeService.java:42)\n");
+            }
+        }
+        Path file = tempDir.resolve("backend.log");
+        Files.writeString(file, content.toString());
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package com.vinodelnya.winery.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.vinodelnya.winery.dto.LogRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogRingBuffer Tests")
+class LogRingBufferTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    @DisplayName("Should keep only the newest events once capacity wraps around")
+    void testWrapsAround() {
+        // Arrange
+        LogRingBuffer buffer = new LogRingBuffer(true, 16, 0, "vinodelnya");
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            buffer.append(event(Level.INFO, "message " + i, null));
+        }
+        List<LogRecord> records = buffer.readLatest(100, record -> true, null, null);
+
+        // Assert
+        assertEquals(16, records.size());
+        assertEquals("message 39", records.get(0).message());
+        assertEquals("message 24", records.get(15).message());
+        assertEquals("vinodelnya.main", records.get(0).trace());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest events when the byte budget is exceeded")
+    void testByteBudget() {
+        // Arrange
+        LogRingBuffer buffer = new LogRingBuffer(true, 1024, 4096, "vinodelnya");
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            buffer.append(event(Level.INFO, "x".repeat(100) + i, null));
+        }
+        List<LogRecord> records = buffer.readLatest(1000, record -> true, null, null);
+
+        // Assert
+        assertTrue(records.size() < 200);
+        assertFalse(records.isEmpty());
+        assertTrue(records.get(0).message().endsWith("199"));
+    }
+
+    @Test
+    @DisplayName("Should filter by level and search text and render stack traces")
+    void testFilters() {
+        // Arrange
+        LogRingBuffer buffer = new LogRingBuffer(true, 64, 0, "vinodelnya");
+        buffer.append(event(Level.INFO, "Entry created", null));
+        buffer.append(event(Level.ERROR, "Entry failed", new IllegalStateException("boom")));
+        buffer.append(event(Level.ERROR, "Other failure", null));
+
+        // Act
+        List<LogRecord> records = buffer.readLatest(10, record -> record.matches("ERROR", "entry"), null, null);
+
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals("Entry failed", records.get(0).message());
+        assertTrue(records.get(0).stackTrace().contains("IllegalStateException: boom"));
+    }
+
+    private LoggingEvent event(Level level, String message, Throwable throwable) {
+        LoggingEvent event = new LoggingEvent(LogRingBufferTest.class.getName(),
+                context.getLogger("c.v.winery.SomeService"), level, message, throwable, null);
+        event.setThreadName("main");
+        return event;
+    }
+}
@@ -0,0 +1,120 @@
+package com.vinodelnya.winery.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogStatsTailer Tests")
+class LogStatsTailerTest {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+    @TempDir
+    Path tempDir;
+
+    private LogStatsTailer tailer;
+
+    @AfterEach
+    void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    @DisplayName("Should count levels and time windows incrementally as lines are appended")
+    void testIncrementalCounts() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("backend.log");
+        LocalDateTime now = LocalDateTime.now();
+        Files.writeString(file, line(now.minusDays(2), "INFO", "old")
+                + line(now.minusHours(2), "WARN", "earlier today")
+                + line(now.minusMinutes(5), "ERROR", "recent")
+                + "java.lang.IllegalStateException: not a record\n");
+        tailer = new LogStatsTailer(new LogFileReader(file.toString(), 64 * 1024), 1000, false);
+
+        // Act
+        tailer.poll();
+        LogStatsTailer.LogStats first = tailer.snapshot();
+        Files.writeString(file, line(now, "INFO", "Started VinodelnjaApplication in 3.2 seconds")
+                + line(now, "DEBUG", "partial"), StandardOpenOption.APPEND);
+        tailer.poll();
+        LogStatsTailer.LogStats second = tailer.snapshot();
+
+        // Assert
+        assertEquals(3, first.totalLogs());
+        assertEquals(1, first.levelCounts().get("ERROR"));
+        assertEquals(1, first.lastHour());
+        assertEquals(2, first.lastDay());
+        assertNull(first.lastStartup());
+
+        assertEquals(5, second.totalLogs());
+        assertEquals(2, second.levelCounts().get("INFO"));
+        assertEquals(3, second.lastHour());
+        assertEquals(4, second.lastDay());
+        assertNotNull(second.lastStartup());
+    }
+
+    @Test
+    @DisplayName("Should only count a line once it is complete")
+    void testPartialLine() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("backend.log");
+        String record = line(LocalDateTime.now(), "INFO", "split record");
+        Files.writeString(file, record.substring(0, 40));
+        tailer = new LogStatsTailer(new LogFileReader(file.toString(), 64 * 1024), 1000, false);
+
+        // Act
+        tailer.poll();
+        long before = tailer.snapshot().totalLogs();
+        Files.writeString(file, record.substring(40), StandardOpenOption.APPEND);
+        tailer.poll();
+
+        // Assert
+        assertEquals(0, before);
+        assertEquals(1, tailer.snapshot().totalLogs());
+    }
+
+    @Test
+    @DisplayName("Should keep counting after the log file is truncated or rotated")
+    void testTruncationAndRotation() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("backend.log");
+        LocalDateTime now = LocalDateTime.now();
+        Files.writeString(file, line(now, "INFO", "one") + line(now, "INFO", "two"));
+        tailer = new LogStatsTailer(new LogFileReader(file.toString(), 64 * 1024), 1000, false);
+        tailer.poll();
+
+        // Act
+        Files.writeString(file, line(now, "WARN", "after truncate"));
+        tailer.poll();
+        long afterTruncate = tailer.snapshot().totalLogs();
+
+        Files.writeString(file, line(now, "WARN", "before rotate"), StandardOpenOption.APPEND);
+        Files.move(file, tempDir.resolve("backend.log.1"));
+        Files.writeString(file, line(now, "ERROR", "new file"));
+        tailer.poll();
+        LogStatsTailer.LogStats afterRotate = tailer.snapshot();
+
+        // Assert
+        assertEquals(3, afterTruncate);
+        assertEquals(5, afterRotate.totalLogs());
+        assertEquals(2, afterRotate.levelCounts().get("WARN"));
+        assertEquals(1, afterRotate.levelCounts().get("ERROR"));
+    }
+
+    private String line(LocalDateTime time, String level, String message) {
+        String timestamp = time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(TIMESTAMP);
+        return timestamp + " " + String.format("%5s", level)
+                + " main --- [           main] [                  c.v.winery.SomeService] : " + message + "\n";
+    }
+}
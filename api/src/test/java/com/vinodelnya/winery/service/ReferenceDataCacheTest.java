@@ -0,0 +1,134 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.PersonDto;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.repository.PersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the cache only ever sees committed rows
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ReferenceDataCache Integration Tests")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> createdPersons = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        createdPersons.forEach(personService::delete);
+    }
+
+    @Test
+    @DisplayName("Should reflect person writes made through PersonService")
+    void testRefreshesOnPersonWrites() {
+        // Arrange
+        PersonDto created = createPerson("Cache Anna");
+        assertEquals(Optional.of(created.getId()), referenceDataCache.findPersonId("cache anna"));
+
+        // Act
+        created.setName("Cache Anna Renamed");
+        personService.update(created.getId(), created);
+
+        // Assert
+        assertTrue(referenceDataCache.findPersonId("Cache Anna").isEmpty());
+        assertEquals(Optional.of(created.getId()), referenceDataCache.findPersonId("Cache Anna Renamed"));
+        assertEquals("Cache Anna Renamed", referenceDataCache.findPerson(created.getId()).orElseThrow().getName());
+        assertTrue(personService.findOptions(null).stream()
+                .anyMatch(person -> person.getId().equals(created.getId())));
+    }
+
+    @Test
+    @DisplayName("Should filter options by active flag after archiving")
+    void testOptionsFollowArchive() {
+        // Arrange
+        PersonDto created = createPerson("Cache Boris");
+
+        // Act
+        personService.archive(created.getId());
+
+        // Assert
+        assertTrue(personService.findOptions(true).stream()
+                .noneMatch(person -> person.getId().equals(created.getId())));
+        assertTrue(personService.findOptions(false).stream()
+                .anyMatch(person -> person.getId().equals(created.getId())));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database for rows the cache has not seen")
+    void testUncommittedRowsFallBackToDatabase() {
+        // Saved through the repository, the row bypasses invalidation and stays out of a warm cache
+        referenceDataCache.persons(null);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Arrange
+            Person person = new Person();
+            person.setName("Cache Uncommitted");
+            person = personRepository.save(person);
+            EntryDto entry = new EntryDto();
+            entry.setPersonId(person.getId());
+            entry.setCategoryId(-1L);
+
+            // Act & Assert
+            assertTrue(referenceDataCache.personExists(person.getId()));
+            assertTrue(referenceDataCache.findPerson(person.getId()).isEmpty());
+            assertFalse(referenceDataCache.enrich(entry));
+            status.setRollbackOnly();
+        });
+        assertFalse(referenceDataCache.personExists(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should not share a load that saw the caller's uncommitted changes")
+    void testLoadInsideWritingTransactionIsNotShared() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Arrange
+            PersonDto dto = new PersonDto();
+            dto.setName("Cache Pending");
+            Long id = personService.create(dto).getId();
+
+            // Act
+            Optional<Long> ownLookup = referenceDataCache.findPersonId("cache pending");
+            Optional<Long> otherLookup = CompletableFuture
+                    .supplyAsync(() -> referenceDataCache.findPersonId("cache pending")).join();
+
+            // Assert
+            assertEquals(Optional.of(id), ownLookup);
+            assertTrue(otherLookup.isEmpty());
+            status.setRollbackOnly();
+        });
+        assertTrue(referenceDataCache.findPersonId("cache pending").isEmpty());
+    }
+
+    private PersonDto createPerson(String name) {
+        PersonDto dto = new PersonDto();
+        dto.setName(name);
+        PersonDto created = personService.create(dto);
+        createdPersons.add(created.getId());
+        return created;
+    }
+}
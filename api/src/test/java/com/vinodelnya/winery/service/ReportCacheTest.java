@@ -0,0 +1,111 @@
+package com.vinodelnya.winery.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportCache Tests")
+class ReportCacheTest {
+
+    private static final LocalDate SEPTEMBER_1 = LocalDate.of(2025, 9, 1);
+    private static final LocalDate SEPTEMBER_30 = LocalDate.of(2025, 9, 30);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should load once and serve repeated lookups from the cache")
+    void testCachesResult() {
+        // Arrange
+        ReportCache cache = new ReportCache(meterRegistry, 100, Duration.ofMinutes(5));
+        ReportCache.Key key = ReportCache.Key.of(ReportCache.Region.EVENTS, "totals", SEPTEMBER_1, SEPTEMBER_30);
+
+        // Act
+        String first = cache.get(key, this::load);
+        String second = cache.get(key, this::load);
+
+        // Assert
+        assertEquals("load-1", first);
+        assertEquals("load-1", second);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.hitRatio());
+        assertEquals(0.5, meterRegistry.get("report.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should only drop results whose date range and filters include the change")
+    void testInvalidatesMatchingRangesOnly() {
+        // Arrange
+        ReportCache cache = new ReportCache(meterRegistry, 100, Duration.ofMinutes(5));
+        ReportCache.Key september = new ReportCache.Key(ReportCache.Region.ENTRIES, "totals",
+                SEPTEMBER_1, SEPTEMBER_30, null, null);
+        ReportCache.Key otherPerson = new ReportCache.Key(ReportCache.Region.ENTRIES, "totals",
+                SEPTEMBER_1, SEPTEMBER_30, 2L, null);
+        ReportCache.Key october = new ReportCache.Key(ReportCache.Region.ENTRIES, "totals",
+                LocalDate.of(2025, 10, 1), null, null, null);
+        ReportCache.Key events = ReportCache.Key.of(ReportCache.Region.EVENTS, "totals", null, null);
+        cache.get(september, this::load);
+        cache.get(otherPerson, this::load);
+        cache.get(october, this::load);
+        cache.get(events, this::load);
+
+        // Act
+        cache.invalidate(ReportCache.Region.ENTRIES, LocalDate.of(2025, 9, 15), 1L, 3L);
+
+        // Assert
+        assertEquals(3, cache.size());
+        assertEquals("load-5", cache.get(september, this::load));
+        assertEquals("load-2", cache.get(otherPerson, this::load));
+        assertEquals("load-3", cache.get(october, this::load));
+        assertEquals("load-4", cache.get(events, this::load));
+        assertEquals(1.0, meterRegistry.get("report.cache.evictions").tag("cause", "invalidated")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used result beyond the size limit")
+    void testBoundedSize() {
+        // Arrange
+        ReportCache cache = new ReportCache(meterRegistry, 2, Duration.ofMinutes(5));
+
+        // Act
+        for (int month = 1; month <= 3; month++) {
+            LocalDate from = LocalDate.of(2025, month, 1);
+            cache.get(ReportCache.Key.of(ReportCache.Region.EVENTS, "totals", from, from.plusMonths(1)), this::load);
+        }
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("report.cache.evictions").tag("cause", "size")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload results older than the TTL")
+    void testExpires() throws Exception {
+        // Arrange
+        ReportCache cache = new ReportCache(meterRegistry, 100, Duration.ofMillis(50));
+        ReportCache.Key key = ReportCache.Key.of(ReportCache.Region.EVENTS, "totals", SEPTEMBER_1, SEPTEMBER_30);
+        cache.get(key, this::load);
+
+        // Act
+        Thread.sleep(100);
+        String reloaded = cache.get(key, this::load);
+
+        // Assert
+        assertEquals("load-2", reloaded);
+        assertEquals(1.0, meterRegistry.get("report.cache.evictions").tag("cause", "expired")
+                .functionCounter().count());
+    }
+
+    private String load() {
+        return "load-" + loads.incrementAndGet();
+    }
+}
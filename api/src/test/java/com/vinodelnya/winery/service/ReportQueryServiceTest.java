@@ -0,0 +1,160 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.ReportResultDto;
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.exception.InvalidRequestException;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReportQueryService Integration Tests")
+class ReportQueryServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2032, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2032, 12, 31);
+
+    @Autowired
+    private ReportQueryService reportQueryService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("query - Should return grouped metrics as columns with labels and totals")
+    void testGroupedColumns() {
+        // Arrange
+        Person anna = createPerson("Anna Query");
+        Person boris = createPerson("Boris Query");
+        Category category = createCategory("Query Category");
+        createEntry(anna, category, LocalDate.of(2032, 9, 1), "8.00", "80.00");
+        createEntry(anna, category, LocalDate.of(2032, 9, 2), "2.00", "20.00");
+        createEntry(anna, category, LocalDate.of(2032, 10, 1), "4.00", "40.00");
+        createEntry(boris, category, LocalDate.of(2032, 9, 3), "6.00", "60.00");
+        entityManager.flush();
+
+        // Act
+        ReportResultDto result = reportQueryService.query(
+                List.of(ReportDimension.PERSON, ReportDimension.MONTH),
+                List.of(ReportMetric.HOURS, ReportMetric.COUNT),
+                FROM, TO, null, null, false);
+
+        // Assert
+        assertEquals(List.of("person", "month"), result.getDimensions());
+        assertEquals(List.of("hours", "count"), result.getMetrics());
+        assertEquals(3, result.getRowCount());
+        assertEquals(List.of(anna.getId(), anna.getId(), boris.getId()), result.getColumns().get("person"));
+        assertEquals(List.of(LocalDate.of(2032, 9, 1), LocalDate.of(2032, 10, 1), LocalDate.of(2032, 9, 1)),
+                result.getColumns().get("month"));
+        assertEquals(List.of(2L, 1L, 1L), result.getColumns().get("count"));
+        assertEquals(0, new BigDecimal("10.00").compareTo((BigDecimal) result.getColumns().get("hours").get(0)));
+        assertEquals("Boris Query", result.getLabels().get("person").get(String.valueOf(boris.getId())));
+        assertEquals(4L, result.getTotals().get("count"));
+        assertEquals(0, new BigDecimal("20.00").compareTo((BigDecimal) result.getTotals().get("hours")));
+    }
+
+    @Test
+    @DisplayName("query - Should add subtotal rows for every dimension prefix when rolling up")
+    void testRollupSubtotals() {
+        // Arrange
+        Person person = createPerson("Rollup Query");
+        Category picking = createCategory("Rollup Picking");
+        Category pruning = createCategory("Rollup Pruning");
+        createEntry(person, picking, LocalDate.of(2032, 3, 1), "1.00", "10.00");
+        createEntry(person, pruning, LocalDate.of(2032, 3, 2), "2.00", "20.00");
+        entityManager.flush();
+
+        // Act
+        ReportResultDto result = reportQueryService.query(
+                List.of(ReportDimension.PERSON, ReportDimension.CATEGORY),
+                List.of(ReportMetric.PAID),
+                FROM, TO, person.getId(), null, true);
+
+        // Assert
+        assertEquals(3, result.getRowCount());
+        assertEquals(List.of(2, 2, 1), result.getColumns().get("depth"));
+        assertEquals(Arrays.asList(picking.getId(), pruning.getId(), null), result.getColumns().get("category"));
+        assertEquals(0, new BigDecimal("30.00").compareTo((BigDecimal) result.getColumns().get("paid").get(2)));
+        assertEquals(0, new BigDecimal("30.00").compareTo((BigDecimal) result.getTotals().get("paid")));
+    }
+
+    @Test
+    @DisplayName("query - Should bucket weeks from Monday")
+    void testWeekBuckets() {
+        // Arrange
+        Person person = createPerson("Week Query");
+        Category category = createCategory("Week Category");
+        // 2032-09-05 is a Sunday, 2032-09-06 a Monday
+        createEntry(person, category, LocalDate.of(2032, 9, 5), "1.00", "10.00");
+        createEntry(person, category, LocalDate.of(2032, 9, 6), "1.00", "10.00");
+        createEntry(person, category, LocalDate.of(2032, 9, 12), "1.00", "10.00");
+        entityManager.flush();
+
+        // Act
+        ReportResultDto result = reportQueryService.query(List.of(ReportDimension.WEEK),
+                List.of(ReportMetric.COUNT), FROM, TO, person.getId(), null, false);
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2032, 8, 30), LocalDate.of(2032, 9, 6)), result.getColumns().get("week"));
+        assertEquals(List.of(1L, 2L), result.getColumns().get("count"));
+    }
+
+    @Test
+    @DisplayName("query - Should reject more than one time bucket")
+    void testRejectsTwoTimeBuckets() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> reportQueryService.query(
+                List.of(ReportDimension.MONTH, ReportDimension.YEAR), List.of(), FROM, TO, null, null, false));
+    }
+
+    private Person createPerson(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return personRepository.save(person);
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private void createEntry(Person person, Category category, LocalDate date, String workHours, String amountPaid) {
+        EntryDto dto = new EntryDto();
+        dto.setDate(date);
+        dto.setDescription("Entry " + date);
+        dto.setPersonId(person.getId());
+        dto.setCategoryId(category.getId());
+        dto.setWorkHours(new BigDecimal(workHours));
+        dto.setAmountPaid(new BigDecimal(amountPaid));
+        dto.setAmountDue(BigDecimal.ZERO);
+        entryService.create(dto);
+    }
+}
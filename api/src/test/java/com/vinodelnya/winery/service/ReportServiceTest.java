@@ -0,0 +1,154 @@
+package com.vinodelnya.winery.service;
+
+import com.vinodelnya.winery.dto.EntryDto;
+import com.vinodelnya.winery.dto.ReportBreakdownDto;
+import com.vinodelnya.winery.dto.ReportSummaryDto;
+import com.vinodelnya.winery.entity.Category;
+import com.vinodelnya.winery.entity.Person;
+import com.vinodelnya.winery.repository.CategoryRepository;
+import com.vinodelnya.winery.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReportService Integration Tests")
+class ReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2031, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2031, 12, 31);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("generateSummary - Should return count and sums without breakdowns")
+    void testSummaryTotals() {
+        // Arrange
+        Person person = createPerson("Summary Worker");
+        Category category = createCategory("Summary Category");
+        createEntry(person, category, LocalDate.of(2031, 3, 1), "2.00", "20.00", "5.00");
+        createEntry(person, category, LocalDate.of(2031, 3, 1), "3.00", "30.00", "0.00");
+        createEntry(person, category, LocalDate.of(2030, 12, 31), "9.00", "90.00", "0.00");
+        entityManager.flush();
+
+        // Act
+        ReportSummaryDto summary = reportService.generateSummary(FROM, TO, person.getId(), null);
+
+        // Assert
+        assertEquals(2, summary.getTotalEntries());
+        assertEquals(0, new BigDecimal("5.00").compareTo(summary.getTotalWorkHours()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(summary.getTotalAmountPaid()));
+        assertEquals(0, new BigDecimal("55.00").compareTo(summary.getGrandTotal()));
+        assertNull(summary.getByPerson());
+        assertNull(summary.getByMonth());
+    }
+
+    @Test
+    @DisplayName("generateSummary - Should break totals down by person, category and month")
+    void testSummaryBreakdowns() {
+        // Arrange
+        Person anna = createPerson("Anna Breakdown");
+        Person boris = createPerson("Boris Breakdown");
+        Category picking = createCategory("Picking Breakdown");
+        Category pruning = createCategory("Pruning Breakdown");
+        createEntry(anna, picking, LocalDate.of(2031, 9, 1), "8.00", "80.00", "0.00");
+        createEntry(anna, pruning, LocalDate.of(2031, 10, 2), "4.00", "40.00", "10.00");
+        createEntry(boris, picking, LocalDate.of(2031, 9, 15), "6.00", "60.00", "0.00");
+        entityManager.flush();
+
+        // Act
+        ReportSummaryDto summary = reportService.generateSummary(FROM, TO, null, null,
+                EnumSet.of(ReportGrouping.PERSON, ReportGrouping.CATEGORY, ReportGrouping.MONTH));
+
+        // Assert
+        assertEquals(3, summary.getTotalEntries());
+        assertEquals(0, new BigDecimal("190.00").compareTo(summary.getGrandTotal()));
+
+        List<ReportBreakdownDto> byPerson = summary.getByPerson();
+        assertEquals(List.of("Anna Breakdown", "Boris Breakdown"),
+                byPerson.stream().map(ReportBreakdownDto::getLabel).toList());
+        assertEquals(String.valueOf(anna.getId()), byPerson.get(0).getKey());
+        assertEquals(2, byPerson.get(0).getTotalEntries());
+        assertEquals(0, new BigDecimal("12.00").compareTo(byPerson.get(0).getTotalWorkHours()));
+
+        List<ReportBreakdownDto> byCategory = summary.getByCategory();
+        assertEquals(2, byCategory.size());
+        assertEquals(0, new BigDecimal("140.00").compareTo(byCategory.get(0).getTotalAmountPaid()));
+
+        List<ReportBreakdownDto> byMonth = summary.getByMonth();
+        assertEquals(List.of("2031-09", "2031-10"), byMonth.stream().map(ReportBreakdownDto::getKey).toList());
+        assertEquals(2, byMonth.get(0).getTotalEntries());
+        assertEquals(0, new BigDecimal("50.00").compareTo(byMonth.get(1).getGrandTotal()));
+    }
+
+    @Test
+    @DisplayName("generateSummary - Should not serve a cached summary after an entry in its range changes")
+    void testCachedSummaryInvalidatedByWrite() {
+        // Arrange
+        Person person = createPerson("Cached Worker");
+        Category category = createCategory("Cached Category");
+        ReportSummaryDto before = reportService.generateSummary(FROM, TO, person.getId(), null);
+
+        // Act
+        createEntry(person, category, LocalDate.of(2031, 5, 5), "1.00", "15.00", "0.00");
+        entityManager.flush();
+        ReportSummaryDto after = reportService.generateSummary(FROM, TO, person.getId(), null);
+
+        // Assert
+        assertEquals(0, before.getTotalEntries());
+        assertEquals(1, after.getTotalEntries());
+        assertEquals(0, new BigDecimal("15.00").compareTo(after.getTotalAmountPaid()));
+    }
+
+    private Person createPerson(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return personRepository.save(person);
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private void createEntry(Person person, Category category, LocalDate date,
+                             String workHours, String amountPaid, String amountDue) {
+        EntryDto dto = new EntryDto();
+        dto.setDate(date);
+        dto.setDescription("Entry " + date);
+        dto.setPersonId(person.getId());
+        dto.setCategoryId(category.getId());
+        dto.setWorkHours(new BigDecimal(workHours));
+        dto.setAmountPaid(new BigDecimal(amountPaid));
+        dto.setAmountDue(new BigDecimal(amountDue));
+        entryService.create(dto);
+    }
+}
@@ -0,0 +1,85 @@
+package com.vinodelnya.winery.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("SyntheticDataGenerator Integration Tests")
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate LAST_DAY = LocalDate.of(2036, 12, 31);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private EntryRollupService entryRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should load the requested volumes with harvest peaks and skewed persons")
+    void testGeneratesShapedData() {
+        // Arrange
+        SyntheticDataGenerator.Settings settings = new SyntheticDataGenerator.Settings(
+                10, 5, 4000, 500, 800, 1, LAST_DAY, 1.1, 7L, 1000);
+        long auditRowsBefore = count("SELECT COUNT(*) FROM audit_log");
+        long lastAuditId = count("SELECT COALESCE(MAX(id), 0) FROM audit_log");
+
+        // Act
+        Map<String, Long> written = generator.generate(settings);
+
+        // Assert
+        assertEquals(Map.of("persons", 10L, "categories", 5L, "entries", 4000L, "events", 500L, "audit_log", 800L),
+                written);
+        assertEquals(4000, count("SELECT COUNT(*) FROM entries WHERE date BETWEEN ? AND ?",
+                LAST_DAY.minusYears(1).plusDays(1), LAST_DAY));
+        assertEquals(500, count("SELECT COUNT(*) FROM events WHERE visit_date BETWEEN ? AND ?",
+                LAST_DAY.minusYears(1).plusDays(1), LAST_DAY));
+        assertEquals(auditRowsBefore + 800, count("SELECT COUNT(*) FROM audit_log"));
+        assertTrue(count("SELECT COUNT(*) FROM audit_log WHERE id > ? AND table_name = 'persons'", lastAuditId) > 0);
+        assertEquals(0, count("SELECT COUNT(*) FROM audit_log WHERE id > ? AND table_name = 'persons' " +
+                "AND record_id NOT IN (SELECT id FROM persons WHERE note = 'Synthetic data')", lastAuditId));
+
+        long september = count("SELECT COUNT(*) FROM entries WHERE date BETWEEN ? AND ?",
+                LocalDate.of(2036, 9, 1), LocalDate.of(2036, 9, 30));
+        long february = count("SELECT COUNT(*) FROM entries WHERE date BETWEEN ? AND ?",
+                LocalDate.of(2036, 2, 1), LocalDate.of(2036, 2, 29));
+        assertTrue(september > 3 * february, () -> "September " + september + " vs February " + february);
+
+        List<Long> perPerson = jdbcTemplate.queryForList("SELECT COUNT(*) FROM entries e JOIN persons p " +
+                "ON p.id = e.person_id WHERE p.note = 'Synthetic data' GROUP BY e.person_id ORDER BY 1 DESC", Long.class);
+        assertEquals(10, perPerson.size());
+        assertTrue(perPerson.get(0) > 5 * perPerson.get(perPerson.size() - 1),
+                () -> "Rows per person should follow a Zipf skew: " + perPerson);
+
+        assertTrue(entryRollupService.checkConsistency().isConsistent());
+    }
+
+    @Test
+    @DisplayName("Should weight harvest weekdays above winter Sundays")
+    void testSeasonalWeights() {
+        assertTrue(SyntheticDataGenerator.workWeight(LocalDate.of(2036, 9, 16))
+                > 10 * SyntheticDataGenerator.workWeight(LocalDate.of(2036, 1, 20)));
+        assertTrue(SyntheticDataGenerator.visitWeight(LocalDate.of(2036, 7, 12))
+                > SyntheticDataGenerator.visitWeight(LocalDate.of(2036, 7, 9)));
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
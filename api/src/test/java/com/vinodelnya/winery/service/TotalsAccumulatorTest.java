@@ -0,0 +1,56 @@
+package com.vinodelnya.winery.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TotalsAccumulator Tests")
+class TotalsAccumulatorTest {
+
+    @Test
+    @DisplayName("Should sum columns independently, skipping nulls and keeping two decimals")
+    void testSumsColumns() {
+        // Arrange
+        TotalsAccumulator totals = new TotalsAccumulator(2);
+
+        // Act
+        totals.add(0, new BigDecimal("12.50"));
+        totals.add(0, null);
+        totals.add(0, new BigDecimal("7"));
+        totals.add(0, new BigDecimal("-0.5"));
+        totals.add(1, new BigDecimal("3.25"));
+
+        // Assert
+        assertEquals(new BigDecimal("19.00"), totals.total(0));
+        assertEquals(new BigDecimal("3.25"), totals.total(1));
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for wider scales and long overflow")
+    void testFallsBackToBigDecimal() {
+        // Arrange
+        TotalsAccumulator totals = new TotalsAccumulator(2);
+        BigDecimal large = new BigDecimal("9999999999999999.99");
+
+        // Act
+        totals.add(0, new BigDecimal("0.125"));
+        totals.add(0, new BigDecimal("1.10"));
+        totals.add(0, new BigDecimal("1E+3"));
+        for (int i = 0; i < 1000; i++) {
+            totals.add(1, large);
+        }
+
+        // Assert
+        assertEquals(0, new BigDecimal("1001.225").compareTo(totals.total(0)));
+        assertEquals(large.multiply(BigDecimal.valueOf(1000)), totals.total(1));
+    }
+
+    @Test
+    @DisplayName("Should be zero for an empty column")
+    void testEmpty() {
+        assertEquals(new BigDecimal("0.00"), new TotalsAccumulator(1).total(0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.vinodelnya.winery.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Hands out connections whose statements report every execution to the recorder.
+// Sits in front of the pool, so Hibernate and JdbcTemplate queries are both seen.
+class RecordingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private final SqlStatementRecorder recorder;
+
+    RecordingDataSource(DataSource target, SqlStatementRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        // prepareStatement and prepareCall carry their SQL, createStatement gets it on execute
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return wrap(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (EXECUTE_METHODS.contains(name)) {
+                        recorder.record(args != null && args.length > 0 ? (String) args[0] : preparedSql);
+                    } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                        batch.add((String) args[0]);
+                    } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                        // A prepared batch is one round trip however many parameter sets it carries
+                        if (preparedSql != null) {
+                            recorder.record(preparedSql);
+                        }
+                        batch.forEach(recorder::record);
+                        batch.clear();
+                    } else if (name.equals("clearBatch")) {
+                        batch.clear();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vinodelnya.winery.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Records the SQL each test runs; inject SqlStatementRecorder to assert budgets on MockMvc calls
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(SqlStatementBudgetExtension.class)
+@Import(SqlStatementBudgetConfiguration.class)
+public @interface SqlStatementBudget {
+}
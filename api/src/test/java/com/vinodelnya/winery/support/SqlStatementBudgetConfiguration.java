@@ -0,0 +1,30 @@
+package com.vinodelnya.winery.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementBudgetConfiguration {
+
+    @Bean
+    static SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+
+    // Static so the data source is wrapped before JPA and the JDBC templates pick it up
+    @Bean
+    static BeanPostProcessor recordingDataSourcePostProcessor(SqlStatementRecorder sqlStatementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                    return new RecordingDataSource(dataSource, sqlStatementRecorder);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.vinodelnya.winery.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+// Starts a fresh recording for every test and drops it afterwards; MockMvc calls made
+// with SqlStatementRecorder.recording() restart it so each request is judged on its own
+public class SqlStatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        recorder(context).start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        recorder(context).stop();
+    }
+
+    private static SqlStatementRecorder recorder(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementRecorder.class);
+    }
+}
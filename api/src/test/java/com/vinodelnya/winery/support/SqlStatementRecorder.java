@@ -0,0 +1,112 @@
+package com.vinodelnya.winery.support;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Statements executed through the recording data source, kept per thread so background writers
+// (audit log, log tailer) never count against the request under test
+public class SqlStatementRecorder {
+
+    public enum Type {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        OTHER;
+
+        static Type of(String sql) {
+            String statement = sql.stripLeading();
+            while (statement.startsWith("/*") && statement.contains("*/")) {
+                statement = statement.substring(statement.indexOf("*/") + 2).stripLeading();
+            }
+            int end = 0;
+            while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+                end++;
+            }
+            return switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+                case "select", "with", "values" -> SELECT;
+                case "insert" -> INSERT;
+                case "update", "merge" -> UPDATE;
+                case "delete" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    public record Statement(Type type, String sql) {
+    }
+
+    private final ThreadLocal<List<Statement>> recording = new ThreadLocal<>();
+
+    public void start() {
+        recording.set(new ArrayList<>());
+    }
+
+    public void stop() {
+        recording.remove();
+    }
+
+    void record(String sql) {
+        List<Statement> statements = recording.get();
+        if (statements != null && sql != null) {
+            statements.add(new Statement(Type.of(sql), sql));
+        }
+    }
+
+    public List<Statement> statements() {
+        List<Statement> statements = recording.get();
+        return statements == null ? List.of() : List.copyOf(statements);
+    }
+
+    public long count() {
+        return statements().size();
+    }
+
+    public long count(Type type) {
+        return statements().stream().filter(statement -> statement.type() == type).count();
+    }
+
+    // Restarts the recording when MockMvc dispatches the request, so only that call is counted
+    public RequestPostProcessor recording() {
+        return request -> {
+            start();
+            return request;
+        };
+    }
+
+    public ResultMatcher atMost(int budget) {
+        return result -> check(count(), budget, "statements",
+                result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+    }
+
+    public ResultMatcher atMost(Type type, int budget) {
+        return result -> check(count(type), budget, type + " statements",
+                result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+    }
+
+    public ResultMatcher none() {
+        return atMost(0);
+    }
+
+    public void assertAtMost(int budget, String operation) {
+        check(count(), budget, "statements", operation);
+    }
+
+    private void check(long actual, int budget, String what, String operation) {
+        if (actual > budget) {
+            StringBuilder message = new StringBuilder("Expected at most ").append(budget).append(' ').append(what)
+                    .append(" for ").append(operation).append(" but ").append(actual).append(" ran:");
+            List<Statement> statements = statements();
+            for (int i = 0; i < statements.size(); i++) {
+                message.append("\n  ").append(i + 1).append(". ").append(statements.get(i).sql());
+            }
+            fail(message.toString());
+        }
+    }
+}
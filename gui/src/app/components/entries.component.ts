@@ -680,12 +680,12 @@ export class EntriesComponent implements OnInit {
   }
 
   loadDropdownData() {
-    this.apiService.getPersons(0, 100).subscribe((response) => {
-      this.personOptions = response.content;
+    this.apiService.getPersonOptions().subscribe((persons) => {
+      this.personOptions = persons;
     });
 
-    this.apiService.getCategories(0, 100).subscribe((response) => {
-      this.categoryOptions = response.content;
+    this.apiService.getCategoryOptions().subscribe((categories) => {
+      this.categoryOptions = categories;
     });
   }
 
@@ -68,6 +68,50 @@ export interface Event {
   updatedAt?: string;
 }
 
+export interface EventCalendarDay {
+  date: string;
+  events: number;
+  adultLunchGuests: number;
+  adultTastingGuests: number;
+  childrenGuests: number;
+  extraGuests: number;
+  masterclasses: number;
+  revenue: number;
+  invoiced: number;
+  uninvoiced: number;
+}
+
+export interface KitchenForecastSlot {
+  time: string;
+  events: number;
+  lunchCovers: number;
+  vegetarianPortions: number;
+  meatPortions: number;
+  unquantifiedDishes: number;
+}
+
+export interface KitchenForecastDay {
+  date: string;
+  events: number;
+  lunchCovers: number;
+  vegetarianPortions: number;
+  meatPortions: number;
+  unquantifiedDishes: number;
+  slots: KitchenForecastSlot[];
+}
+
+export interface EventBulkUpdateResult {
+  requested: number;
+  updated: number;
+  notFound: number[];
+  results: {
+    id: number;
+    visitDate: string;
+    invoiceIssued: boolean;
+    grandTotal: number;
+  }[];
+}
+
 export interface PageResponse<T> {
   content: T[];
   totalElements: number;
@@ -6,6 +6,9 @@ import {
   Category,
   Entry,
   Event,
+  EventBulkUpdateResult,
+  EventCalendarDay,
+  KitchenForecastDay,
   PageResponse,
 } from "../models/entry.model";
 
@@ -57,6 +60,21 @@ export class ApiService {
     });
   }
 
+  // Full, name-sorted lists for dropdowns, served from the API's reference data cache
+  getPersonOptions(active?: boolean): Observable<Person[]> {
+    let params = new HttpParams();
+    if (active !== undefined) params = params.set("active", active.toString());
+    return this.http.get<Person[]>(`${this.apiUrl}/persons/options`, { params });
+  }
+
+  getCategoryOptions(active?: boolean): Observable<Category[]> {
+    let params = new HttpParams();
+    if (active !== undefined) params = params.set("active", active.toString());
+    return this.http.get<Category[]>(`${this.apiUrl}/categories/options`, {
+      params,
+    });
+  }
+
   getEntries(
     page = 0,
     size = 20,
@@ -141,6 +159,25 @@ export class ApiService {
     });
   }
 
+  // One row per day in [from, to], up to 366 days
+  getEventCalendar(from: string, to: string): Observable<EventCalendarDay[]> {
+    const params = new HttpParams().set("from", from).set("to", to);
+    return this.http.get<EventCalendarDay[]>(`${this.apiUrl}/events/calendar`, {
+      params,
+    });
+  }
+
+  // One row per day with hourly slots; without dates the next 90 days
+  getKitchenForecast(from?: string, to?: string): Observable<KitchenForecastDay[]> {
+    let params = new HttpParams();
+    if (from) params = params.set("from", from);
+    if (to) params = params.set("to", to);
+    return this.http.get<KitchenForecastDay[]>(
+      `${this.apiUrl}/events/kitchen-forecast`,
+      { params },
+    );
+  }
+
   createEvent(event: Event): Observable<Event> {
     return this.http.post<Event>(`${this.apiUrl}/events`, event);
   }
@@ -153,6 +190,38 @@ export class ApiService {
     return this.http.delete<void>(`${this.apiUrl}/events/${id}`);
   }
 
+  // Set-based updates of many events; unknown ids come back in notFound
+  setEventsInvoiced(
+    ids: number[],
+    invoiceIssued: boolean,
+  ): Observable<EventBulkUpdateResult> {
+    return this.http.patch<EventBulkUpdateResult>(
+      `${this.apiUrl}/events/bulk/invoice`,
+      { ids, invoiceIssued },
+    );
+  }
+
+  applyEventsSpecialPrice(
+    ids: number[],
+    lunchPrice?: number,
+    tastingPrice?: number,
+  ): Observable<EventBulkUpdateResult> {
+    return this.http.patch<EventBulkUpdateResult>(
+      `${this.apiUrl}/events/bulk/special-price`,
+      { ids, lunchPrice, tastingPrice },
+    );
+  }
+
+  shiftEventsVisitDate(
+    ids: number[],
+    days: number,
+  ): Observable<EventBulkUpdateResult> {
+    return this.http.patch<EventBulkUpdateResult>(
+      `${this.apiUrl}/events/bulk/visit-date`,
+      { ids, days },
+    );
+  }
+
   // User Management
   getUsers(
     page = 0,